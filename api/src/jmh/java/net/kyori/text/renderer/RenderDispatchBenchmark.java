@@ -0,0 +1,147 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.renderer;
+
+import java.util.concurrent.TimeUnit;
+import net.kyori.minecraft.Key;
+import net.kyori.text.BlockNbtComponent;
+import net.kyori.text.Component;
+import net.kyori.text.EntityNbtComponent;
+import net.kyori.text.KeybindComponent;
+import net.kyori.text.NbtComponent;
+import net.kyori.text.ScoreComponent;
+import net.kyori.text.SelectorComponent;
+import net.kyori.text.StorageNbtComponent;
+import net.kyori.text.TextComponent;
+import net.kyori.text.TranslatableComponent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares dispatching components to their render methods with {@link Component#accept} against testing each
+ * type with {@code instanceof}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class RenderDispatchBenchmark {
+  private final Component[] components = {
+    TextComponent.of("text"),
+    TranslatableComponent.of("translatable"),
+    KeybindComponent.of("key.jump"),
+    ScoreComponent.of("name", "objective"),
+    SelectorComponent.of("@p"),
+    BlockNbtComponent.of("path", BlockNbtComponent.LocalPos.of(1, 2, 3)),
+    EntityNbtComponent.of("path", "@p"),
+    StorageNbtComponent.of("path", Key.of("storage"))
+  };
+  private final AbstractComponentRenderer<Object> visiting = new Identity();
+  private final AbstractComponentRenderer<Object> testing = new Identity() {
+    @Override
+    public Component render(final Component component, final Object context) {
+      // the type tests previously done for every component
+      if(component instanceof TextComponent) {
+        return this.renderText((TextComponent) component, context);
+      } else if(component instanceof TranslatableComponent) {
+        return this.renderTranslatable((TranslatableComponent) component, context);
+      } else if(component instanceof KeybindComponent) {
+        return this.renderKeybind((KeybindComponent) component, context);
+      } else if(component instanceof ScoreComponent) {
+        return this.renderScore((ScoreComponent) component, context);
+      } else if(component instanceof SelectorComponent) {
+        return this.renderSelector((SelectorComponent) component, context);
+      } else if(component instanceof NbtComponent<?, ?>) {
+        if(component instanceof BlockNbtComponent) {
+          return this.renderBlockNbt((BlockNbtComponent) component, context);
+        } else if(component instanceof EntityNbtComponent) {
+          return this.renderEntityNbt((EntityNbtComponent) component, context);
+        } else if(component instanceof StorageNbtComponent) {
+          return this.renderStorageNbt((StorageNbtComponent) component, context);
+        }
+      }
+      return component;
+    }
+  };
+
+  @Benchmark
+  public void accept(final Blackhole blackhole) {
+    for(final Component component : this.components) {
+      blackhole.consume(this.visiting.render(component, this));
+    }
+  }
+
+  @Benchmark
+  public void instanceOf(final Blackhole blackhole) {
+    for(final Component component : this.components) {
+      blackhole.consume(this.testing.render(component, this));
+    }
+  }
+
+  private static class Identity extends AbstractComponentRenderer<Object> {
+    @Override
+    protected Component renderBlockNbt(final BlockNbtComponent component, final Object context) {
+      return component;
+    }
+
+    @Override
+    protected Component renderEntityNbt(final EntityNbtComponent component, final Object context) {
+      return component;
+    }
+
+    @Override
+    protected Component renderStorageNbt(final StorageNbtComponent component, final Object context) {
+      return component;
+    }
+
+    @Override
+    protected Component renderKeybind(final KeybindComponent component, final Object context) {
+      return component;
+    }
+
+    @Override
+    protected Component renderScore(final ScoreComponent component, final Object context) {
+      return component;
+    }
+
+    @Override
+    protected Component renderSelector(final SelectorComponent component, final Object context) {
+      return component;
+    }
+
+    @Override
+    protected Component renderText(final TextComponent component, final Object context) {
+      return component;
+    }
+
+    @Override
+    protected Component renderTranslatable(final TranslatableComponent component, final Object context) {
+      return component;
+    }
+  }
+}
@@ -23,7 +23,6 @@
  */
 package net.kyori.text;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -42,14 +41,8 @@ public abstract class AbstractComponent implements Component {
    */
   protected static final List<Component> EMPTY_COMPONENT_LIST = Collections.emptyList();
 
-  /*
-   * We do not need to create a new list if the one we are copying is empty - we can
-   * simply just return our known-empty list instead.
-   */
   static List<Component> unmodifiableCopy(final List<? extends Component> list) {
-    return list.isEmpty()
-      ? EMPTY_COMPONENT_LIST
-      : Collections.unmodifiableList(new ArrayList<>(list));
+    return ComponentLists.copyOf(list);
   }
 
   /**
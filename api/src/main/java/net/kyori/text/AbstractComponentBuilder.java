@@ -24,6 +24,7 @@
 package net.kyori.text;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.ListIterator;
@@ -104,7 +105,11 @@ abstract class AbstractComponentBuilder<C extends BuildableComponent<C, B>, B ex
   @SuppressWarnings("unchecked")
   public @NonNull B append(final @NonNull Iterable<? extends Component> components) {
     this.prepareChildren();
-    components.forEach(this.children::add);
+    if(components instanceof Collection<?>) {
+      this.children.addAll((Collection<? extends Component>) components);
+    } else {
+      components.forEach(this.children::add);
+    }
     return (B) this;
   }
 
@@ -124,6 +124,11 @@ public interface BlockNbtComponent extends NbtComponent<BlockNbtComponent, Block
     return this.worldPos(WorldPos.Coordinate.relative(x), WorldPos.Coordinate.relative(y), WorldPos.Coordinate.relative(z));
   }
 
+  @Override
+  default <C, R> R accept(final @NonNull ComponentVisitor<C, R> visitor, final C context) {
+    return visitor.visitBlockNbt(this, context);
+  }
+
   /**
    * An NBT component builder.
    */
@@ -387,4 +387,17 @@ public interface Component {
   default boolean hasStyling() {
     return !this.style().isEmpty();
   }
+
+  /**
+   * Passes this component to the method of {@code visitor} which handles its type.
+   *
+   * @param visitor the visitor
+   * @param context the context
+   * @param <C> the context type
+   * @param <R> the result type
+   * @return the result of the visitor
+   */
+  default <C, R> R accept(final @NonNull ComponentVisitor<C, R> visitor, final C context) {
+    return visitor.visitOther(this, context);
+  }
 }
@@ -0,0 +1,165 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link Collector}s which build components.
+ *
+ * <p>The collectors gather components into chunks which are linked together when combining,
+ * so a parallel stream builds each part independently and never copies the already
+ * collected components until the final component is built.</p>
+ */
+public final class ComponentCollectors {
+  private ComponentCollectors() {
+  }
+
+  /**
+   * Creates a collector which joins components into a text component.
+   *
+   * @return a collector
+   */
+  public static @NonNull Collector<Component, ?, TextComponent> joining() {
+    return joining0(null, null, null);
+  }
+
+  /**
+   * Creates a collector which joins components into a text component using {@code separator}.
+   *
+   * @param separator the separator
+   * @return a collector
+   * @see TextComponent#join(Component, Iterable)
+   */
+  public static @NonNull Collector<Component, ?, TextComponent> joining(final @NonNull Component separator) {
+    return joining0(requireNonNull(separator, "separator"), null, null);
+  }
+
+  /**
+   * Creates a collector which joins components into a text component using {@code separator},
+   * starting with {@code prefix} and ending with {@code suffix}.
+   *
+   * @param separator the separator
+   * @param prefix the prefix
+   * @param suffix the suffix
+   * @return a collector
+   */
+  public static @NonNull Collector<Component, ?, TextComponent> joining(final @NonNull Component separator, final @NonNull Component prefix, final @NonNull Component suffix) {
+    return joining0(requireNonNull(separator, "separator"), requireNonNull(prefix, "prefix"), requireNonNull(suffix, "suffix"));
+  }
+
+  private static @NonNull Collector<Component, ?, TextComponent> joining0(final @Nullable Component separator, final @Nullable Component prefix, final @Nullable Component suffix) {
+    return Collector.of(
+      () -> new Chunks(separator),
+      Chunks::add,
+      Chunks::combine,
+      chunks -> {
+        if(chunks.isEmpty() && prefix == null) {
+          return TextComponent.empty();
+        }
+        final TextComponent.Builder builder = TextComponent.builder();
+        if(prefix != null) builder.append(prefix);
+        chunks.appendTo(builder);
+        if(suffix != null) builder.append(suffix);
+        return builder.build();
+      }
+    );
+  }
+
+  /**
+   * Creates a collector which appends components as children to a builder created by {@code builder}.
+   *
+   * @param builder the builder supplier
+   * @param <C> the component type
+   * @param <B> the builder type
+   * @return a collector
+   */
+  public static <C extends BuildableComponent<C, B>, B extends ComponentBuilder<C, B>> @NonNull Collector<Component, ?, C> toChildren(final @NonNull Supplier<B> builder) {
+    requireNonNull(builder, "builder");
+    return Collector.of(
+      () -> new Chunks(null),
+      Chunks::add,
+      Chunks::combine,
+      chunks -> {
+        final B target = builder.get();
+        chunks.appendTo(target);
+        return target.build();
+      }
+    );
+  }
+
+  /*
+   * Each accumulator owns a single list of components. When two accumulators are combined
+   * only the list references are moved, leaving the components themselves where they are.
+   */
+  private static final class Chunks {
+    private final @Nullable Component separator;
+    private final List<List<Component>> chunks = new ArrayList<>(1);
+    private @Nullable List<Component> current;
+
+    Chunks(final @Nullable Component separator) {
+      this.separator = separator;
+    }
+
+    void add(final @NonNull Component component) {
+      if(this.current == null) {
+        this.current = new ArrayList<>();
+        this.chunks.add(this.current);
+      } else if(this.separator != null) {
+        this.current.add(this.separator);
+      }
+      this.current.add(component);
+    }
+
+    Chunks combine(final @NonNull Chunks that) {
+      if(that.isEmpty()) return this;
+      if(this.isEmpty()) return that;
+      if(this.separator != null) {
+        this.chunks.add(Collections.singletonList(this.separator));
+      }
+      this.chunks.addAll(that.chunks);
+      // any further additions must come after the chunks we just took
+      this.current = that.current;
+      return this;
+    }
+
+    boolean isEmpty() {
+      return this.chunks.isEmpty();
+    }
+
+    void appendTo(final @NonNull ComponentBuilder<?, ?> builder) {
+      for(int i = 0, size = this.chunks.size(); i < size; i++) {
+        builder.append(this.chunks.get(i));
+      }
+    }
+  }
+}
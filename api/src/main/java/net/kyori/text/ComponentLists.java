@@ -0,0 +1,68 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+import static java.util.Objects.requireNonNull;
+
+final class ComponentLists {
+  private ComponentLists() {
+  }
+
+  /*
+   * We do not need to create a new list if the one we are copying is empty - we can
+   * simply just return our known-empty list instead.
+   */
+  static List<Component> copyOf(final List<? extends Component> list) {
+    if(list.isEmpty()) return AbstractComponent.EMPTY_COMPONENT_LIST;
+    // already immutable, so components passing their children to each other can share it
+    if(list instanceof Children) return (Children) list;
+    final Component[] elements = list.toArray(new Component[0]);
+    for(final Component element : elements) {
+      requireNonNull(element, "component");
+    }
+    return new Children(elements);
+  }
+
+  private static final class Children extends AbstractList<Component> implements RandomAccess {
+    private final Component[] elements;
+
+    Children(final Component[] elements) {
+      this.elements = elements;
+    }
+
+    @Override
+    public Component get(final int index) {
+      return this.elements[index];
+    }
+
+    @Override
+    public int size() {
+      return this.elements.length;
+    }
+  }
+}
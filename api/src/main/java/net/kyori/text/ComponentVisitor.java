@@ -0,0 +1,118 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A visitor of components, which handles each type of component in its own method.
+ *
+ * <p>{@link Component#accept(ComponentVisitor, Object)} calls the method matching the type of the component,
+ * which is faster than testing a component against each type in turn.</p>
+ *
+ * @param <C> the context type
+ * @param <R> the result type
+ */
+public interface ComponentVisitor<C, R> {
+  /**
+   * Visits a block NBT component.
+   *
+   * @param component the component
+   * @param context the context
+   * @return the result
+   */
+  R visitBlockNbt(final @NonNull BlockNbtComponent component, final C context);
+
+  /**
+   * Visits an entity NBT component.
+   *
+   * @param component the component
+   * @param context the context
+   * @return the result
+   */
+  R visitEntityNbt(final @NonNull EntityNbtComponent component, final C context);
+
+  /**
+   * Visits a storage NBT component.
+   *
+   * @param component the component
+   * @param context the context
+   * @return the result
+   */
+  R visitStorageNbt(final @NonNull StorageNbtComponent component, final C context);
+
+  /**
+   * Visits a keybind component.
+   *
+   * @param component the component
+   * @param context the context
+   * @return the result
+   */
+  R visitKeybind(final @NonNull KeybindComponent component, final C context);
+
+  /**
+   * Visits a score component.
+   *
+   * @param component the component
+   * @param context the context
+   * @return the result
+   */
+  R visitScore(final @NonNull ScoreComponent component, final C context);
+
+  /**
+   * Visits a selector component.
+   *
+   * @param component the component
+   * @param context the context
+   * @return the result
+   */
+  R visitSelector(final @NonNull SelectorComponent component, final C context);
+
+  /**
+   * Visits a text component.
+   *
+   * @param component the component
+   * @param context the context
+   * @return the result
+   */
+  R visitText(final @NonNull TextComponent component, final C context);
+
+  /**
+   * Visits a translatable component.
+   *
+   * @param component the component
+   * @param context the context
+   * @return the result
+   */
+  R visitTranslatable(final @NonNull TranslatableComponent component, final C context);
+
+  /**
+   * Visits a component which is none of the other types.
+   *
+   * @param component the component
+   * @param context the context
+   * @return the result
+   */
+  R visitOther(final @NonNull Component component, final C context);
+}
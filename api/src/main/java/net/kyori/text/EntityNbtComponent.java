@@ -76,6 +76,11 @@ public interface EntityNbtComponent extends NbtComponent<EntityNbtComponent, Ent
    */
   @NonNull EntityNbtComponent selector(final @NonNull String selector);
 
+  @Override
+  default <C, R> R accept(final @NonNull ComponentVisitor<C, R> visitor, final C context) {
+    return visitor.visitEntityNbt(this, context);
+  }
+
   /**
    * An entity NBT component builder.
    */
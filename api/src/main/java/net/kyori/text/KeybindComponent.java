@@ -138,6 +138,11 @@ public interface KeybindComponent extends BuildableComponent<KeybindComponent, K
    */
   @NonNull KeybindComponent keybind(final @NonNull String keybind);
 
+  @Override
+  default <C, R> R accept(final @NonNull ComponentVisitor<C, R> visitor, final C context) {
+    return visitor.visitKeybind(this, context);
+  }
+
   /**
    * A keybind component builder.
    */
@@ -23,6 +23,7 @@
  */
 package net.kyori.text;
 
+import net.kyori.text.nbt.NbtPath;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 /**
@@ -44,6 +45,18 @@ public interface NbtComponent<C extends NbtComponent<C, B>, B extends NbtCompone
    */
   @NonNull C nbtPath(final @NonNull String nbtPath);
 
+  /**
+   * Gets the compiled NBT path.
+   *
+   * <p>The path is compiled when this is first called.</p>
+   *
+   * @return the compiled NBT path
+   * @throws IllegalArgumentException if the path is malformed
+   */
+  default @NonNull NbtPath compiledNbtPath() {
+    return NbtPath.compile(this.nbtPath());
+  }
+
   /**
    * Gets if we should be interpreting.
    *
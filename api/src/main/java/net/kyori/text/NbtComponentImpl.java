@@ -27,12 +27,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import net.kyori.text.format.Style;
+import net.kyori.text.nbt.NbtPath;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 abstract class NbtComponentImpl<C extends NbtComponent<C, B>, B extends NbtComponentBuilder<C, B>> extends AbstractComponent implements NbtComponent<C, B> {
   final String nbtPath;
   final boolean interpret;
+  private @Nullable NbtPath compiledNbtPath;
 
   NbtComponentImpl(final @NonNull List<Component> children, final @NonNull Style style, final String nbtPath, final boolean interpret) {
     super(children, style);
@@ -45,6 +47,16 @@ abstract class NbtComponentImpl<C extends NbtComponent<C, B>, B extends NbtCompo
     return this.nbtPath;
   }
 
+  @Override
+  public @NonNull NbtPath compiledNbtPath() {
+    /* @Nullable */ NbtPath compiledNbtPath = this.compiledNbtPath;
+    if(compiledNbtPath == null) {
+      compiledNbtPath = NbtPath.compile(this.nbtPath);
+      this.compiledNbtPath = compiledNbtPath;
+    }
+    return compiledNbtPath;
+  }
+
   @Override
   public boolean interpret() {
     return this.interpret;
@@ -147,6 +147,11 @@ public interface ScoreComponent extends BuildableComponent<ScoreComponent, Score
    */
   @NonNull ScoreComponent value(final @Nullable String value);
 
+  @Override
+  default <C, R> R accept(final @NonNull ComponentVisitor<C, R> visitor, final C context) {
+    return visitor.visitScore(this, context);
+  }
+
   /**
    * A score component builder.
    */
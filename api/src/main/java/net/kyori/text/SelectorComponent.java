@@ -24,6 +24,7 @@
 package net.kyori.text;
 
 import java.util.function.Consumer;
+import net.kyori.text.selector.SelectorPattern;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 /**
@@ -97,6 +98,23 @@ public interface SelectorComponent extends BuildableComponent<SelectorComponent,
    */
   @NonNull SelectorComponent pattern(final @NonNull String pattern);
 
+  /**
+   * Gets the parsed selector pattern.
+   *
+   * <p>The pattern is parsed when this is first called.</p>
+   *
+   * @return the parsed selector pattern
+   * @throws IllegalArgumentException if the pattern is malformed
+   */
+  default @NonNull SelectorPattern parsedPattern() {
+    return SelectorPattern.parse(this.pattern());
+  }
+
+  @Override
+  default <C, R> R accept(final @NonNull ComponentVisitor<C, R> visitor, final C context) {
+    return visitor.visitSelector(this, context);
+  }
+
   /**
    * A selector component builder.
    */
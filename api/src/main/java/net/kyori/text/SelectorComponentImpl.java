@@ -27,6 +27,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import net.kyori.text.format.Style;
+import net.kyori.text.selector.SelectorPattern;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -34,6 +35,8 @@ import static java.util.Objects.requireNonNull;
 
 final class SelectorComponentImpl extends AbstractComponent implements SelectorComponent {
   private final String pattern;
+  // parsed on demand - racy, but parsing always gives an equal result
+  private @Nullable SelectorPattern parsedPattern;
 
   SelectorComponentImpl(final @NonNull List<Component> children, final @NonNull Style style, final @NonNull String pattern) {
     super(children, style);
@@ -51,6 +54,16 @@ final class SelectorComponentImpl extends AbstractComponent implements SelectorC
     return new SelectorComponentImpl(this.children, this.style, requireNonNull(pattern, "pattern"));
   }
 
+  @Override
+  public @NonNull SelectorPattern parsedPattern() {
+    /* @Nullable */ SelectorPattern parsedPattern = this.parsedPattern;
+    if(parsedPattern == null) {
+      parsedPattern = SelectorPattern.parse(this.pattern);
+      this.parsedPattern = parsedPattern;
+    }
+    return parsedPattern;
+  }
+
   @Override
   public @NonNull SelectorComponent children(final @NonNull List<Component> children) {
     return new SelectorComponentImpl(children, this.style, this.pattern);
@@ -77,6 +77,11 @@ public interface StorageNbtComponent extends NbtComponent<StorageNbtComponent, S
    */
   @NonNull StorageNbtComponent storage(final @NonNull Key storage);
 
+  @Override
+  default <C, R> R accept(final @NonNull ComponentVisitor<C, R> visitor, final C context) {
+    return visitor.visitStorageNbt(this, context);
+  }
+
   /**
    * A command storage NBT component builder.
    */
@@ -568,6 +568,11 @@ public interface TextComponent extends BuildableComponent<TextComponent, TextCom
    */
   boolean isEmpty();
 
+  @Override
+  default <C, R> R accept(final @NonNull ComponentVisitor<C, R> visitor, final C context) {
+    return visitor.visitText(this, context);
+  }
+
   /**
    * A text component builder.
    */
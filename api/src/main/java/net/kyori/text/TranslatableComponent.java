@@ -248,6 +248,11 @@ public interface TranslatableComponent extends BuildableComponent<TranslatableCo
    */
   @NonNull TranslatableComponent args(final @NonNull List<? extends Component> args);
 
+  @Override
+  default <C, R> R accept(final @NonNull ComponentVisitor<C, R> visitor, final C context) {
+    return visitor.visitTranslatable(this, context);
+  }
+
   /**
    * A text component builder.
    */
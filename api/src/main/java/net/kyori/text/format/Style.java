@@ -49,6 +49,9 @@ public final class Style {
   private final @Nullable ClickEvent clickEvent;
   private final @Nullable HoverEvent hoverEvent;
   private final @Nullable String insertion;
+  // styles are hashed constantly as map keys and during component comparison, so the hash is computed lazily and
+  // cached - the race is benign, as every thread computes the same value
+  private int hash;
 
   /**
    * Creates a builder.
@@ -577,6 +580,8 @@ public final class Style {
     if(this == other) return true;
     if(!(other instanceof Style)) return false;
     final Style that = (Style) other;
+    // styles with different cached hashes cannot be equal
+    if(this.hash != 0 && that.hash != 0 && this.hash != that.hash) return false;
     return Objects.equals(this.color, that.color)
       && this.obfuscated == that.obfuscated
       && this.bold == that.bold
@@ -590,6 +595,15 @@ public final class Style {
 
   @Override
   public int hashCode() {
+    int hash = this.hash;
+    if(hash == 0) {
+      hash = this.computeHashCode();
+      this.hash = hash;
+    }
+    return hash;
+  }
+
+  private int computeHashCode() {
     int result = Objects.hashCode(this.color);
     result = (31 * result) + this.obfuscated.hashCode();
     result = (31 * result) + this.bold.hashCode();
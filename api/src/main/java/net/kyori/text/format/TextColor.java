@@ -23,46 +23,279 @@
  */
 package net.kyori.text.format;
 
+import java.util.Locale;
 import net.kyori.text.Component;
 import net.kyori.text.util.NameMap;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
- * An enumeration of colors which may be applied to a {@link Component}.
+ * A color which may be applied to a {@link Component}.
+ *
+ * <p>A color is an RGB value packed into an int. The sixteen named colors are constants of this class, and
+ * {@link #of(int)} returns the named constant for their values.</p>
+ *
+ * <p>This was an enum of the named colors in earlier versions. {@link #name()}, {@link #ordinal()} and
+ * {@link #valueOf(String)} behave as they did for the named colors, but colors can no longer be used in a
+ * {@code switch}, an {@code EnumSet} or an {@code EnumMap} - use {@link #ordinal()} or a plain map instead.</p>
  */
-public enum TextColor implements TextFormat {
-  BLACK("black"),
-  DARK_BLUE("dark_blue"),
-  DARK_GREEN("dark_green"),
-  DARK_AQUA("dark_aqua"),
-  DARK_RED("dark_red"),
-  DARK_PURPLE("dark_purple"),
-  GOLD("gold"),
-  GRAY("gray"),
-  DARK_GRAY("dark_gray"),
-  BLUE("blue"),
-  GREEN("green"),
-  AQUA("aqua"),
-  RED("red"),
-  LIGHT_PURPLE("light_purple"),
-  YELLOW("yellow"),
-  WHITE("white");
+public final class TextColor implements TextFormat {
+  public static final TextColor BLACK = new TextColor(0x000000, "black");
+  public static final TextColor DARK_BLUE = new TextColor(0x0000aa, "dark_blue");
+  public static final TextColor DARK_GREEN = new TextColor(0x00aa00, "dark_green");
+  public static final TextColor DARK_AQUA = new TextColor(0x00aaaa, "dark_aqua");
+  public static final TextColor DARK_RED = new TextColor(0xaa0000, "dark_red");
+  public static final TextColor DARK_PURPLE = new TextColor(0xaa00aa, "dark_purple");
+  public static final TextColor GOLD = new TextColor(0xffaa00, "gold");
+  public static final TextColor GRAY = new TextColor(0xaaaaaa, "gray");
+  public static final TextColor DARK_GRAY = new TextColor(0x555555, "dark_gray");
+  public static final TextColor BLUE = new TextColor(0x5555ff, "blue");
+  public static final TextColor GREEN = new TextColor(0x55ff55, "green");
+  public static final TextColor AQUA = new TextColor(0x55ffff, "aqua");
+  public static final TextColor RED = new TextColor(0xff5555, "red");
+  public static final TextColor LIGHT_PURPLE = new TextColor(0xff55ff, "light_purple");
+  public static final TextColor YELLOW = new TextColor(0xffff55, "yellow");
+  public static final TextColor WHITE = new TextColor(0xffffff, "white");
+
+  private static final TextColor[] VALUES = {BLACK, DARK_BLUE, DARK_GREEN, DARK_AQUA, DARK_RED, DARK_PURPLE, GOLD, GRAY, DARK_GRAY, BLUE, GREEN, AQUA, RED, LIGHT_PURPLE, YELLOW, WHITE};
+  private static final char HEX_PREFIX = '#';
+
+  /**
+   * The name map of the named colors.
+   */
+  public static final NameMap<TextColor> NAMES = NameMap.create(VALUES, constant -> constant.name);
+
+  private final int value;
+  private final @Nullable String name;
+
+  private TextColor(final int value, final @Nullable String name) {
+    this.value = value;
+    this.name = name;
+  }
 
   /**
-   * The name map.
+   * Gets a color from an RGB value.
+   *
+   * @param value the RGB value, as {@code 0xRRGGBB} - any higher bits are ignored
+   * @return a color
    */
-  public static final NameMap<TextColor> NAMES = NameMap.create(TextColor.class, constant -> constant.name);
+  public static @NonNull TextColor of(final int value) {
+    final int rgb = value & 0xffffff;
+    for(int i = 0; i < VALUES.length; i++) {
+      if(VALUES[i].value == rgb) return VALUES[i];
+    }
+    return new TextColor(rgb, null);
+  }
+
   /**
-   * The name of this color.
+   * Gets a color from red, green and blue components.
+   *
+   * @param red the red component, between {@code 0} and {@code 255}
+   * @param green the green component, between {@code 0} and {@code 255}
+   * @param blue the blue component, between {@code 0} and {@code 255}
+   * @return a color
    */
-  private final String name;
+  public static @NonNull TextColor of(final int red, final int green, final int blue) {
+    return of((red & 0xff) << 16 | (green & 0xff) << 8 | (blue & 0xff));
+  }
 
-  TextColor(final String name) {
-    this.name = name;
+  /**
+   * Gets a color from a hex string in the form {@code #rrggbb}.
+   *
+   * @param string the hex string
+   * @return a color, or {@code null} if the string is not a valid hex color
+   */
+  public static @Nullable TextColor fromHexString(final @NonNull String string) {
+    if(string.length() != 7 || string.charAt(0) != HEX_PREFIX) return null;
+    int value = 0;
+    for(int i = 1; i < 7; i++) {
+      final int digit = Character.digit(string.charAt(i), 16);
+      if(digit == -1) return null;
+      value = (value << 4) | digit;
+    }
+    return of(value);
+  }
+
+  /**
+   * Gets a named color by the name of its constant, such as {@code DARK_BLUE}.
+   *
+   * <p>This replaces {@code valueOf} from when this class was an enum. Use {@link #NAMES} to look colors up
+   * by their serialized name.</p>
+   *
+   * @param name the name of the constant
+   * @return the named color
+   * @throws IllegalArgumentException if there is no named color with the name
+   */
+  public static @NonNull TextColor valueOf(final @NonNull String name) {
+    for(int i = 0; i < VALUES.length; i++) {
+      if(VALUES[i].name().equals(name)) return VALUES[i];
+    }
+    throw new IllegalArgumentException("No TextColor constant " + name);
+  }
+
+  /**
+   * Gets the named colors.
+   *
+   * @return the named colors
+   */
+  public static @NonNull TextColor@NonNull[] values() {
+    return VALUES.clone();
+  }
+
+  /**
+   * Gets the RGB value of this color.
+   *
+   * @return the RGB value, as {@code 0xRRGGBB}
+   */
+  public int value() {
+    return this.value;
+  }
+
+  /**
+   * Gets the red component of this color.
+   *
+   * @return the red component
+   */
+  public int red() {
+    return (this.value >> 16) & 0xff;
+  }
+
+  /**
+   * Gets the green component of this color.
+   *
+   * @return the green component
+   */
+  public int green() {
+    return (this.value >> 8) & 0xff;
+  }
+
+  /**
+   * Gets the blue component of this color.
+   *
+   * @return the blue component
+   */
+  public int blue() {
+    return this.value & 0xff;
+  }
+
+  /**
+   * Tests if this color is one of the named colors.
+   *
+   * @return {@code true} if this color is named
+   */
+  public boolean isNamed() {
+    return this.name != null;
+  }
+
+  /**
+   * Gets the name of the constant for this color, such as {@code DARK_BLUE}.
+   *
+   * <p>This replaces {@code name} from when this class was an enum. Colors which are not named have no
+   * constant, and return their {@link #asHexString() hex string}.</p>
+   *
+   * @return the name of the constant, or the hex string
+   */
+  public @NonNull String name() {
+    return this.name != null ? this.name.toUpperCase(Locale.ROOT) : this.asHexString();
+  }
+
+  /**
+   * Gets the position of this color in {@link #values()}.
+   *
+   * <p>This replaces {@code ordinal} from when this class was an enum.</p>
+   *
+   * @return the position, or {@code -1} if this color is not named
+   */
+  public int ordinal() {
+    if(this.name != null) {
+      for(int i = 0; i < VALUES.length; i++) {
+        if(VALUES[i] == this) return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Gets this color as a hex string in the form {@code #rrggbb}.
+   *
+   * @return the hex string
+   */
+  public @NonNull String asHexString() {
+    final String hex = Integer.toHexString(this.value);
+    final StringBuilder sb = new StringBuilder(7).append(HEX_PREFIX);
+    for(int i = hex.length(); i < 6; i++) sb.append('0');
+    return sb.append(hex).toString();
+  }
+
+  /**
+   * Gets the named color nearest to this color.
+   *
+   * <p>This is a table lookup, so it is cheap enough to use for every component when downsampling for
+   * clients or formats which only support the named colors.</p>
+   *
+   * @return the nearest named color
+   */
+  public @NonNull TextColor nearestNamed() {
+    if(this.name != null) return this;
+    return VALUES[Nearest.TABLE[Nearest.index(this.value)]];
+  }
+
+  @Override
+  public boolean equals(final @Nullable Object other) {
+    if(this == other) return true;
+    if(!(other instanceof TextColor)) return false;
+    return this.value == ((TextColor) other).value;
+  }
+
+  @Override
+  public int hashCode() {
+    return this.value;
   }
 
   @Override
   public @NonNull String toString() {
-    return this.name;
+    return this.name != null ? this.name : this.asHexString();
+  }
+
+  /*
+   * The nearest named color for every color, with each channel reduced to 5 bits. The table is 32 KiB,
+   * and is only built on first use.
+   */
+  private static final class Nearest {
+    static final byte[] TABLE = new byte[1 << 15];
+
+    static {
+      for(int index = 0; index < TABLE.length; index++) {
+        // the centre of the cell this index covers
+        final int red = ((index >> 10) << 3) | 4;
+        final int green = (((index >> 5) & 0x1f) << 3) | 4;
+        final int blue = ((index & 0x1f) << 3) | 4;
+        int nearest = 0;
+        int nearestDistance = Integer.MAX_VALUE;
+        for(int i = 0; i < VALUES.length; i++) {
+          final int distance = distance(red, green, blue, VALUES[i]);
+          if(distance < nearestDistance) {
+            nearest = i;
+            nearestDistance = distance;
+          }
+        }
+        TABLE[index] = (byte) nearest;
+      }
+    }
+
+    static int index(final int value) {
+      return ((value >> 19) & 0x1f) << 10 | ((value >> 11) & 0x1f) << 5 | ((value >> 3) & 0x1f);
+    }
+
+    /*
+     * The "redmean" approximation of perceived color difference, in integer arithmetic.
+     */
+    private static int distance(final int red, final int green, final int blue, final @NonNull TextColor that) {
+      final int redMean = (red + that.red()) >> 1;
+      final int dr = red - that.red();
+      final int dg = green - that.green();
+      final int db = blue - that.blue();
+      return (((512 + redMean) * dr * dr) >> 8) + 4 * dg * dg + (((767 - redMean) * db * db) >> 8);
+    }
   }
 }
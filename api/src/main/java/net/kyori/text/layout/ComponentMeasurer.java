@@ -0,0 +1,68 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.layout;
+
+import net.kyori.text.Component;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Measures the width of components.
+ *
+ * <p>Measurements are memoized per component instance, so measuring the same component again, or a component
+ * sharing subtrees with one already measured, only walks the parts not seen before.</p>
+ *
+ * <p>Only the content of {@link net.kyori.text.TextComponent text components} is measured.</p>
+ */
+@FunctionalInterface
+public interface ComponentMeasurer {
+  /**
+   * Gets a component measurer using the glyph widths of the vanilla default font.
+   *
+   * @return a component measurer
+   */
+  static @NonNull ComponentMeasurer defaultFont() {
+    return ComponentMeasurerImpl.DEFAULT_FONT;
+  }
+
+  /**
+   * Creates a component measurer.
+   *
+   * <p>Characters are measured in either a bold or an empty style, as boldness is the only part of a style which
+   * changes the width of the vanilla fonts.</p>
+   *
+   * @param widthFunction the width function
+   * @return a component measurer
+   */
+  static @NonNull ComponentMeasurer of(final @NonNull CharacterWidthFunction widthFunction) {
+    return new ComponentMeasurerImpl(widthFunction);
+  }
+
+  /**
+   * Measures the width of a component.
+   *
+   * @param component the component
+   * @return the width
+   */
+  int width(final @NonNull Component component);
+}
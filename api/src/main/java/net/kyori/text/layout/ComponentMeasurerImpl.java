@@ -0,0 +1,86 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.layout;
+
+import java.util.List;
+import net.kyori.text.Component;
+import net.kyori.text.TextComponent;
+import net.kyori.text.format.Style;
+import net.kyori.text.format.TextDecoration;
+import net.kyori.text.util.WeakIdentityCache;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import static java.util.Objects.requireNonNull;
+
+final class ComponentMeasurerImpl implements ComponentMeasurer {
+  static final ComponentMeasurer DEFAULT_FONT = new ComponentMeasurerImpl(GlyphWidthTable.defaultFont());
+  private static final Style BOLD = Style.of(TextDecoration.BOLD);
+
+  private final CharacterWidthFunction widthFunction;
+  private final WeakIdentityCache<Component, Measurement> cache = new WeakIdentityCache<>();
+
+  ComponentMeasurerImpl(final @NonNull CharacterWidthFunction widthFunction) {
+    this.widthFunction = requireNonNull(widthFunction, "width function");
+  }
+
+  @Override
+  public int width(final @NonNull Component component) {
+    return this.width(requireNonNull(component, "component"), false);
+  }
+
+  private int width(final @NonNull Component component, final boolean parentBold) {
+    final TextDecoration.State state = component.style().decoration(TextDecoration.BOLD);
+    final boolean bold = state == TextDecoration.State.NOT_SET ? parentBold : state == TextDecoration.State.TRUE;
+    // only boldness changes the width of a component, so colors and other decorations do not miss the cache
+    final Measurement cached = this.cache.get(component);
+    if(cached != null && cached.bold == bold) return cached.width;
+
+    final Style style = bold ? BOLD : Style.empty();
+    int width = 0;
+    if(component instanceof TextComponent) {
+      final String content = ((TextComponent) component).content();
+      for(int index = 0, length = content.length(); index < length; ) {
+        final int codePoint = content.codePointAt(index);
+        width += this.widthFunction.width(codePoint, style);
+        index += Character.charCount(codePoint);
+      }
+    }
+    final List<Component> children = component.children();
+    for(int i = 0, size = children.size(); i < size; i++) {
+      width += this.width(children.get(i), bold);
+    }
+    this.cache.put(component, new Measurement(bold, width));
+    return width;
+  }
+
+  private static final class Measurement {
+    final boolean bold;
+    final int width;
+
+    Measurement(final boolean bold, final int width) {
+      this.bold = bold;
+      this.width = width;
+    }
+  }
+}
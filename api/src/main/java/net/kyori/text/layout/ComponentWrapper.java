@@ -0,0 +1,89 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.layout;
+
+import java.util.List;
+import net.kyori.text.Component;
+import org.checkerframework.checker.index.qual.Positive;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Splits components into lines no wider than a maximum width.
+ *
+ * <p>Lines are broken at whitespace where possible, and words wider than a whole line are split. A
+ * {@code '\n'} in text content always starts a new line. The styles and events of every component are kept
+ * on each line the component spans, and subtrees that are not broken are reused as-is.</p>
+ *
+ * <p>Only the content of {@link net.kyori.text.TextComponent text components} is measured. The content of
+ * other components is treated as having no width, so translatable components should be rendered first.</p>
+ */
+@FunctionalInterface
+public interface ComponentWrapper {
+  /**
+   * Creates a component wrapper builder.
+   *
+   * @return a builder
+   */
+  static @NonNull Builder builder() {
+    return new ComponentWrapperImpl.BuilderImpl();
+  }
+
+  /**
+   * Splits a component into lines.
+   *
+   * @param component the component
+   * @return the lines
+   */
+  @NonNull List<Component> wrap(final @NonNull Component component);
+
+  /**
+   * A component wrapper builder.
+   */
+  interface Builder {
+    /**
+     * Sets the maximum width of a line.
+     *
+     * @param maxWidth the maximum width
+     * @return this builder
+     */
+    @NonNull Builder maxWidth(final @Positive int maxWidth);
+
+    /**
+     * Sets the function used to measure characters.
+     *
+     * <p>Defaults to {@link CharacterWidthFunction#characterCount()}.</p>
+     *
+     * @param widthFunction the width function
+     * @return this builder
+     */
+    @NonNull Builder widthFunction(final @NonNull CharacterWidthFunction widthFunction);
+
+    /**
+     * Builds the component wrapper.
+     *
+     * @return the component wrapper
+     */
+    @NonNull ComponentWrapper build();
+  }
+}
@@ -0,0 +1,426 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.layout;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import net.kyori.text.Component;
+import net.kyori.text.TextComponent;
+import net.kyori.text.format.Style;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static java.util.Objects.requireNonNull;
+
+final class ComponentWrapperImpl implements ComponentWrapper {
+  private final int maxWidth;
+  private final CharacterWidthFunction widthFunction;
+
+  ComponentWrapperImpl(final int maxWidth, final @NonNull CharacterWidthFunction widthFunction) {
+    this.maxWidth = maxWidth;
+    this.widthFunction = widthFunction;
+  }
+
+  @Override
+  public @NonNull List<Component> wrap(final @NonNull Component component) {
+    requireNonNull(component, "component");
+    return new Wrapping().wrap(component);
+  }
+
+  /*
+   * Line feeds are handled separately - they always break, and are never kept.
+   */
+  private static boolean isBreakable(final int codePoint) {
+    return codePoint != '\n' && Character.isWhitespace(codePoint);
+  }
+
+  static @NonNull Style effectiveStyle(final @NonNull Style parent, final @NonNull Style style) {
+    if(style.isEmpty()) return parent;
+    if(parent.isEmpty()) return style;
+    return style.merge(parent, Style.Merge.Strategy.IF_ABSENT_ON_TARGET, Style.Merge.colorAndDecorations());
+  }
+
+  /*
+   * A single pass over the component tree. Every component being visited has a frame on the stack - when a line
+   * is broken, each open frame is built into the finished line and then re-opened, empty, on the next line.
+   * Frames that were never broken hand their original component to their parent, so unbroken subtrees are shared.
+   */
+  private final class Wrapping {
+    private final List<Component> lines = new ArrayList<>();
+    private final List<Frame> frames = new ArrayList<>();
+    private int lineWidth;
+    // true after a soft break, until the next non-whitespace content - leading whitespace is dropped
+    private boolean softBroken;
+    // true while inside a word, which may continue into the next component
+    private boolean inWord;
+    // true once the current line holds more than whitespace
+    private boolean lineContent;
+    // set by trim and measure
+    private boolean blank;
+    private boolean stop;
+
+    @NonNull List<Component> wrap(final @NonNull Component root) {
+      this.open(root, Style.empty());
+      while(!this.frames.isEmpty()) {
+        final Frame frame = this.frames.get(this.frames.size() - 1);
+        final List<Component> children = frame.component.children();
+        if(frame.index < children.size()) {
+          this.open(children.get(frame.index++), frame.style);
+        } else {
+          this.close(frame);
+        }
+      }
+      return this.lines;
+    }
+
+    private void open(final @NonNull Component component, final @NonNull Style parentStyle) {
+      final Style style = effectiveStyle(parentStyle, component.style());
+      if(component instanceof TextComponent) {
+        final String content = ((TextComponent) component).content();
+        final Frame frame = new Frame(component, style, content);
+        this.frames.add(frame);
+        this.layout(frame, content);
+      } else {
+        this.frames.add(new Frame(component, style, null));
+        // the content of other components is not measured, but is still visible
+        this.softBroken = false;
+        this.inWord = false;
+        this.lineContent = true;
+      }
+    }
+
+    private void close(final @NonNull Frame frame) {
+      this.frames.remove(this.frames.size() - 1);
+      final Component result = frame.dirty ? frame.build() : frame.component;
+      if(this.frames.isEmpty()) {
+        this.lines.add(result);
+      } else {
+        final Frame parent = this.frames.get(this.frames.size() - 1);
+        parent.add(result);
+        parent.dirty |= frame.dirty;
+      }
+    }
+
+    private void layout(final @NonNull Frame frame, final @NonNull String content) {
+      final int length = content.length();
+      int index = 0;
+      while(index < length) {
+        final int codePoint = content.codePointAt(index);
+        if(codePoint == '\n') {
+          this.breakLine(false);
+          index++;
+          frame.segmentStart = frame.segmentEnd = index;
+          frame.dirty = true;
+          this.inWord = false;
+          continue;
+        }
+        final boolean whitespace = isBreakable(codePoint);
+        int end = index + Character.charCount(codePoint);
+        while(end < length) {
+          final int next = content.codePointAt(end);
+          if(next == '\n' || isBreakable(next) != whitespace) break;
+          end += Character.charCount(next);
+        }
+        if(whitespace) {
+          this.layoutWhitespace(frame, content, index, end);
+        } else {
+          this.layoutWord(frame, content, index, end);
+        }
+        index = end;
+      }
+    }
+
+    private void layoutWhitespace(final @NonNull Frame frame, final @NonNull String content, final int start, final int end) {
+      this.inWord = false;
+      if(!this.softBroken) {
+        final int width = this.width(frame.style, content, start, end);
+        if(this.lineWidth + width <= ComponentWrapperImpl.this.maxWidth) {
+          this.lineWidth += width;
+          frame.segmentEnd = end;
+          return;
+        }
+        if(this.lineContent) {
+          this.breakLine(true);
+        } else {
+          this.dropWhitespace();
+        }
+      }
+      frame.segmentStart = frame.segmentEnd = end;
+      frame.dirty = true;
+    }
+
+    private void layoutWord(final @NonNull Frame frame, final @NonNull String content, final int start, final int end) {
+      final int maxWidth = ComponentWrapperImpl.this.maxWidth;
+      final int width = this.width(frame.style, content, start, end);
+      if(!this.inWord) {
+        // a word running into the next component is measured as a whole, so we never break inside it
+        final int wordWidth = end == content.length() ? width + this.measureFollowing() : width;
+        if(this.lineWidth > 0 && this.lineWidth + wordWidth > maxWidth) {
+          if(this.lineContent) {
+            this.breakLine(true);
+          } else {
+            this.dropWhitespace();
+          }
+          frame.segmentStart = frame.segmentEnd = start;
+        }
+      }
+      this.inWord = true;
+      this.softBroken = false;
+      this.lineContent = true;
+      if(this.lineWidth + width <= maxWidth) {
+        this.lineWidth += width;
+        frame.segmentEnd = end;
+        return;
+      }
+      // the word is wider than a line of its own, so it has to be split
+      for(int index = start; index < end; ) {
+        final int codePoint = content.codePointAt(index);
+        final int charWidth = ComponentWrapperImpl.this.widthFunction.width(codePoint, frame.style);
+        if(this.lineWidth > 0 && this.lineWidth + charWidth > maxWidth) {
+          this.breakLine(false);
+        }
+        this.lineWidth += charWidth;
+        index += Character.charCount(codePoint);
+        frame.segmentEnd = index;
+      }
+    }
+
+    private void breakLine(final boolean trim) {
+      if(trim) this.trimTrailing();
+      int depth = this.frames.size() - 1;
+      // components that have nothing on this line yet stay out of it, and may still be shared
+      while(depth >= 0 && this.frames.get(depth).isEmptyLine()) depth--;
+      /* @Nullable */ Component line = depth < 0 ? TextComponent.empty() : null;
+      for(; depth >= 0; depth--) {
+        final Frame frame = this.frames.get(depth);
+        if(line != null) frame.add(line);
+        line = frame.build();
+        frame.reopen();
+      }
+      this.lines.add(line);
+      this.lineWidth = 0;
+      this.softBroken = trim;
+      this.lineContent = false;
+    }
+
+    /*
+     * Breaking a line which holds only whitespace would leave it empty, so the whitespace is dropped instead.
+     */
+    private void dropWhitespace() {
+      this.trimTrailing();
+      // trimming may have changed any open frame
+      for(int i = 0, size = this.frames.size(); i < size; i++) {
+        this.frames.get(i).dirty = true;
+      }
+      this.lineWidth = 0;
+      this.softBroken = true;
+    }
+
+    /*
+     * Removes whitespace from the end of the current line, walking backwards through it.
+     */
+    private void trimTrailing() {
+      for(int depth = this.frames.size() - 1; depth >= 0; depth--) {
+        final Frame frame = this.frames.get(depth);
+        if(frame.children != null) {
+          for(int i = frame.children.size() - 1; i >= 0; i--) {
+            final Component child = frame.children.get(i);
+            final Component trimmed = this.trim(child);
+            if(trimmed != child) frame.children.set(i, trimmed);
+            if(!this.blank) return;
+          }
+        }
+        if(frame.content == null) {
+          if(frame.continued) continue;
+          return;
+        }
+        while(frame.segmentEnd > frame.segmentStart) {
+          final int codePoint = frame.content.codePointBefore(frame.segmentEnd);
+          if(!isBreakable(codePoint)) return;
+          frame.segmentEnd -= Character.charCount(codePoint);
+        }
+      }
+    }
+
+    private @NonNull Component trim(final @NonNull Component component) {
+      final List<Component> children = component.children();
+      /* @Nullable */ List<Component> trimmedChildren = null;
+      this.blank = true;
+      for(int i = children.size() - 1; i >= 0 && this.blank; i--) {
+        final Component child = children.get(i);
+        final Component trimmed = this.trim(child);
+        if(trimmed != child) {
+          if(trimmedChildren == null) trimmedChildren = new ArrayList<>(children);
+          trimmedChildren.set(i, trimmed);
+        }
+      }
+      Component result = component;
+      if(this.blank) {
+        if(component instanceof TextComponent) {
+          final String content = ((TextComponent) component).content();
+          int end = content.length();
+          while(end > 0) {
+            final int codePoint = content.codePointBefore(end);
+            if(!isBreakable(codePoint)) break;
+            end -= Character.charCount(codePoint);
+          }
+          this.blank = end == 0;
+          if(end < content.length()) result = ((TextComponent) component).content(content.substring(0, end));
+        } else {
+          this.blank = false;
+        }
+      }
+      if(trimmedChildren != null) result = result.children(trimmedChildren);
+      return result;
+    }
+
+    /*
+     * Measures the text following the current position, up to the next break opportunity.
+     */
+    private int measureFollowing() {
+      this.stop = false;
+      int width = 0;
+      for(int depth = this.frames.size() - 1; depth >= 0; depth--) {
+        final Frame frame = this.frames.get(depth);
+        final List<Component> children = frame.component.children();
+        for(int i = frame.index, size = children.size(); i < size; i++) {
+          width += this.measure(children.get(i), frame.style);
+          if(this.stop) return width;
+        }
+      }
+      return width;
+    }
+
+    private int measure(final @NonNull Component component, final @NonNull Style parentStyle) {
+      if(!(component instanceof TextComponent)) {
+        this.stop = true;
+        return 0;
+      }
+      final Style style = effectiveStyle(parentStyle, component.style());
+      final String content = ((TextComponent) component).content();
+      int width = 0;
+      for(int index = 0, length = content.length(); index < length; ) {
+        final int codePoint = content.codePointAt(index);
+        if(codePoint == '\n' || isBreakable(codePoint)) {
+          this.stop = true;
+          return width;
+        }
+        width += ComponentWrapperImpl.this.widthFunction.width(codePoint, style);
+        index += Character.charCount(codePoint);
+      }
+      for(final Component child : component.children()) {
+        width += this.measure(child, style);
+        if(this.stop) return width;
+      }
+      return width;
+    }
+
+    private int width(final @NonNull Style style, final @NonNull String content, final int start, final int end) {
+      int width = 0;
+      for(int index = start; index < end; ) {
+        final int codePoint = content.codePointAt(index);
+        width += ComponentWrapperImpl.this.widthFunction.width(codePoint, style);
+        index += Character.charCount(codePoint);
+      }
+      return width;
+    }
+  }
+
+  private static final class Frame {
+    final Component component;
+    final Style style;
+    final @Nullable String content;
+    // the range of the content placed on the current line
+    int segmentStart;
+    int segmentEnd;
+    // the index of the next child to visit
+    int index;
+    // the children placed on the current line
+    @Nullable List<Component> children;
+    // true if this frame no longer matches its component
+    boolean dirty;
+    // true if this frame has been carried over onto another line
+    boolean continued;
+
+    Frame(final @NonNull Component component, final @NonNull Style style, final @Nullable String content) {
+      this.component = component;
+      this.style = style;
+      this.content = content;
+    }
+
+    void add(final @NonNull Component child) {
+      if(this.children == null) this.children = new ArrayList<>();
+      this.children.add(child);
+    }
+
+    boolean isEmptyLine() {
+      return this.children == null && this.segmentStart == this.segmentEnd && (this.content != null || this.continued);
+    }
+
+    @NonNull Component build() {
+      final List<Component> children = this.children == null ? Collections.emptyList() : this.children;
+      if(this.content == null && !this.continued) {
+        return this.component.children(children);
+      }
+      // continued non-text components keep their style, but not their content
+      final String content = this.content == null ? "" : this.content.substring(this.segmentStart, this.segmentEnd);
+      return TextComponent.builder(content)
+        .style(this.component.style())
+        .append(children)
+        .build();
+    }
+
+    void reopen() {
+      this.segmentStart = this.segmentEnd;
+      this.children = null;
+      this.dirty = true;
+      this.continued = true;
+    }
+  }
+
+  static final class BuilderImpl implements ComponentWrapper.Builder {
+    private int maxWidth;
+    private CharacterWidthFunction widthFunction = CharacterWidthFunction.characterCount();
+
+    @Override
+    public ComponentWrapper.@NonNull Builder maxWidth(final int maxWidth) {
+      if(maxWidth <= 0) throw new IllegalArgumentException("max width must be positive");
+      this.maxWidth = maxWidth;
+      return this;
+    }
+
+    @Override
+    public ComponentWrapper.@NonNull Builder widthFunction(final @NonNull CharacterWidthFunction widthFunction) {
+      this.widthFunction = requireNonNull(widthFunction, "width function");
+      return this;
+    }
+
+    @Override
+    public @NonNull ComponentWrapper build() {
+      if(this.maxWidth == 0) throw new IllegalStateException("max width must be set");
+      return new ComponentWrapperImpl(this.maxWidth, this.widthFunction);
+    }
+  }
+}
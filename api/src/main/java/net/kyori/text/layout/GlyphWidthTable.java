@@ -0,0 +1,203 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.layout;
+
+import java.util.Arrays;
+import net.kyori.text.format.Style;
+import net.kyori.text.format.TextDecoration;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A table of glyph widths, in pixels.
+ *
+ * <p>Widths are advances - they include the space between a glyph and the next one. Characters without a
+ * width in the table use the {@link Builder#defaultWidth(int) default width}, and bold characters are
+ * widened by the {@link Builder#boldOffset(int) bold offset}.</p>
+ */
+public final class GlyphWidthTable implements CharacterWidthFunction {
+  private static final int PAGE_BITS = 8;
+  private static final int PAGE_SIZE = 1 << PAGE_BITS;
+  private static final int PAGE_MASK = PAGE_SIZE - 1;
+  private static final int PAGES = (Character.MAX_CODE_POINT + 1) >> PAGE_BITS;
+  private static final byte UNSET = -1;
+  private static final GlyphWidthTable DEFAULT_FONT = builder()
+    .defaultWidth(6)
+    .boldOffset(1)
+    .width(" ", 4)
+    .width("!',.:;i|", 2)
+    .width("`l", 3)
+    .width("\"It[]", 4)
+    .width("()*<>fk{}", 5)
+    .width("@~", 7)
+    .build();
+
+  private final byte[][] pages;
+  private final int defaultWidth;
+  private final int boldOffset;
+
+  private GlyphWidthTable(final byte[][] pages, final int defaultWidth, final int boldOffset) {
+    this.pages = pages;
+    this.defaultWidth = defaultWidth;
+    this.boldOffset = boldOffset;
+  }
+
+  /**
+   * Gets the glyph widths of the vanilla default font.
+   *
+   * @return the glyph width table
+   */
+  public static @NonNull GlyphWidthTable defaultFont() {
+    return DEFAULT_FONT;
+  }
+
+  /**
+   * Creates a glyph width table builder.
+   *
+   * @return a builder
+   */
+  public static @NonNull Builder builder() {
+    return new Builder();
+  }
+
+  @Override
+  public int width(final int codePoint, final @NonNull Style style) {
+    final int width = this.width(codePoint);
+    return style.hasDecoration(TextDecoration.BOLD) ? width + this.boldOffset : width;
+  }
+
+  /**
+   * Gets the width of a character without any styling.
+   *
+   * @param codePoint the code point
+   * @return the width
+   */
+  public int width(final int codePoint) {
+    final byte[] page = this.pages[codePoint >> PAGE_BITS];
+    if(page == null) return this.defaultWidth;
+    final byte width = page[codePoint & PAGE_MASK];
+    return width == UNSET ? this.defaultWidth : width;
+  }
+
+  /**
+   * Create a builder from this glyph width table.
+   *
+   * @return a builder
+   */
+  public @NonNull Builder toBuilder() {
+    return new Builder(this);
+  }
+
+  /**
+   * A glyph width table builder.
+   */
+  public static final class Builder {
+    private final byte[][] pages;
+    private int defaultWidth = 6;
+    private int boldOffset = 1;
+
+    Builder() {
+      this.pages = new byte[PAGES][];
+    }
+
+    Builder(final @NonNull GlyphWidthTable table) {
+      this.pages = new byte[PAGES][];
+      for(int i = 0; i < PAGES; i++) {
+        final byte[] page = table.pages[i];
+        if(page != null) this.pages[i] = page.clone();
+      }
+      this.defaultWidth = table.defaultWidth;
+      this.boldOffset = table.boldOffset;
+    }
+
+    /**
+     * Sets the width of a character.
+     *
+     * @param codePoint the code point
+     * @param width the width, between {@code 0} and {@code 127}
+     * @return this builder
+     */
+    public @NonNull Builder width(final int codePoint, final int width) {
+      if(!Character.isValidCodePoint(codePoint)) throw new IllegalArgumentException(String.format("invalid code point %d", codePoint));
+      if(width < 0 || width > Byte.MAX_VALUE) throw new IllegalArgumentException(String.format("width %d out of range", width));
+      byte[] page = this.pages[codePoint >> PAGE_BITS];
+      if(page == null) {
+        page = new byte[PAGE_SIZE];
+        Arrays.fill(page, UNSET);
+        this.pages[codePoint >> PAGE_BITS] = page;
+      }
+      page[codePoint & PAGE_MASK] = (byte) width;
+      return this;
+    }
+
+    /**
+     * Sets the width of every character in a string.
+     *
+     * @param characters the characters
+     * @param width the width, between {@code 0} and {@code 127}
+     * @return this builder
+     */
+    public @NonNull Builder width(final @NonNull String characters, final int width) {
+      requireNonNull(characters, "characters").codePoints().forEach(codePoint -> this.width(codePoint, width));
+      return this;
+    }
+
+    /**
+     * Sets the width of characters not in the table.
+     *
+     * @param defaultWidth the default width
+     * @return this builder
+     */
+    public @NonNull Builder defaultWidth(final int defaultWidth) {
+      this.defaultWidth = defaultWidth;
+      return this;
+    }
+
+    /**
+     * Sets the extra width of bold characters.
+     *
+     * @param boldOffset the bold offset
+     * @return this builder
+     */
+    public @NonNull Builder boldOffset(final int boldOffset) {
+      this.boldOffset = boldOffset;
+      return this;
+    }
+
+    /**
+     * Builds the glyph width table.
+     *
+     * @return the glyph width table
+     */
+    public @NonNull GlyphWidthTable build() {
+      final byte[][] pages = new byte[PAGES][];
+      for(int i = 0; i < PAGES; i++) {
+        final byte[] page = this.pages[i];
+        if(page != null) pages[i] = page.clone();
+      }
+      return new GlyphWidthTable(pages, this.defaultWidth, this.boldOffset);
+    }
+  }
+}
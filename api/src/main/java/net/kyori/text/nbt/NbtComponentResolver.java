@@ -0,0 +1,131 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.nbt;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import net.kyori.text.Component;
+import net.kyori.text.ComponentCollectors;
+import net.kyori.text.NbtComponent;
+import net.kyori.text.TextComponent;
+import net.kyori.text.renderer.ResolvingComponentRenderer;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Resolves NBT components by evaluating their {@link NbtComponent#compiledNbtPath() path} against NBT data.
+ *
+ * <p>Each selected tag becomes a component - either the {@link NbtTag#asString() string form} of the tag,
+ * or, for an {@link NbtComponent#interpret() interpreting} component, the component the tag holds. Since this
+ * library does not parse components itself, interpreting is left to an interpreter, such as a serializer's
+ * {@code deserialize} method.</p>
+ */
+public final class NbtComponentResolver {
+  private static final TextComponent SEPARATOR = TextComponent.of(", ");
+
+  private NbtComponentResolver() {
+  }
+
+  /**
+   * Resolves an NBT component.
+   *
+   * <p>Multiple selected tags are joined with {@code ", "}, and an empty component is returned if no
+   * tags are selected. The style and children of {@code component} are not included.</p>
+   *
+   * @param component the component
+   * @param root the root tag of the data the component refers to
+   * @param interpreter the interpreter, which parses a component from a string
+   * @return the resolved component
+   * @throws IllegalArgumentException if the path of the component is malformed
+   */
+  public static @NonNull Component resolve(final @NonNull NbtComponent<?, ?> component, final @NonNull NbtTag root, final @NonNull Function<? super String, ? extends Component> interpreter) {
+    return resolve(component, component.compiledNbtPath(), root, interpreter);
+  }
+
+  private static @NonNull Component resolve(final @NonNull NbtComponent<?, ?> component, final @NonNull NbtPath path, final @NonNull NbtTag root, final @NonNull Function<? super String, ? extends Component> interpreter) {
+    final List<NbtTag> tags = path.evaluate(root);
+    final int size = tags.size();
+    if(size == 0) {
+      return TextComponent.empty();
+    } else if(size == 1) {
+      return resolve(tags.get(0), component.interpret(), interpreter);
+    }
+    return tags.stream()
+      .map(tag -> resolve(tag, component.interpret(), interpreter))
+      .collect(ComponentCollectors.joining(SEPARATOR));
+  }
+
+  private static @NonNull Component resolve(final @NonNull NbtTag tag, final boolean interpret, final @NonNull Function<? super String, ? extends Component> interpreter) {
+    if(!interpret) {
+      return TextComponent.of(tag.asString());
+    }
+    // a component is stored as a string tag holding its json
+    if(tag instanceof NbtPrimitive) {
+      final Object value = ((NbtPrimitive) tag).value();
+      if(value instanceof String) {
+        return requireNonNull(interpreter.apply((String) value), "interpreted component");
+      }
+    }
+    return requireNonNull(interpreter.apply(tag.asString()), "interpreted component");
+  }
+
+  /**
+   * Creates a resolver for use with a {@link ResolvingComponentRenderer}.
+   *
+   * <p>The data each component refers to is looked up using {@code data}, which may return {@code null} if there
+   * is no data, in which case the component is not resolved. Any component with a malformed path is not
+   * resolved.</p>
+   *
+   * @param data a function which looks up the data a component refers to
+   * @param interpreter the interpreter, which parses a component from a string
+   * @param <C> the context type
+   * @param <T> the component type
+   * @return a resolver
+   */
+  public static <C, T extends NbtComponent<?, ?>> ResolvingComponentRenderer.@NonNull Resolver<C, T> resolver(final @NonNull BiFunction<? super T, ? super C, ? extends @Nullable NbtTag> data, final @NonNull Function<? super String, ? extends Component> interpreter) {
+    requireNonNull(data, "data");
+    requireNonNull(interpreter, "interpreter");
+    return (components, context) -> {
+      final Map<T, Component> resolved = new HashMap<>(components.size());
+      for(final T component : components) {
+        final /* @Nullable */ NbtTag root = data.apply(component, context);
+        if(root == null) continue;
+        final NbtPath path;
+        try {
+          path = component.compiledNbtPath();
+        } catch(final IllegalArgumentException e) {
+          // the path is malformed - leave the component as it is
+          continue;
+        }
+        resolved.put(component, resolve(component, path, root, interpreter));
+      }
+      return resolved;
+    };
+  }
+}
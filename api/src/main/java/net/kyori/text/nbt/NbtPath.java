@@ -0,0 +1,462 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.nbt;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import net.kyori.text.NbtComponent;
+import net.kyori.text.util.BoundedCache;
+import net.kyori.text.util.ShadyPines;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A compiled NBT path, such as {@code Inventory[{Slot:0b}].tag.display.Name}.
+ *
+ * <p>A path is a sequence of nodes, each of which selects tags from the tags selected by the previous node:</p>
+ * <ul>
+ *   <li>{@code name} or {@code "name"} - the tag with a name, in a compound</li>
+ *   <li>{@code name{filter}} - the tag with a name, if it is a compound matching a filter</li>
+ *   <li>{@code {filter}} - the root tag, if it matches a filter (only as the first node)</li>
+ *   <li>{@code []} - every element of a list</li>
+ *   <li>{@code [index]} - an element of a list, counting from the end when negative</li>
+ *   <li>{@code [{filter}]} - every element of a list which matches a filter</li>
+ * </ul>
+ *
+ * <p>A compound matches a filter if every tag in the filter has a matching tag in the compound. Paths are
+ * immutable, and may be evaluated by many threads at once.</p>
+ *
+ * @see NbtComponent#compiledNbtPath()
+ */
+public final class NbtPath {
+  /*
+   * The same few paths are repeated across many components, so compiled paths are shared.
+   */
+  private static final BoundedCache<String, NbtPath> CACHE = BoundedCache.<String, NbtPath>builder()
+    .maximumSize(1024)
+    .build();
+  private final String path;
+  private final Node[] nodes;
+
+  private NbtPath(final @NonNull String path, final @NonNull Node@NonNull[] nodes) {
+    this.path = path;
+    this.nodes = nodes;
+  }
+
+  /**
+   * Compiles an NBT path.
+   *
+   * <p>Compiled paths are cached, so compiling the same path again is cheap.</p>
+   *
+   * @param path the path
+   * @return the compiled path
+   * @throws IllegalArgumentException if the path is malformed
+   */
+  public static @NonNull NbtPath compile(final @NonNull String path) {
+    return CACHE.computeIfAbsent(requireNonNull(path, "path"), p -> new Parser(p).parse());
+  }
+
+  /**
+   * Gets the path this was compiled from.
+   *
+   * @return the path
+   */
+  public @NonNull String path() {
+    return this.path;
+  }
+
+  /**
+   * Evaluates this path.
+   *
+   * @param root the root tag
+   * @return the selected tags, in order
+   */
+  public @NonNull List<NbtTag> evaluate(final @NonNull NbtTag root) {
+    requireNonNull(root, "root");
+    List<NbtTag> tags = Collections.singletonList(root);
+    for(int i = 0; i < this.nodes.length && !tags.isEmpty(); i++) {
+      final Node node = this.nodes[i];
+      final List<NbtTag> selected = new ArrayList<>(tags.size());
+      for(int j = 0, size = tags.size(); j < size; j++) {
+        node.select(tags.get(j), selected);
+      }
+      tags = selected;
+    }
+    return tags.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(tags);
+  }
+
+  @Override
+  public boolean equals(final @Nullable Object other) {
+    if(this == other) return true;
+    if(!(other instanceof NbtPath)) return false;
+    final NbtPath that = (NbtPath) other;
+    return this.path.equals(that.path);
+  }
+
+  @Override
+  public int hashCode() {
+    return this.path.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return ShadyPines.toString(this, map -> map.put("path", this.path));
+  }
+
+  private interface Node {
+    void select(final @NonNull NbtTag tag, final @NonNull List<NbtTag> selected);
+  }
+
+  private static final class KeyNode implements Node {
+    private final String key;
+    private final @Nullable Map<String, Object> filter;
+
+    KeyNode(final @NonNull String key, final @Nullable Map<String, Object> filter) {
+      this.key = key;
+      this.filter = filter;
+    }
+
+    @Override
+    public void select(final @NonNull NbtTag tag, final @NonNull List<NbtTag> selected) {
+      if(tag instanceof NbtCompound) {
+        final /* @Nullable */ NbtTag value = ((NbtCompound) tag).get(this.key);
+        if(value != null && (this.filter == null || matches(this.filter, value))) {
+          selected.add(value);
+        }
+      }
+    }
+  }
+
+  private static final class RootNode implements Node {
+    private final Map<String, Object> filter;
+
+    RootNode(final @NonNull Map<String, Object> filter) {
+      this.filter = filter;
+    }
+
+    @Override
+    public void select(final @NonNull NbtTag tag, final @NonNull List<NbtTag> selected) {
+      if(matches(this.filter, tag)) {
+        selected.add(tag);
+      }
+    }
+  }
+
+  private static final class IndexNode implements Node {
+    private final int index;
+
+    IndexNode(final int index) {
+      this.index = index;
+    }
+
+    @Override
+    public void select(final @NonNull NbtTag tag, final @NonNull List<NbtTag> selected) {
+      if(tag instanceof NbtList) {
+        final NbtList list = (NbtList) tag;
+        final int size = list.size();
+        final int index = this.index < 0 ? size + this.index : this.index;
+        if(index >= 0 && index < size) {
+          selected.add(list.get(index));
+        }
+      }
+    }
+  }
+
+  private static final class ElementsNode implements Node {
+    private final @Nullable Map<String, Object> filter;
+
+    ElementsNode(final @Nullable Map<String, Object> filter) {
+      this.filter = filter;
+    }
+
+    @Override
+    public void select(final @NonNull NbtTag tag, final @NonNull List<NbtTag> selected) {
+      if(tag instanceof NbtList) {
+        final NbtList list = (NbtList) tag;
+        for(int i = 0, size = list.size(); i < size; i++) {
+          final NbtTag element = list.get(i);
+          if(this.filter == null || matches(this.filter, element)) {
+            selected.add(element);
+          }
+        }
+      }
+    }
+  }
+
+  /*
+   * Filters are kept as maps (compounds), lists, numbers and strings. Numbers are compared by value
+   * rather than by type, so 1b matches 1s.
+   */
+  @SuppressWarnings("unchecked")
+  private static boolean matches(final @NonNull Object filter, final @NonNull NbtTag tag) {
+    if(filter instanceof Map<?, ?>) {
+      if(!(tag instanceof NbtCompound)) return false;
+      final NbtCompound compound = (NbtCompound) tag;
+      for(final Map.Entry<String, Object> entry : ((Map<String, Object>) filter).entrySet()) {
+        final /* @Nullable */ NbtTag value = compound.get(entry.getKey());
+        if(value == null || !matches(entry.getValue(), value)) return false;
+      }
+      return true;
+    } else if(filter instanceof List<?>) {
+      if(!(tag instanceof NbtList)) return false;
+      final NbtList list = (NbtList) tag;
+      final List<Object> elements = (List<Object>) filter;
+      if(elements.isEmpty()) return list.size() == 0;
+      for(int i = 0, size = elements.size(); i < size; i++) {
+        if(!contains(list, elements.get(i))) return false;
+      }
+      return true;
+    } else if(!(tag instanceof NbtPrimitive)) {
+      return false;
+    }
+    final Object value = ((NbtPrimitive) tag).value();
+    if(filter instanceof Double) {
+      if(!(value instanceof Number)) return false;
+      final double expected = (Double) filter;
+      if(value instanceof Float) return Float.compare(((Float) value), (float) expected) == 0;
+      return Double.compare(((Number) value).doubleValue(), expected) == 0;
+    }
+    return filter.equals(value);
+  }
+
+  private static boolean contains(final @NonNull NbtList list, final @NonNull Object filter) {
+    for(int i = 0, size = list.size(); i < size; i++) {
+      if(matches(filter, list.get(i))) return true;
+    }
+    return false;
+  }
+
+  // walks the path by index, only allocating the strings it keeps
+  private static final class Parser {
+    private final String path;
+    private final int length;
+    private int index;
+
+    Parser(final @NonNull String path) {
+      this.path = path;
+      this.length = path.length();
+    }
+
+    @NonNull NbtPath parse() {
+      if(this.length == 0) throw this.error("empty path");
+      final List<Node> nodes = new ArrayList<>();
+      if(this.peek() == '{') {
+        nodes.add(new RootNode(this.compound()));
+      } else {
+        nodes.add(this.node());
+      }
+      while(this.index < this.length) {
+        if(this.peek() != '[') this.expect('.');
+        nodes.add(this.node());
+      }
+      return new NbtPath(this.path, nodes.toArray(new Node[0]));
+    }
+
+    private @NonNull Node node() {
+      final char c = this.peek();
+      if(c == '[') {
+        this.index++;
+        final char next = this.peek();
+        if(next == ']') {
+          this.index++;
+          return new ElementsNode(null);
+        } else if(next == '{') {
+          final Map<String, Object> filter = this.compound();
+          this.expect(']');
+          return new ElementsNode(filter);
+        }
+        final int start = this.index;
+        if(next == '-') this.index++;
+        while(this.index < this.length && isDigit(this.path.charAt(this.index))) {
+          this.index++;
+        }
+        final int index;
+        try {
+          index = Integer.parseInt(this.path.substring(start, this.index));
+        } catch(final NumberFormatException e) {
+          throw this.error("expected list index");
+        }
+        this.expect(']');
+        return new IndexNode(index);
+      } else if(c == '{') {
+        throw this.error("compound filter without a name");
+      }
+      final String key = c == '"' || c == '\'' ? this.quoted(c) : this.unquoted();
+      if(key.isEmpty()) throw this.error("expected name");
+      return new KeyNode(key, this.index < this.length && this.peek() == '{' ? this.compound() : null);
+    }
+
+    private @NonNull Map<String, Object> compound() {
+      this.expect('{');
+      final Map<String, Object> compound = new LinkedHashMap<>();
+      this.skipWhitespace();
+      if(this.peek() == '}') {
+        this.index++;
+        return compound;
+      }
+      while(true) {
+        this.skipWhitespace();
+        final char c = this.peek();
+        final String key = c == '"' || c == '\'' ? this.quoted(c) : this.unquotedValue();
+        if(key.isEmpty()) throw this.error("expected name");
+        this.skipWhitespace();
+        this.expect(':');
+        this.skipWhitespace();
+        compound.put(key, this.value());
+        this.skipWhitespace();
+        final char next = this.next();
+        if(next == '}') return compound;
+        if(next != ',') throw this.error("expected ',' or '}'");
+      }
+    }
+
+    private @NonNull List<Object> list() {
+      this.expect('[');
+      this.skipWhitespace();
+      // typed arrays are matched like lists
+      if(this.index + 1 < this.length && this.path.charAt(this.index + 1) == ';') {
+        this.index += 2;
+        this.skipWhitespace();
+      }
+      final List<Object> list = new ArrayList<>();
+      if(this.peek() == ']') {
+        this.index++;
+        return list;
+      }
+      while(true) {
+        this.skipWhitespace();
+        list.add(this.value());
+        this.skipWhitespace();
+        final char next = this.next();
+        if(next == ']') return list;
+        if(next != ',') throw this.error("expected ',' or ']'");
+      }
+    }
+
+    private @NonNull Object value() {
+      final char c = this.peek();
+      if(c == '{') return this.compound();
+      if(c == '[') return this.list();
+      if(c == '"' || c == '\'') return this.quoted(c);
+      final String value = this.unquotedValue();
+      if(value.isEmpty()) throw this.error("expected value");
+      if(value.equals("true")) return 1d;
+      if(value.equals("false")) return 0d;
+      final /* @Nullable */ Double number = number(value);
+      return number != null ? number : value;
+    }
+
+    // parses an SNBT number, such as 1b or 2.5f
+    private static @Nullable Double number(final @NonNull String value) {
+      final char first = value.charAt(0);
+      if(!isDigit(first) && first != '-' && first != '+' && first != '.') return null;
+      final char last = value.charAt(value.length() - 1);
+      final String digits = "bBsSlLfFdD".indexOf(last) != -1 ? value.substring(0, value.length() - 1) : value;
+      try {
+        return Double.parseDouble(digits);
+      } catch(final NumberFormatException e) {
+        return null;
+      }
+    }
+
+    private @NonNull String unquoted() {
+      final int start = this.index;
+      while(this.index < this.length && isNameCharacter(this.path.charAt(this.index))) {
+        this.index++;
+      }
+      return this.path.substring(start, this.index);
+    }
+
+    // unquoted strings within filters, which may contain '.'
+    private @NonNull String unquotedValue() {
+      final int start = this.index;
+      while(this.index < this.length && isValueCharacter(this.path.charAt(this.index))) {
+        this.index++;
+      }
+      return this.path.substring(start, this.index);
+    }
+
+    private @NonNull String quoted(final char quote) {
+      this.index++;
+      /* @Nullable */ StringBuilder sb = null;
+      final int start = this.index;
+      while(this.index < this.length) {
+        final char c = this.path.charAt(this.index++);
+        if(c == quote) {
+          return sb == null ? this.path.substring(start, this.index - 1) : sb.toString();
+        }
+        if(c == '\\') {
+          if(sb == null) sb = new StringBuilder(this.path.substring(start, this.index - 1));
+          if(this.index == this.length) break;
+          sb.append(this.path.charAt(this.index++));
+        } else if(sb != null) {
+          sb.append(c);
+        }
+      }
+      throw this.error("unterminated string");
+    }
+
+    private static boolean isNameCharacter(final char c) {
+      return c != '.' && c != '[' && c != ']' && c != '{' && c != '}' && c != '"' && c != '\'' && c != ':' && c != ',' && !Character.isWhitespace(c);
+    }
+
+    private static boolean isValueCharacter(final char c) {
+      return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || isDigit(c) || c == '_' || c == '-' || c == '.' || c == '+';
+    }
+
+    private static boolean isDigit(final char c) {
+      return c >= '0' && c <= '9';
+    }
+
+    private void skipWhitespace() {
+      while(this.index < this.length && Character.isWhitespace(this.path.charAt(this.index))) {
+        this.index++;
+      }
+    }
+
+    private char peek() {
+      if(this.index == this.length) throw this.error("unexpected end of path");
+      return this.path.charAt(this.index);
+    }
+
+    private char next() {
+      final char c = this.peek();
+      this.index++;
+      return c;
+    }
+
+    private void expect(final char expected) {
+      if(this.next() != expected) throw this.error("expected '" + expected + '\'');
+    }
+
+    private @NonNull IllegalArgumentException error(final @NonNull String message) {
+      return new IllegalArgumentException(message + " at index " + this.index + " in NBT path '" + this.path + '\'');
+    }
+  }
+}
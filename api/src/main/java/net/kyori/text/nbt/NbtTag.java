@@ -0,0 +1,43 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.nbt;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A tag in a tree of NBT data.
+ *
+ * <p>This is a minimal view of NBT, which may be implemented over any NBT library. A tag is either an
+ * {@link NbtCompound}, an {@link NbtList}, or an {@link NbtPrimitive}.</p>
+ */
+public interface NbtTag {
+  /**
+   * Gets this tag as a string, in the format used to display tags.
+   *
+   * <p>This is usually stringified NBT, such as {@code {Health:20.0f}} or {@code "text"}.</p>
+   *
+   * @return the string
+   */
+  @NonNull String asString();
+}
@@ -25,9 +25,9 @@ package net.kyori.text.renderer;
 
 import net.kyori.text.BlockNbtComponent;
 import net.kyori.text.Component;
+import net.kyori.text.ComponentVisitor;
 import net.kyori.text.EntityNbtComponent;
 import net.kyori.text.KeybindComponent;
-import net.kyori.text.NbtComponent;
 import net.kyori.text.ScoreComponent;
 import net.kyori.text.SelectorComponent;
 import net.kyori.text.StorageNbtComponent;
@@ -40,30 +40,58 @@ import org.checkerframework.checker.nullness.qual.NonNull;
  *
  * @param <C> the context type
  */
-@SuppressWarnings("Duplicates")
 public abstract class AbstractComponentRenderer<C> implements ComponentRenderer<C> {
+  // dispatches each component to its render method in a single call
+  private final ComponentVisitor<C, Component> visitor = new ComponentVisitor<C, Component>() {
+    @Override
+    public Component visitBlockNbt(final @NonNull BlockNbtComponent component, final C context) {
+      return AbstractComponentRenderer.this.renderBlockNbt(component, context);
+    }
+
+    @Override
+    public Component visitEntityNbt(final @NonNull EntityNbtComponent component, final C context) {
+      return AbstractComponentRenderer.this.renderEntityNbt(component, context);
+    }
+
+    @Override
+    public Component visitStorageNbt(final @NonNull StorageNbtComponent component, final C context) {
+      return AbstractComponentRenderer.this.renderStorageNbt(component, context);
+    }
+
+    @Override
+    public Component visitKeybind(final @NonNull KeybindComponent component, final C context) {
+      return AbstractComponentRenderer.this.renderKeybind(component, context);
+    }
+
+    @Override
+    public Component visitScore(final @NonNull ScoreComponent component, final C context) {
+      return AbstractComponentRenderer.this.renderScore(component, context);
+    }
+
+    @Override
+    public Component visitSelector(final @NonNull SelectorComponent component, final C context) {
+      return AbstractComponentRenderer.this.renderSelector(component, context);
+    }
+
+    @Override
+    public Component visitText(final @NonNull TextComponent component, final C context) {
+      return AbstractComponentRenderer.this.renderText(component, context);
+    }
+
+    @Override
+    public Component visitTranslatable(final @NonNull TranslatableComponent component, final C context) {
+      return AbstractComponentRenderer.this.renderTranslatable(component, context);
+    }
+
+    @Override
+    public Component visitOther(final @NonNull Component component, final C context) {
+      return component;
+    }
+  };
+
   @Override
   public @NonNull Component render(final @NonNull Component component, final @NonNull C context) {
-    if(component instanceof TextComponent) {
-      return this.renderText((TextComponent) component, context);
-    } else if(component instanceof TranslatableComponent) {
-      return this.renderTranslatable((TranslatableComponent) component, context);
-    } else if(component instanceof KeybindComponent) {
-      return this.renderKeybind((KeybindComponent) component, context);
-    } else if(component instanceof ScoreComponent) {
-      return this.renderScore((ScoreComponent) component, context);
-    } else if(component instanceof SelectorComponent) {
-      return this.renderSelector((SelectorComponent) component, context);
-    } else if(component instanceof NbtComponent<?, ?>) {
-      if(component instanceof BlockNbtComponent) {
-        return this.renderBlockNbt((BlockNbtComponent) component, context);
-      } else if(component instanceof EntityNbtComponent) {
-        return this.renderEntityNbt((EntityNbtComponent) component, context);
-      } else if(component instanceof StorageNbtComponent) {
-        return this.renderStorageNbt((StorageNbtComponent) component, context);
-      }
-    }
-    return component;
+    return component.accept(this.visitor, context);
   }
 
   protected abstract @NonNull Component renderBlockNbt(final @NonNull BlockNbtComponent component, final @NonNull C context);
@@ -0,0 +1,87 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.renderer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import net.kyori.text.Component;
+import net.kyori.text.translation.TranslationTemplate;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A component renderer which does not block the calling thread.
+ *
+ * <p>Cancelling a returned future stops waiting on the render, and on any work it started which no other render
+ * is waiting on. Work which has not started yet is skipped, but work already running is not interrupted - it runs
+ * to completion, and its result is discarded.</p>
+ *
+ * @param <C> the context type
+ */
+@FunctionalInterface
+public interface AsyncComponentRenderer<C> {
+  /**
+   * Creates an asynchronous renderer which runs a renderer on an executor.
+   *
+   * @param renderer the renderer
+   * @param executor the executor
+   * @param <C> the context type
+   * @return an asynchronous renderer
+   */
+  static <C> @NonNull AsyncComponentRenderer<C> of(final @NonNull ComponentRenderer<C> renderer, final @NonNull Executor executor) {
+    requireNonNull(renderer, "renderer");
+    requireNonNull(executor, "executor");
+    return (component, context) -> CompletableFuture.supplyAsync(() -> renderer.render(component, context), executor);
+  }
+
+  /**
+   * Creates an asynchronous translatable component renderer from a slow source of templates, such as a database.
+   *
+   * <p>Each distinct translation key in a component is looked up on {@code executor} at the same time, and a key
+   * already being looked up in the same context for another render is not looked up again. Once every template is
+   * available, the component is rendered as a {@link TranslatableComponentRenderer} would.</p>
+   *
+   * <p>Lookups block the thread they run on, so an executor with many cheap threads - such as one which creates a
+   * virtual thread per task, where available - suits slow sources best.</p>
+   *
+   * @param templates the template source
+   * @param executor the executor lookups run on
+   * @param <C> the context type
+   * @return an asynchronous renderer
+   */
+  static <C> @NonNull AsyncComponentRenderer<C> translatable(final @NonNull BiFunction<C, String, /* @Nullable */ TranslationTemplate> templates, final @NonNull Executor executor) {
+    return new AsyncTranslatableComponentRenderer<>(requireNonNull(templates, "templates"), requireNonNull(executor, "executor"));
+  }
+
+  /**
+   * Renders a component.
+   *
+   * @param component the component
+   * @param context the context
+   * @return a future completed with the rendered component
+   */
+  @NonNull CompletableFuture<Component> render(final @NonNull Component component, final @NonNull C context);
+}
@@ -0,0 +1,116 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.renderer;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import net.kyori.text.Component;
+import net.kyori.text.TranslatableComponent;
+import net.kyori.text.event.HoverEvent;
+import net.kyori.text.translation.TranslationTemplate;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+final class AsyncTranslatableComponentRenderer<C> implements AsyncComponentRenderer<C> {
+  private final BiFunction<C, String, /* @Nullable */ TranslationTemplate> templates;
+  private final Executor executor;
+  final InFlightLookups<Lookup<C>, TranslationTemplate> lookups = new InFlightLookups<>();
+
+  AsyncTranslatableComponentRenderer(final @NonNull BiFunction<C, String, /* @Nullable */ TranslationTemplate> templates, final @NonNull Executor executor) {
+    this.templates = templates;
+    this.executor = executor;
+  }
+
+  @Override
+  public @NonNull CompletableFuture<Component> render(final @NonNull Component component, final @NonNull C context) {
+    final Set<String> keys = new LinkedHashSet<>();
+    collectKeys(component, keys);
+    if(keys.isEmpty()) {
+      return CompletableFuture.completedFuture(component);
+    }
+
+    final Map<String, CompletableFuture<TranslationTemplate>> templates = new HashMap<>(keys.size());
+    for(final String key : keys) {
+      templates.put(key, this.lookups.acquire(new Lookup<>(context, key), () -> CompletableFuture.supplyAsync(() -> this.templates.apply(context, key), this.executor)));
+    }
+
+    final CompletableFuture<Component> result = CompletableFuture.allOf(templates.values().toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+      // every lookup is complete - join() does not block
+      final TranslatableComponentRenderer<C> renderer = TranslatableComponentRenderer.fromTemplates((c, key) -> templates.get(key).join());
+      return renderer.render(component, context);
+    });
+    result.whenComplete((rendered, throwable) -> {
+      if(result.isCancelled()) {
+        templates.forEach((key, template) -> this.lookups.release(new Lookup<>(context, key), template));
+      }
+    });
+    return result;
+  }
+
+  private static void collectKeys(final @NonNull Component component, final @NonNull Set<String> keys) {
+    if(component instanceof TranslatableComponent) {
+      final TranslatableComponent translatable = (TranslatableComponent) component;
+      keys.add(translatable.key());
+      for(final Component arg : translatable.args()) {
+        collectKeys(arg, keys);
+      }
+    }
+    for(final Component child : component.children()) {
+      collectKeys(child, keys);
+    }
+    final /* @Nullable */ HoverEvent hoverEvent = component.hoverEvent();
+    if(hoverEvent != null) {
+      collectKeys(hoverEvent.value(), keys);
+    }
+  }
+
+  static final class Lookup<C> {
+    private final C context;
+    private final String key;
+
+    Lookup(final @NonNull C context, final @NonNull String key) {
+      this.context = context;
+      this.key = key;
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object other) {
+      if(this == other) return true;
+      if(!(other instanceof Lookup<?>)) return false;
+      final Lookup<?> that = (Lookup<?>) other;
+      return this.key.equals(that.key) && Objects.equals(this.context, that.context);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * this.context.hashCode() + this.key.hashCode();
+    }
+  }
+}
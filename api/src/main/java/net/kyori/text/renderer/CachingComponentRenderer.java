@@ -0,0 +1,193 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.renderer;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import net.kyori.text.Component;
+import net.kyori.text.util.BoundedCache;
+import org.checkerframework.checker.index.qual.NonNegative;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A component renderer which remembers the results of another renderer.
+ *
+ * <p>Results are cached by component and by a key extracted from the context - two contexts which
+ * render identically, such as two viewers sharing a locale, should share a key.</p>
+ *
+ * <p>Components and context keys are held strongly until their results are evicted. By default the
+ * context itself is the key, so prefer a key which does not pin large objects such as viewers. Unless
+ * another bound is set, at most {@value Builder#DEFAULT_MAXIMUM_SIZE} results are cached.</p>
+ *
+ * @param <C> the context type
+ */
+public final class CachingComponentRenderer<C> implements ComponentRenderer<C> {
+  private final ComponentRenderer<C> renderer;
+  private final Function<? super C, ?> contextKey;
+  private final BoundedCache<Key, Component> cache;
+
+  private CachingComponentRenderer(final @NonNull ComponentRenderer<C> renderer, final @NonNull Function<? super C, ?> contextKey, final @NonNull BoundedCache<Key, Component> cache) {
+    this.renderer = renderer;
+    this.contextKey = contextKey;
+    this.cache = cache;
+  }
+
+  /**
+   * Creates a builder for a caching renderer.
+   *
+   * @param renderer the renderer whose results to cache
+   * @param <C> the context type
+   * @return a builder
+   */
+  public static <C> @NonNull Builder<C> builder(final @NonNull ComponentRenderer<C> renderer) {
+    return new Builder<>(requireNonNull(renderer, "renderer"));
+  }
+
+  @Override
+  public @NonNull Component render(final @NonNull Component component, final @NonNull C context) {
+    final Key key = new Key(component, requireNonNull(this.contextKey.apply(context), "context key"));
+    return this.cache.computeIfAbsent(key, k -> this.renderer.render(component, context));
+  }
+
+  /**
+   * Gets a snapshot of the statistics of the cache.
+   *
+   * @return the statistics
+   */
+  public BoundedCache.@NonNull Stats stats() {
+    return this.cache.stats();
+  }
+
+  /**
+   * Removes all cached results.
+   *
+   * <p>This should be called when the underlying renderer would now render differently, such as
+   * after translations have been reloaded.</p>
+   */
+  public void invalidateAll() {
+    this.cache.clear();
+  }
+
+  private static final class Key {
+    private final Component component;
+    private final Object context;
+    private final int hash;
+
+    Key(final @NonNull Component component, final @NonNull Object context) {
+      this.component = component;
+      this.context = context;
+      this.hash = 31 * component.hashCode() + context.hashCode();
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object other) {
+      if(this == other) return true;
+      if(!(other instanceof Key)) return false;
+      final Key that = (Key) other;
+      if(this.hash != that.hash) return false;
+      // the same component instance is usually rendered over and over - avoid a deep comparison
+      return (this.component == that.component || this.component.equals(that.component)) && Objects.equals(this.context, that.context);
+    }
+
+    @Override
+    public int hashCode() {
+      return this.hash;
+    }
+  }
+
+  /**
+   * A caching renderer builder.
+   *
+   * @param <C> the context type
+   */
+  public static final class Builder<C> {
+    /**
+     * The maximum number of cached results when neither {@link #maximumSize(long)} nor
+     * {@link #maximumWeight(long, ToIntFunction)} is set.
+     */
+    public static final long DEFAULT_MAXIMUM_SIZE = 1024;
+    private final ComponentRenderer<C> renderer;
+    private final BoundedCache.Builder<Key, Component> cache = BoundedCache.builder();
+    private Function<? super C, ?> contextKey = Function.identity();
+    private boolean bounded;
+
+    Builder(final @NonNull ComponentRenderer<C> renderer) {
+      this.renderer = renderer;
+    }
+
+    /**
+     * Sets the function which extracts a cache key from a context.
+     *
+     * <p>By default, the context itself is the key. Keys are held strongly while their results are
+     * cached.</p>
+     *
+     * @param contextKey the context key function
+     * @return this builder
+     */
+    public @NonNull Builder<C> contextKey(final @NonNull Function<? super C, ?> contextKey) {
+      this.contextKey = requireNonNull(contextKey, "context key");
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of cached results.
+     *
+     * @param maximumSize the maximum size
+     * @return this builder
+     */
+    public @NonNull Builder<C> maximumSize(final @NonNegative long maximumSize) {
+      this.cache.maximumSize(maximumSize);
+      this.bounded = true;
+      return this;
+    }
+
+    /**
+     * Sets the maximum total weight of cached results, and how to weigh them.
+     *
+     * @param maximumWeight the maximum weight
+     * @param weigher the weigher, given each rendered component
+     * @return this builder
+     */
+    public @NonNull Builder<C> maximumWeight(final @NonNegative long maximumWeight, final @NonNull ToIntFunction<? super Component> weigher) {
+      requireNonNull(weigher, "weigher");
+      this.cache.maximumWeight(maximumWeight, (key, value) -> weigher.applyAsInt(value));
+      this.bounded = true;
+      return this;
+    }
+
+    /**
+     * Builds the renderer.
+     *
+     * @return the renderer
+     */
+    public @NonNull CachingComponentRenderer<C> build() {
+      if(!this.bounded) this.cache.maximumSize(DEFAULT_MAXIMUM_SIZE);
+      return new CachingComponentRenderer<>(this.renderer, this.contextKey, this.cache.build());
+    }
+  }
+}
@@ -0,0 +1,330 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.renderer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import net.kyori.text.Component;
+import net.kyori.text.serializer.ComponentSerializer;
+import net.kyori.text.util.ShadyPines;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Sends a component to many recipients, rendering and serializing it as few times as possible.
+ *
+ * <p>Recipients are grouped by their context and their serializer. The component is rendered once for each
+ * distinct context, and serialized once for each distinct pair of context and serializer - a message sent to
+ * thousands of players usually only needs a handful of renders.</p>
+ *
+ * <pre>
+ *   final ComponentBroadcast&lt;Player, Locale, String&gt; broadcast = ComponentBroadcast.&lt;Player, Locale, String&gt;builder(renderer)
+ *     .context(Player::locale)
+ *     .serializer(Player::serializer)
+ *     .build();
+ *   broadcast.send(component, players, Player::sendRaw);
+ * </pre>
+ *
+ * @param <T> the recipient type
+ * @param <C> the context type
+ * @param <R> the serialized type
+ */
+public final class ComponentBroadcast<T, C, R> {
+  private final ComponentRenderer<C> renderer;
+  private final Function<? super T, ? extends C> context;
+  private final Function<? super T, ? extends ComponentSerializer<Component, ?, ? extends R>> serializer;
+  private final @Nullable Executor executor;
+
+  private ComponentBroadcast(final @NonNull ComponentRenderer<C> renderer, final @NonNull Function<? super T, ? extends C> context, final @NonNull Function<? super T, ? extends ComponentSerializer<Component, ?, ? extends R>> serializer, final @Nullable Executor executor) {
+    this.renderer = renderer;
+    this.context = context;
+    this.serializer = serializer;
+    this.executor = executor;
+  }
+
+  /**
+   * Creates a broadcast builder.
+   *
+   * @param renderer the renderer
+   * @param <T> the recipient type
+   * @param <C> the context type
+   * @param <R> the serialized type
+   * @return a builder
+   */
+  public static <T, C, R> @NonNull Builder<T, C, R> builder(final @NonNull ComponentRenderer<C> renderer) {
+    return new Builder<>(requireNonNull(renderer, "renderer"));
+  }
+
+  /**
+   * Renders and serializes a component for each group of recipients.
+   *
+   * @param component the component
+   * @param recipients the recipients
+   * @return the groups, in the order their first recipient was encountered
+   */
+  public @NonNull List<Group<T, C, R>> prepare(final @NonNull Component component, final @NonNull Iterable<? extends T> recipients) {
+    requireNonNull(component, "component");
+    final Map<GroupKey<C, R>, List<T>> grouped = new LinkedHashMap<>();
+    for(final T recipient : recipients) {
+      final GroupKey<C, R> key = new GroupKey<>(requireNonNull(this.context.apply(recipient), "context"), requireNonNull(this.serializer.apply(recipient), "serializer"));
+      grouped.computeIfAbsent(key, k -> new ArrayList<>()).add(recipient);
+    }
+    if(this.executor == null || grouped.size() < 2) {
+      return this.prepareSequential(component, grouped);
+    }
+    return this.prepareParallel(component, grouped, this.executor);
+  }
+
+  private @NonNull List<Group<T, C, R>> prepareSequential(final @NonNull Component component, final @NonNull Map<GroupKey<C, R>, List<T>> grouped) {
+    final Map<C, Component> rendered = new HashMap<>();
+    final List<Group<T, C, R>> groups = new ArrayList<>(grouped.size());
+    for(final Map.Entry<GroupKey<C, R>, List<T>> entry : grouped.entrySet()) {
+      final GroupKey<C, R> key = entry.getKey();
+      final Component renderedComponent = rendered.computeIfAbsent(key.context, context -> this.renderer.render(component, context));
+      groups.add(new Group<>(key.context, key.serializer, renderedComponent, key.serializer.serialize(renderedComponent), entry.getValue()));
+    }
+    return groups;
+  }
+
+  private @NonNull List<Group<T, C, R>> prepareParallel(final @NonNull Component component, final @NonNull Map<GroupKey<C, R>, List<T>> grouped, final @NonNull Executor executor) {
+    final Map<C, CompletableFuture<Component>> rendered = new HashMap<>();
+    final List<CompletableFuture<Group<T, C, R>>> futures = new ArrayList<>(grouped.size());
+    for(final Map.Entry<GroupKey<C, R>, List<T>> entry : grouped.entrySet()) {
+      final GroupKey<C, R> key = entry.getKey();
+      final List<T> recipients = entry.getValue();
+      final CompletableFuture<Component> renderedComponent = rendered.computeIfAbsent(key.context, context -> CompletableFuture.supplyAsync(() -> this.renderer.render(component, context), executor));
+      futures.add(renderedComponent.thenApplyAsync(c -> new Group<>(key.context, key.serializer, c, key.serializer.serialize(c), recipients), executor));
+    }
+    final List<Group<T, C, R>> groups = new ArrayList<>(futures.size());
+    try {
+      for(final CompletableFuture<Group<T, C, R>> future : futures) {
+        groups.add(future.join());
+      }
+    } catch(final CompletionException e) {
+      final Throwable cause = e.getCause();
+      if(cause instanceof RuntimeException) throw (RuntimeException) cause;
+      if(cause instanceof Error) throw (Error) cause;
+      throw e;
+    }
+    return groups;
+  }
+
+  /**
+   * Renders and serializes a component for each group of recipients, and sends the output to each recipient.
+   *
+   * @param component the component
+   * @param recipients the recipients
+   * @param sender the function which sends the output to a recipient
+   */
+  public void send(final @NonNull Component component, final @NonNull Iterable<? extends T> recipients, final @NonNull BiConsumer<? super T, ? super R> sender) {
+    requireNonNull(sender, "sender");
+    for(final Group<T, C, R> group : this.prepare(component, recipients)) {
+      final R output = group.output;
+      for(final T recipient : group.recipients) {
+        sender.accept(recipient, output);
+      }
+    }
+  }
+
+  private static final class GroupKey<C, R> {
+    final C context;
+    final ComponentSerializer<Component, ?, ? extends R> serializer;
+    private final int hash;
+
+    GroupKey(final @NonNull C context, final @NonNull ComponentSerializer<Component, ?, ? extends R> serializer) {
+      this.context = context;
+      this.serializer = serializer;
+      this.hash = 31 * context.hashCode() + serializer.hashCode();
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object other) {
+      if(this == other) return true;
+      if(!(other instanceof GroupKey<?, ?>)) return false;
+      final GroupKey<?, ?> that = (GroupKey<?, ?>) other;
+      return this.hash == that.hash && Objects.equals(this.context, that.context) && Objects.equals(this.serializer, that.serializer);
+    }
+
+    @Override
+    public int hashCode() {
+      return this.hash;
+    }
+  }
+
+  /**
+   * Recipients which share a context and serializer, and the output prepared for them.
+   *
+   * @param <T> the recipient type
+   * @param <C> the context type
+   * @param <R> the serialized type
+   */
+  public static final class Group<T, C, R> {
+    private final C context;
+    private final ComponentSerializer<Component, ?, ? extends R> serializer;
+    private final Component component;
+    private final R output;
+    private final List<T> recipients;
+
+    Group(final @NonNull C context, final @NonNull ComponentSerializer<Component, ?, ? extends R> serializer, final @NonNull Component component, final @NonNull R output, final @NonNull List<T> recipients) {
+      this.context = context;
+      this.serializer = serializer;
+      this.component = component;
+      this.output = output;
+      this.recipients = Collections.unmodifiableList(recipients);
+    }
+
+    /**
+     * Gets the context the component was rendered in.
+     *
+     * @return the context
+     */
+    public @NonNull C context() {
+      return this.context;
+    }
+
+    /**
+     * Gets the serializer the component was serialized with.
+     *
+     * @return the serializer
+     */
+    public @NonNull ComponentSerializer<Component, ?, ? extends R> serializer() {
+      return this.serializer;
+    }
+
+    /**
+     * Gets the rendered component.
+     *
+     * <p>Groups with the same context share the same rendered component.</p>
+     *
+     * @return the rendered component
+     */
+    public @NonNull Component component() {
+      return this.component;
+    }
+
+    /**
+     * Gets the serialized component.
+     *
+     * @return the serialized component
+     */
+    public @NonNull R output() {
+      return this.output;
+    }
+
+    /**
+     * Gets the recipients in this group.
+     *
+     * @return the recipients
+     */
+    public @NonNull List<T> recipients() {
+      return this.recipients;
+    }
+
+    @Override
+    public String toString() {
+      return ShadyPines.toString(this, map -> {
+        map.put("context", this.context);
+        map.put("serializer", this.serializer);
+        map.put("output", this.output);
+        map.put("recipients", this.recipients.size());
+      });
+    }
+  }
+
+  /**
+   * A broadcast builder.
+   *
+   * @param <T> the recipient type
+   * @param <C> the context type
+   * @param <R> the serialized type
+   */
+  public static final class Builder<T, C, R> {
+    private final ComponentRenderer<C> renderer;
+    private @Nullable Function<? super T, ? extends C> context;
+    private @Nullable Function<? super T, ? extends ComponentSerializer<Component, ?, ? extends R>> serializer;
+    private @Nullable Executor executor;
+
+    Builder(final @NonNull ComponentRenderer<C> renderer) {
+      this.renderer = renderer;
+    }
+
+    /**
+     * Sets the function which gets the render context of a recipient.
+     *
+     * @param context the context function
+     * @return this builder
+     */
+    public @NonNull Builder<T, C, R> context(final @NonNull Function<? super T, ? extends C> context) {
+      this.context = requireNonNull(context, "context");
+      return this;
+    }
+
+    /**
+     * Sets the function which gets the serializer of a recipient.
+     *
+     * @param serializer the serializer function
+     * @return this builder
+     */
+    public @NonNull Builder<T, C, R> serializer(final @NonNull Function<? super T, ? extends ComponentSerializer<Component, ?, ? extends R>> serializer) {
+      this.serializer = requireNonNull(serializer, "serializer");
+      return this;
+    }
+
+    /**
+     * Sets the executor groups are rendered and serialized on.
+     *
+     * <p>By default, or when given {@code null}, groups are prepared on the calling thread.</p>
+     *
+     * @param executor the executor
+     * @return this builder
+     */
+    public @NonNull Builder<T, C, R> executor(final @Nullable Executor executor) {
+      this.executor = executor;
+      return this;
+    }
+
+    /**
+     * Builds the broadcast.
+     *
+     * @return the broadcast
+     */
+    public @NonNull ComponentBroadcast<T, C, R> build() {
+      if(this.context == null) throw new IllegalStateException("context must be set");
+      if(this.serializer == null) throw new IllegalStateException("serializer must be set");
+      return new ComponentBroadcast<>(this.renderer, this.context, this.serializer, this.executor);
+    }
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.renderer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Lookups which are in progress, shared between everyone waiting on the same key.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+final class InFlightLookups<K, V> {
+  private final Map<K, Lookup<V>> lookups = new HashMap<>();
+
+  /**
+   * Gets the lookup in progress for a key, starting one if there is none.
+   *
+   * <p>Each call must be paired with a call to {@link #release(Object, CompletableFuture)} if the caller
+   * stops waiting before the lookup completes.</p>
+   *
+   * @param key the key
+   * @param start the function which starts a lookup
+   * @return the lookup
+   */
+  synchronized @NonNull CompletableFuture<V> acquire(final @NonNull K key, final @NonNull Supplier<CompletableFuture<V>> start) {
+    /* @Nullable */ Lookup<V> lookup = this.lookups.get(key);
+    if(lookup == null) {
+      lookup = new Lookup<>(start.get());
+      this.lookups.put(key, lookup);
+      final Lookup<V> started = lookup;
+      // once complete, a lookup is no longer shared - later callers start a fresh one
+      lookup.future.whenComplete((value, throwable) -> this.remove(key, started));
+    }
+    lookup.waiters++;
+    return lookup.future;
+  }
+
+  /**
+   * Stops waiting on a lookup, cancelling it if nobody else is waiting.
+   *
+   * @param key the key
+   * @param future the lookup
+   */
+  synchronized void release(final @NonNull K key, final @NonNull CompletableFuture<V> future) {
+    final /* @Nullable */ Lookup<V> lookup = this.lookups.get(key);
+    if(lookup != null && lookup.future == future && --lookup.waiters == 0) {
+      this.lookups.remove(key);
+      future.cancel(false);
+    }
+  }
+
+  private synchronized void remove(final @NonNull K key, final @NonNull Lookup<V> lookup) {
+    this.lookups.remove(key, lookup);
+  }
+
+  synchronized int size() {
+    return this.lookups.size();
+  }
+
+  private static final class Lookup<V> {
+    final CompletableFuture<V> future;
+    int waiters;
+
+    Lookup(final @NonNull CompletableFuture<V> future) {
+      this.future = future;
+    }
+  }
+}
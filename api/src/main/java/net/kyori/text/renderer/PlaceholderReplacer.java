@@ -0,0 +1,348 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.renderer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.function.Function;
+import net.kyori.text.Component;
+import net.kyori.text.TextComponent;
+import net.kyori.text.TranslatableComponent;
+import net.kyori.text.event.HoverEvent;
+import net.kyori.text.format.Style;
+import net.kyori.text.util.ShadyPines;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A renderer which replaces placeholders in the content of text components.
+ *
+ * <p>Placeholders are compiled into an automaton which finds every placeholder in a single scan of each content
+ * string. Placeholders may be replaced with text, which is spliced into the content, or with components, which
+ * become children of the text component so that they inherit its style. Components without placeholders are
+ * returned as they are.</p>
+ *
+ * <p>Where placeholders overlap, the one which ends first is replaced - and the longest, if several end at the
+ * same place.</p>
+ *
+ * @param <C> the context type
+ */
+public final class PlaceholderReplacer<C> implements ComponentRenderer<C> {
+  private static final int NONE = -1;
+  private final String[] placeholders;
+  private final Function<? super C, ?>[] values;
+  // the automaton - state 0 is the root
+  private final char[][] labels;
+  private final int[][] targets;
+  private final int[] failures;
+  // the longest placeholder ending at each state, or NONE
+  private final int[] outputs;
+
+  private PlaceholderReplacer(final @NonNull String[] placeholders, final @NonNull Function<? super C, ?>[] values) {
+    this.placeholders = placeholders;
+    this.values = values;
+
+    // build a trie of the placeholders
+    final List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+    final List<Integer> terminals = new ArrayList<>();
+    trie.add(new TreeMap<>());
+    terminals.add(NONE);
+    for(int i = 0; i < placeholders.length; i++) {
+      int state = 0;
+      for(final char c : placeholders[i].toCharArray()) {
+        /* @Nullable */ Integer next = trie.get(state).get(c);
+        if(next == null) {
+          next = trie.size();
+          trie.add(new TreeMap<>());
+          terminals.add(NONE);
+          trie.get(state).put(c, next);
+        }
+        state = next;
+      }
+      terminals.set(state, i);
+    }
+
+    final int size = trie.size();
+    this.labels = new char[size][];
+    this.targets = new int[size][];
+    for(int state = 0; state < size; state++) {
+      final TreeMap<Character, Integer> transitions = trie.get(state);
+      this.labels[state] = new char[transitions.size()];
+      this.targets[state] = new int[transitions.size()];
+      int i = 0;
+      for(final Map.Entry<Character, Integer> transition : transitions.entrySet()) {
+        this.labels[state][i] = transition.getKey();
+        this.targets[state][i] = transition.getValue();
+        i++;
+      }
+    }
+
+    // link each state to the state of its longest proper suffix, breadth first
+    this.failures = new int[size];
+    this.outputs = new int[size];
+    this.outputs[0] = NONE;
+    final Queue<Integer> queue = new ArrayDeque<>();
+    for(final int child : this.targets[0]) {
+      this.failures[child] = 0;
+      this.outputs[child] = terminals.get(child);
+      queue.add(child);
+    }
+    while(!queue.isEmpty()) {
+      final int state = queue.remove();
+      for(int i = 0; i < this.labels[state].length; i++) {
+        final int child = this.targets[state][i];
+        final int failure = this.next(this.failures[state], this.labels[state][i]);
+        this.failures[child] = failure;
+        final int terminal = terminals.get(child);
+        this.outputs[child] = terminal != NONE ? terminal : this.outputs[failure];
+        queue.add(child);
+      }
+    }
+  }
+
+  /**
+   * Creates a placeholder replacer builder.
+   *
+   * @param <C> the context type
+   * @return a builder
+   */
+  public static <C> @NonNull Builder<C> builder() {
+    return new Builder<>();
+  }
+
+  private int next(int state, final char c) {
+    while(true) {
+      final int index = Arrays.binarySearch(this.labels[state], c);
+      if(index >= 0) {
+        return this.targets[state][index];
+      }
+      if(state == 0) {
+        return 0;
+      }
+      state = this.failures[state];
+    }
+  }
+
+  @Override
+  public @NonNull Component render(final @NonNull Component component, final @NonNull C context) {
+    return this.render(component, context, new Object[this.placeholders.length]);
+  }
+
+  /**
+   * Replaces placeholders in the content of a single text component, leaving its children as they are.
+   *
+   * <p>This can be used as a {@link RenderPipeline.Stage stage} of a pipeline, which renders the children
+   * afterwards. The values this replaces placeholders with are not passed through this stage again, so a value
+   * containing a placeholder - such as a player named {@code {player}} - is left as it is.</p>
+   *
+   * @param component the component
+   * @param context the context
+   * @return the component, with placeholders replaced
+   */
+  public @NonNull Component replace(final @NonNull TextComponent component, final @NonNull C context) {
+    final /* @Nullable */ Component replaced = this.replace(component, component.children(), context, new Object[this.placeholders.length]);
+    return replaced != null ? replaced : component;
+  }
+
+  private @NonNull Component render(final @NonNull Component component, final @NonNull C context, final @Nullable Object@NonNull[] values) {
+    final List<Component> children = component.children();
+    final /* @Nullable */ List<Component> renderedChildren = this.renderAll(children, context, values);
+    final Style style = component.style();
+    final Style renderedStyle = this.renderStyle(style, context, values);
+
+    Component result = component;
+    if(result instanceof TextComponent) {
+      final /* @Nullable */ Component replaced = this.replace((TextComponent) result, renderedChildren != null ? renderedChildren : children, context, values);
+      if(replaced != null) {
+        return renderedStyle != style ? replaced.style(renderedStyle) : replaced;
+      }
+    } else if(result instanceof TranslatableComponent) {
+      final /* @Nullable */ List<Component> renderedArgs = this.renderAll(((TranslatableComponent) result).args(), context, values);
+      if(renderedArgs != null) {
+        result = ((TranslatableComponent) result).args(renderedArgs);
+      }
+    }
+    if(renderedStyle != style) {
+      result = result.style(renderedStyle);
+    }
+    if(renderedChildren != null) {
+      result = result.children(renderedChildren);
+    }
+    return result;
+  }
+
+  // returns null if nothing was replaced
+  private @Nullable Component replace(final @NonNull TextComponent component, final @NonNull List<Component> children, final @NonNull C context, final @Nullable Object@NonNull[] values) {
+    final String content = component.content();
+    /* @Nullable */ StringBuilder text = null;
+    // once a placeholder is replaced by a component, the content is split into children
+    /* @Nullable */ String head = null;
+    /* @Nullable */ List<Component> parts = null;
+    int last = 0;
+    int state = 0;
+    for(int i = 0, length = content.length(); i < length; i++) {
+      state = this.next(state, content.charAt(i));
+      final int match = this.outputs[state];
+      if(match == NONE) {
+        continue;
+      }
+      if(text == null) {
+        text = new StringBuilder(length);
+      }
+      text.append(content, last, i + 1 - this.placeholders[match].length());
+      final Object value = this.value(match, context, values);
+      if(value instanceof Component) {
+        if(parts == null) {
+          head = text.toString();
+          parts = new ArrayList<>();
+        } else if(text.length() > 0) {
+          parts.add(TextComponent.of(text.toString()));
+        }
+        parts.add((Component) value);
+        text.setLength(0);
+      } else {
+        text.append((String) value);
+      }
+      last = i + 1;
+      state = 0;
+    }
+    if(text == null) {
+      return null;
+    }
+    text.append(content, last, content.length());
+
+    if(parts == null) {
+      return component.content(text.toString()).children(children);
+    }
+    if(text.length() > 0) {
+      parts.add(TextComponent.of(text.toString()));
+    }
+    parts.addAll(children);
+    return component.content(head).children(parts);
+  }
+
+  private @NonNull Object value(final int placeholder, final @NonNull C context, final @Nullable Object@NonNull[] values) {
+    /* @Nullable */ Object value = values[placeholder];
+    if(value == null) {
+      // each value is only computed once per render
+      value = requireNonNull(this.values[placeholder].apply(context), "placeholder value");
+      values[placeholder] = value;
+    }
+    return value;
+  }
+
+  // returns null if every component rendered to itself
+  private @Nullable List<Component> renderAll(final @NonNull List<Component> components, final @NonNull C context, final @Nullable Object@NonNull[] values) {
+    /* @Nullable */ List<Component> rendered = null;
+    for(int i = 0, size = components.size(); i < size; i++) {
+      final Component component = components.get(i);
+      final Component renderedComponent = this.render(component, context, values);
+      if(rendered == null && renderedComponent != component) {
+        rendered = new ArrayList<>(size);
+        rendered.addAll(components.subList(0, i));
+      }
+      if(rendered != null) {
+        rendered.add(renderedComponent);
+      }
+    }
+    return rendered;
+  }
+
+  private @NonNull Style renderStyle(final @NonNull Style style, final @NonNull C context, final @Nullable Object@NonNull[] values) {
+    final /* @Nullable */ HoverEvent hoverEvent = style.hoverEvent();
+    if(hoverEvent == null) {
+      return style;
+    }
+    final Component value = hoverEvent.value();
+    final Component renderedValue = this.render(value, context, values);
+    if(renderedValue == value) {
+      return style;
+    }
+    return style.hoverEvent(HoverEvent.of(hoverEvent.action(), renderedValue));
+  }
+
+  @Override
+  public String toString() {
+    return ShadyPines.toString(this, map -> map.put("placeholders", Arrays.toString(this.placeholders)));
+  }
+
+  /**
+   * A placeholder replacer builder.
+   *
+   * @param <C> the context type
+   */
+  public static final class Builder<C> {
+    private final Map<String, Function<? super C, ?>> placeholders = new LinkedHashMap<>();
+
+    Builder() {
+    }
+
+    /**
+     * Replaces a placeholder with text.
+     *
+     * @param placeholder the placeholder, such as {@code {player}}
+     * @param value the function which computes the text
+     * @return this builder
+     */
+    public @NonNull Builder<C> text(final @NonNull String placeholder, final @NonNull Function<? super C, String> value) {
+      return this.placeholder(placeholder, value);
+    }
+
+    /**
+     * Replaces a placeholder with a component.
+     *
+     * @param placeholder the placeholder, such as {@code {player}}
+     * @param value the function which computes the component
+     * @return this builder
+     */
+    public @NonNull Builder<C> component(final @NonNull String placeholder, final @NonNull Function<? super C, ? extends Component> value) {
+      return this.placeholder(placeholder, value);
+    }
+
+    private @NonNull Builder<C> placeholder(final @NonNull String placeholder, final @NonNull Function<? super C, ?> value) {
+      requireNonNull(placeholder, "placeholder");
+      if(placeholder.isEmpty()) throw new IllegalArgumentException("placeholder must not be empty");
+      this.placeholders.put(placeholder, requireNonNull(value, "value"));
+      return this;
+    }
+
+    /**
+     * Builds the replacer.
+     *
+     * @return the replacer
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public @NonNull PlaceholderReplacer<C> build() {
+      return new PlaceholderReplacer<>(this.placeholders.keySet().toArray(new String[0]), this.placeholders.values().toArray(new Function[0]));
+    }
+  }
+}
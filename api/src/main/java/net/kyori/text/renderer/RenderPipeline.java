@@ -0,0 +1,423 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.renderer;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import net.kyori.text.BlockNbtComponent;
+import net.kyori.text.Component;
+import net.kyori.text.ComponentVisitor;
+import net.kyori.text.EntityNbtComponent;
+import net.kyori.text.KeybindComponent;
+import net.kyori.text.ScoreComponent;
+import net.kyori.text.SelectorComponent;
+import net.kyori.text.StorageNbtComponent;
+import net.kyori.text.TextComponent;
+import net.kyori.text.TranslatableComponent;
+import net.kyori.text.event.HoverEvent;
+import net.kyori.text.format.Style;
+import net.kyori.text.translation.TranslationTemplate;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A renderer which applies several transformations in a single traversal.
+ *
+ * <p>Each {@link Stage stage} transforms single components, rather than whole trees. Every component is passed
+ * through each stage in order - each stage seeing the result of the one before it - and then its children, hover
+ * event and translation arguments are rendered in turn. Only the parts of a component leading to a transformed
+ * component are copied.</p>
+ *
+ * <p>Stages declare the types of component they transform, and are only called for those.</p>
+ *
+ * <p>The children, hover event and translation arguments of a component pass through every stage, except those
+ * a stage produced - which only pass through the stages after it. A stage never sees its own output, so a stage
+ * whose output contains its input, such as a placeholder value which contains the placeholder, is applied once.</p>
+ *
+ * @param <C> the context type
+ */
+public final class RenderPipeline<C> implements ComponentRenderer<C> {
+  private static final int TEXT = 1;
+  private static final int TRANSLATABLE = 1 << 1;
+  private static final int KEYBIND = 1 << 2;
+  private static final int SCORE = 1 << 3;
+  private static final int SELECTOR = 1 << 4;
+  private static final int BLOCK_NBT = 1 << 5;
+  private static final int ENTITY_NBT = 1 << 6;
+  private static final int STORAGE_NBT = 1 << 7;
+  private static final int OTHER = 1 << 8;
+  // the component types with their own kind, by bit
+  private static final Class<?>[] KINDS = {
+    TextComponent.class,
+    TranslatableComponent.class,
+    KeybindComponent.class,
+    ScoreComponent.class,
+    SelectorComponent.class,
+    BlockNbtComponent.class,
+    EntityNbtComponent.class,
+    StorageNbtComponent.class
+  };
+  private static final ComponentVisitor<Void, Integer> KIND = new ComponentVisitor<Void, Integer>() {
+    @Override
+    public Integer visitBlockNbt(final @NonNull BlockNbtComponent component, final Void context) {
+      return BLOCK_NBT;
+    }
+
+    @Override
+    public Integer visitEntityNbt(final @NonNull EntityNbtComponent component, final Void context) {
+      return ENTITY_NBT;
+    }
+
+    @Override
+    public Integer visitStorageNbt(final @NonNull StorageNbtComponent component, final Void context) {
+      return STORAGE_NBT;
+    }
+
+    @Override
+    public Integer visitKeybind(final @NonNull KeybindComponent component, final Void context) {
+      return KEYBIND;
+    }
+
+    @Override
+    public Integer visitScore(final @NonNull ScoreComponent component, final Void context) {
+      return SCORE;
+    }
+
+    @Override
+    public Integer visitSelector(final @NonNull SelectorComponent component, final Void context) {
+      return SELECTOR;
+    }
+
+    @Override
+    public Integer visitText(final @NonNull TextComponent component, final Void context) {
+      return TEXT;
+    }
+
+    @Override
+    public Integer visitTranslatable(final @NonNull TranslatableComponent component, final Void context) {
+      return TRANSLATABLE;
+    }
+
+    @Override
+    public Integer visitOther(final @NonNull Component component, final Void context) {
+      return OTHER;
+    }
+  };
+  private final Stage<C>[] stages;
+  // the kinds of component each stage transforms
+  private final int[] masks;
+  // the type each stage transforms, when its mask also matches other types
+  private final @Nullable Class<?>[] filters;
+  // the kinds of component any stage transforms
+  private final int mask;
+
+  private RenderPipeline(final @NonNull Stage<C>[] stages) {
+    this.stages = stages;
+    this.masks = new int[stages.length];
+    this.filters = new Class<?>[stages.length];
+    int mask = 0;
+    for(int i = 0; i < stages.length; i++) {
+      final Class<? extends Component> type = stages[i].type();
+      this.masks[i] = mask(type);
+      if(!exact(type)) this.filters[i] = type;
+      mask |= this.masks[i];
+    }
+    this.mask = mask;
+  }
+
+  /**
+   * Creates a pipeline builder.
+   *
+   * @param <C> the context type
+   * @return a builder
+   */
+  public static <C> @NonNull Builder<C> builder() {
+    return new Builder<>();
+  }
+
+  /**
+   * Creates a stage which transforms components of a type.
+   *
+   * @param type the type of component to transform
+   * @param function the transformation
+   * @param <C> the context type
+   * @param <T> the component type
+   * @return a stage
+   */
+  public static <C, T extends Component> @NonNull Stage<C> stage(final @NonNull Class<T> type, final @NonNull BiFunction<? super T, ? super C, ? extends Component> function) {
+    requireNonNull(type, "type");
+    requireNonNull(function, "function");
+    return new Stage<C>() {
+      @Override
+      public @NonNull Class<? extends Component> type() {
+        return type;
+      }
+
+      @Override
+      public @NonNull Component transform(final @NonNull Component component, final @NonNull C context) {
+        return function.apply(type.cast(component), context);
+      }
+    };
+  }
+
+  /**
+   * Creates a stage which translates translatable components.
+   *
+   * <p>A translated component becomes a text component with the same style, whose children are the segments of
+   * the translation followed by the children of the translatable component. Components without a translation are
+   * left as they are.</p>
+   *
+   * @param templates the template source
+   * @param <C> the context type
+   * @return a stage
+   */
+  public static <C> @NonNull Stage<C> translations(final @NonNull BiFunction<C, String, /* @Nullable */ TranslationTemplate> templates) {
+    requireNonNull(templates, "templates");
+    return stage(TranslatableComponent.class, (component, context) -> {
+      final /* @Nullable */ TranslationTemplate template = templates.apply(context, component.key());
+      if(template == null) {
+        return component;
+      }
+      final TextComponent.Builder builder = TextComponent.builder().style(component.style());
+      // arguments are rendered later, along with the rest of the children
+      template.render(builder, component.args(), arg -> arg);
+      return builder.append(component.children()).build();
+    });
+  }
+
+  private static int mask(final @NonNull Class<? extends Component> type) {
+    int mask = 0;
+    boolean kind = false;
+    for(int i = 0; i < KINDS.length; i++) {
+      if(KINDS[i].isAssignableFrom(type)) {
+        // the kind itself, or a sub-interface of it such as a custom kind of text component
+        mask |= 1 << i;
+        kind = true;
+      } else if(type.isAssignableFrom(KINDS[i])) {
+        mask |= 1 << i;
+      }
+    }
+    // implementations of any other type may be other components
+    if(!kind) mask |= OTHER;
+    return mask;
+  }
+
+  private static boolean isKind(final @NonNull Class<?> type) {
+    for(int i = 0; i < KINDS.length; i++) {
+      if(KINDS[i] == type) return true;
+    }
+    return false;
+  }
+
+  // if every component of the kinds in the mask of a type is an instance of the type
+  private static boolean exact(final @NonNull Class<? extends Component> type) {
+    return type == Component.class || isKind(type);
+  }
+
+  @Override
+  public @NonNull Component render(final @NonNull Component component, final @NonNull C context) {
+    return this.render(component, context, 0);
+  }
+
+  // renders a component, starting from a stage
+  private @NonNull Component render(final @NonNull Component component, final @NonNull C context, final int from) {
+    Component result = component;
+    // the stage to start from for each part a stage produced, rather than passed on
+    /* @Nullable */ Map<Component, Integer> produced = null;
+    int kind = result.accept(KIND, null);
+    if((this.mask & kind) != 0) {
+      for(int i = from; i < this.stages.length; i++) {
+        if((this.masks[i] & kind) != 0 && (this.filters[i] == null || this.filters[i].isInstance(result))) {
+          final Component transformed = this.stages[i].transform(result, context);
+          if(transformed != result) {
+            produced = produced(result, transformed, i + 1, produced);
+            result = transformed;
+            kind = result.accept(KIND, null);
+          }
+        }
+      }
+    }
+
+    final List<Component> children = result.children();
+    final /* @Nullable */ List<Component> renderedChildren = this.renderAll(children, context, from, produced);
+    final Style style = result.style();
+    final Style renderedStyle = this.renderStyle(style, context, from, produced);
+    if(result instanceof TranslatableComponent) {
+      final /* @Nullable */ List<Component> renderedArgs = this.renderAll(((TranslatableComponent) result).args(), context, from, produced);
+      if(renderedArgs != null) {
+        result = ((TranslatableComponent) result).args(renderedArgs);
+      }
+    }
+    if(renderedStyle != style) {
+      result = result.style(renderedStyle);
+    }
+    if(renderedChildren != null) {
+      result = result.children(renderedChildren);
+    }
+    return result;
+  }
+
+  /*
+   * Parts of a transformed component which were not parts of the component before were produced by the stage,
+   * and only pass through the stages after it - so that no stage sees its own output, such as a placeholder value
+   * which contains the placeholder.
+   */
+  private static @NonNull Map<Component, Integer> produced(final @NonNull Component before, final @NonNull Component after, final int next, final @Nullable Map<Component, Integer> produced) {
+    final Map<Component, Boolean> parts = new IdentityHashMap<>();
+    forEachPart(before, part -> parts.put(part, Boolean.TRUE));
+    final Map<Component, Integer> result = produced != null ? produced : new IdentityHashMap<>();
+    forEachPart(after, part -> {
+      if(!parts.containsKey(part)) result.put(part, next);
+    });
+    return result;
+  }
+
+  private static void forEachPart(final @NonNull Component component, final @NonNull Consumer<Component> consumer) {
+    component.children().forEach(consumer);
+    if(component instanceof TranslatableComponent) {
+      ((TranslatableComponent) component).args().forEach(consumer);
+    }
+    final /* @Nullable */ HoverEvent hoverEvent = component.hoverEvent();
+    if(hoverEvent != null) {
+      consumer.accept(hoverEvent.value());
+    }
+  }
+
+  private static int from(final @NonNull Component part, final int from, final @Nullable Map<Component, Integer> produced) {
+    if(produced == null) return from;
+    final /* @Nullable */ Integer next = produced.get(part);
+    return next != null ? next : from;
+  }
+
+  // returns null if every component rendered to itself
+  private @Nullable List<Component> renderAll(final @NonNull List<Component> components, final @NonNull C context, final int from, final @Nullable Map<Component, Integer> produced) {
+    /* @Nullable */ List<Component> rendered = null;
+    for(int i = 0, size = components.size(); i < size; i++) {
+      final Component component = components.get(i);
+      final Component renderedComponent = this.render(component, context, from(component, from, produced));
+      if(rendered == null && renderedComponent != component) {
+        rendered = new ArrayList<>(size);
+        rendered.addAll(components.subList(0, i));
+      }
+      if(rendered != null) {
+        rendered.add(renderedComponent);
+      }
+    }
+    return rendered;
+  }
+
+  private @NonNull Style renderStyle(final @NonNull Style style, final @NonNull C context, final int from, final @Nullable Map<Component, Integer> produced) {
+    final /* @Nullable */ HoverEvent hoverEvent = style.hoverEvent();
+    if(hoverEvent == null) {
+      return style;
+    }
+    final Component value = hoverEvent.value();
+    final Component renderedValue = this.render(value, context, from(value, from, produced));
+    if(renderedValue == value) {
+      return style;
+    }
+    return style.hoverEvent(HoverEvent.of(hoverEvent.action(), renderedValue));
+  }
+
+  /**
+   * A transformation of single components.
+   *
+   * @param <C> the context type
+   */
+  public interface Stage<C> {
+    /**
+     * Gets the type of component this stage transforms.
+     *
+     * <p>{@code Component.class} transforms every component.</p>
+     *
+     * @return the component type
+     */
+    @NonNull Class<? extends Component> type();
+
+    /**
+     * Transforms a component.
+     *
+     * <p>Only the component itself should be transformed - its children, hover event and translation arguments
+     * are passed through the pipeline afterwards. Those which were parts of {@code component} pass through every
+     * stage, and any others - those this stage produced - only through the stages after this one. The component
+     * should be returned as it is if there is nothing to change, so that it can be shared.</p>
+     *
+     * @param component the component, which is an instance of {@link #type()}
+     * @param context the context
+     * @return the transformed component
+     */
+    @NonNull Component transform(final @NonNull Component component, final @NonNull C context);
+  }
+
+  /**
+   * A pipeline builder.
+   *
+   * @param <C> the context type
+   */
+  public static final class Builder<C> {
+    private final List<Stage<C>> stages = new ArrayList<>();
+
+    Builder() {
+    }
+
+    /**
+     * Adds a stage.
+     *
+     * @param stage the stage
+     * @return this builder
+     */
+    public @NonNull Builder<C> stage(final @NonNull Stage<C> stage) {
+      this.stages.add(requireNonNull(stage, "stage"));
+      return this;
+    }
+
+    /**
+     * Adds a stage which transforms components of a type.
+     *
+     * @param type the type of component to transform
+     * @param function the transformation
+     * @param <T> the component type
+     * @return this builder
+     */
+    public <T extends Component> @NonNull Builder<C> stage(final @NonNull Class<T> type, final @NonNull BiFunction<? super T, ? super C, ? extends Component> function) {
+      return this.stage(RenderPipeline.stage(type, function));
+    }
+
+    /**
+     * Builds the pipeline.
+     *
+     * @return the pipeline
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public @NonNull RenderPipeline<C> build() {
+      return new RenderPipeline<>(this.stages.toArray(new Stage[0]));
+    }
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.renderer;
+
+import net.kyori.text.Component;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A listener which is told about the work of a {@link TranslatableComponentRenderer}.
+ *
+ * <p>Listeners are called on the rendering thread - which may be many threads at once - so they should be
+ * thread-safe, and quick. Every method does nothing by default.</p>
+ *
+ * @param <C> the context type
+ * @see TranslatableComponentRenderer#listening(RendererListener)
+ */
+public interface RendererListener<C> {
+  /**
+   * Called when a translation has been rendered.
+   *
+   * @param context the context
+   * @param key the translation key
+   * @param nanos the time taken to render the translation, including its arguments and children, in nanoseconds
+   */
+  default void translated(final @NonNull C context, final @NonNull String key, final long nanos) {
+  }
+
+  /**
+   * Called when there is no translation for a key, so the component is not translated.
+   *
+   * @param context the context
+   * @param key the translation key
+   */
+  default void missing(final @NonNull C context, final @NonNull String key) {
+  }
+
+  /**
+   * Called when a component has been rendered.
+   *
+   * @param context the context
+   * @param component the component, before rendering
+   * @param nanos the time taken to render the component, in nanoseconds
+   */
+  default void rendered(final @NonNull C context, final @NonNull Component component, final long nanos) {
+  }
+}
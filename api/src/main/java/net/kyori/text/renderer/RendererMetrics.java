@@ -0,0 +1,418 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.renderer;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import net.kyori.text.Component;
+import net.kyori.text.util.ShadyPines;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A listener which keeps metrics about rendering.
+ *
+ * <p>Metrics are kept for each translation key, along with the keys missing in each context and histograms of
+ * render times. Counters are striped, so recording is cheap even when many threads render at once.</p>
+ *
+ * <p>Contexts are held weakly, so a context, such as a viewer, is forgotten along with its missing keys once
+ * it is no longer used elsewhere.</p>
+ *
+ * @param <C> the context type
+ * @see TranslatableComponentRenderer#listening(RendererListener)
+ */
+public final class RendererMetrics<C> implements RendererListener<C> {
+  private final ConcurrentMap<String, Counters> translations = new ConcurrentHashMap<>();
+  private final Map<ContextKey<C>, Set<String>> missing = new HashMap<>(); // guarded by itself - missing translations are rare
+  private final ReferenceQueue<C> collected = new ReferenceQueue<>();
+  private final @Nullable BiConsumer<? super C, ? super String> onMissing;
+  private final Histogram translationTimes = new Histogram();
+  private final Histogram renderTimes = new Histogram();
+
+  private RendererMetrics(final @Nullable BiConsumer<? super C, ? super String> onMissing) {
+    this.onMissing = onMissing;
+  }
+
+  /**
+   * Creates renderer metrics.
+   *
+   * @param <C> the context type
+   * @return renderer metrics
+   */
+  public static <C> @NonNull RendererMetrics<C> create() {
+    return new RendererMetrics<>(null);
+  }
+
+  /**
+   * Creates renderer metrics which report missing translations.
+   *
+   * <p>{@code onMissing} is called the first time a key is missing in a context, such as to log it.</p>
+   *
+   * @param onMissing the consumer of missing translations
+   * @param <C> the context type
+   * @return renderer metrics
+   */
+  public static <C> @NonNull RendererMetrics<C> create(final @NonNull BiConsumer<? super C, ? super String> onMissing) {
+    return new RendererMetrics<>(requireNonNull(onMissing, "onMissing"));
+  }
+
+  @Override
+  public void translated(final @NonNull C context, final @NonNull String key, final long nanos) {
+    final Counters counters = this.counters(key);
+    counters.translated.increment();
+    counters.nanos.add(nanos);
+    this.translationTimes.record(nanos);
+  }
+
+  @Override
+  public void missing(final @NonNull C context, final @NonNull String key) {
+    this.counters(key).missing.increment();
+    final boolean added;
+    synchronized(this.missing) {
+      this.expunge();
+      /* @Nullable */ Set<String> keys = this.missing.get(new ContextKey<>(context, null));
+      if(keys == null) {
+        keys = new HashSet<>();
+        this.missing.put(new ContextKey<>(context, this.collected), keys);
+      }
+      added = keys.add(key);
+    }
+    if(added && this.onMissing != null) {
+      this.onMissing.accept(context, key);
+    }
+  }
+
+  @Override
+  public void rendered(final @NonNull C context, final @NonNull Component component, final long nanos) {
+    this.renderTimes.record(nanos);
+  }
+
+  private @NonNull Counters counters(final @NonNull String key) {
+    // most keys have been seen before, and a plain get does not lock
+    final /* @Nullable */ Counters counters = this.translations.get(key);
+    if(counters != null) {
+      return counters;
+    }
+    return this.translations.computeIfAbsent(key, k -> new Counters());
+  }
+
+  /**
+   * Gets the translation keys which have been rendered, or found to be missing.
+   *
+   * @return the translation keys
+   */
+  public @NonNull Set<String> keys() {
+    return Collections.unmodifiableSet(this.translations.keySet());
+  }
+
+  /**
+   * Gets the metrics for a translation key.
+   *
+   * @param key the translation key
+   * @return the metrics
+   */
+  public @NonNull Translation translation(final @NonNull String key) {
+    final /* @Nullable */ Counters counters = this.translations.get(requireNonNull(key, "key"));
+    if(counters == null) {
+      return new Translation(0, 0, 0);
+    }
+    return new Translation(counters.translated.sum(), counters.missing.sum(), counters.nanos.sum());
+  }
+
+  /**
+   * Gets a snapshot of the keys which have been missing in each context.
+   *
+   * @return the missing keys
+   */
+  public @NonNull Map<C, Set<String>> missingKeys() {
+    synchronized(this.missing) {
+      this.expunge();
+      final Map<C, Set<String>> snapshot = new HashMap<>(this.missing.size());
+      for(final Map.Entry<ContextKey<C>, Set<String>> entry : this.missing.entrySet()) {
+        final /* @Nullable */ C context = entry.getKey().get();
+        if(context != null) {
+          snapshot.put(context, Collections.unmodifiableSet(new HashSet<>(entry.getValue())));
+        }
+      }
+      return Collections.unmodifiableMap(snapshot);
+    }
+  }
+
+  // removes the missing keys of contexts which have been collected - call while holding the lock on missing
+  private void expunge() {
+    Reference<? extends C> reference;
+    while((reference = this.collected.poll()) != null) {
+      this.missing.remove(reference);
+    }
+  }
+
+  // treats a context as collected, as the garbage collector would
+  void collect(final @NonNull C context) {
+    synchronized(this.missing) {
+      for(final ContextKey<C> key : this.missing.keySet()) {
+        if(context.equals(key.get())) {
+          key.clear();
+          key.enqueue();
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the histogram of the times taken to render translations, including their arguments and children.
+   *
+   * @return the histogram
+   */
+  public @NonNull Histogram translationTimes() {
+    return this.translationTimes;
+  }
+
+  /**
+   * Gets the histogram of the times taken to render components.
+   *
+   * @return the histogram
+   */
+  public @NonNull Histogram renderTimes() {
+    return this.renderTimes;
+  }
+
+  /**
+   * Resets all metrics.
+   *
+   * <p>Missing translations will be reported again.</p>
+   */
+  public void reset() {
+    this.translations.clear();
+    synchronized(this.missing) {
+      this.missing.clear();
+    }
+    this.translationTimes.reset();
+    this.renderTimes.reset();
+  }
+
+  @Override
+  public String toString() {
+    return ShadyPines.toString(this, map -> {
+      map.put("keys", this.translations.size());
+      map.put("translationTimes", this.translationTimes);
+      map.put("renderTimes", this.renderTimes);
+    });
+  }
+
+  private static final class Counters {
+    final LongAdder translated = new LongAdder();
+    final LongAdder missing = new LongAdder();
+    final LongAdder nanos = new LongAdder();
+  }
+
+  /*
+   * A weakly held context, equal to any other key for an equal context.
+   */
+  private static final class ContextKey<C> extends WeakReference<C> {
+    private final int hash;
+
+    ContextKey(final @NonNull C context, final @Nullable ReferenceQueue<C> queue) {
+      super(context, queue);
+      this.hash = context.hashCode();
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object other) {
+      if(this == other) return true;
+      if(!(other instanceof ContextKey<?>)) return false;
+      final /* @Nullable */ Object context = this.get();
+      return context != null && context.equals(((ContextKey<?>) other).get());
+    }
+
+    @Override
+    public int hashCode() {
+      return this.hash;
+    }
+  }
+
+  /**
+   * The metrics for a translation key.
+   */
+  public static final class Translation {
+    private final long translated;
+    private final long missing;
+    private final long nanos;
+
+    Translation(final long translated, final long missing, final long nanos) {
+      this.translated = translated;
+      this.missing = missing;
+      this.nanos = nanos;
+    }
+
+    /**
+     * Gets the number of times the key has been translated.
+     *
+     * @return the number of translations
+     */
+    public long translated() {
+      return this.translated;
+    }
+
+    /**
+     * Gets the number of times the key has been missing.
+     *
+     * @return the number of misses
+     */
+    public long missing() {
+      return this.missing;
+    }
+
+    /**
+     * Gets the total time taken to render translations of the key.
+     *
+     * @return the total time, in nanoseconds
+     */
+    public long totalNanos() {
+      return this.nanos;
+    }
+
+    @Override
+    public String toString() {
+      return ShadyPines.toString(this, map -> {
+        map.put("translated", this.translated);
+        map.put("missing", this.missing);
+        map.put("totalNanos", this.nanos);
+      });
+    }
+  }
+
+  /**
+   * A histogram of times.
+   *
+   * <p>Times are counted in buckets of powers of two, so percentiles are accurate to within a factor of two.</p>
+   */
+  public static final class Histogram {
+    private static final int BUCKETS = Long.SIZE;
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    Histogram() {
+      for(int i = 0; i < BUCKETS; i++) {
+        this.buckets[i] = new LongAdder();
+      }
+    }
+
+    void record(final long nanos) {
+      final long value = Math.max(nanos, 0);
+      // bucket b holds values below 2^b
+      this.buckets[Long.SIZE - Long.numberOfLeadingZeros(value)].increment();
+      this.total.add(value);
+      this.max.accumulate(value);
+    }
+
+    void reset() {
+      for(int i = 0; i < BUCKETS; i++) {
+        this.buckets[i].reset();
+      }
+      this.total.reset();
+      this.max.reset();
+    }
+
+    /**
+     * Gets the number of times recorded.
+     *
+     * @return the count
+     */
+    public long count() {
+      long count = 0;
+      for(int i = 0; i < BUCKETS; i++) {
+        count += this.buckets[i].sum();
+      }
+      return count;
+    }
+
+    /**
+     * Gets the mean time.
+     *
+     * @return the mean time, in nanoseconds, or {@code 0} if no times have been recorded
+     */
+    public double meanNanos() {
+      final long count = this.count();
+      return count == 0 ? 0 : (double) this.total.sum() / count;
+    }
+
+    /**
+     * Gets the longest time.
+     *
+     * @return the longest time, in nanoseconds
+     */
+    public long maxNanos() {
+      return this.max.get();
+    }
+
+    /**
+     * Gets an upper bound of a percentile of the times.
+     *
+     * @param percentile the percentile, from {@code 0} to {@code 1}
+     * @return the upper bound, in nanoseconds, or {@code 0} if no times have been recorded
+     * @throws IllegalArgumentException if {@code percentile} is not between {@code 0} and {@code 1}
+     */
+    public long percentileNanos(final double percentile) {
+      if(!(percentile >= 0 && percentile <= 1)) throw new IllegalArgumentException(String.format("percentile %f is not between 0 and 1", percentile));
+      final long[] counts = new long[BUCKETS];
+      long count = 0;
+      for(int i = 0; i < BUCKETS; i++) {
+        counts[i] = this.buckets[i].sum();
+        count += counts[i];
+      }
+      final long rank = Math.max(1, (long) Math.ceil(percentile * count));
+      long seen = 0;
+      for(int i = 0; i < BUCKETS; i++) {
+        seen += counts[i];
+        if(seen >= rank) {
+          return Math.min((1L << i) - 1, this.maxNanos());
+        }
+      }
+      return 0;
+    }
+
+    @Override
+    public String toString() {
+      return ShadyPines.toString(this, map -> {
+        map.put("count", this.count());
+        map.put("meanNanos", this.meanNanos());
+        map.put("maxNanos", this.maxNanos());
+      });
+    }
+  }
+}
@@ -0,0 +1,353 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.renderer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import net.kyori.text.BlockNbtComponent;
+import net.kyori.text.Component;
+import net.kyori.text.ComponentVisitor;
+import net.kyori.text.EntityNbtComponent;
+import net.kyori.text.KeybindComponent;
+import net.kyori.text.ScoreComponent;
+import net.kyori.text.SelectorComponent;
+import net.kyori.text.StorageNbtComponent;
+import net.kyori.text.TextComponent;
+import net.kyori.text.TranslatableComponent;
+import net.kyori.text.event.HoverEvent;
+import net.kyori.text.format.Style;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A renderer which resolves score, selector and NBT components on the server.
+ *
+ * <p>Rendering first collects every distinct score, selector and NBT component in a component - including within
+ * hover events and translation arguments - and then calls each resolver once with all of them. The results are then
+ * substituted in a single rebuild, which only copies the parts of the component leading to a substitution.</p>
+ *
+ * <p>A resolved component keeps the style of the component it replaces, which takes precedence over the style of
+ * the result, and its children follow the children of the result.</p>
+ *
+ * @param <C> the context type
+ */
+public final class ResolvingComponentRenderer<C> implements ComponentRenderer<C> {
+  private final @Nullable Resolver<C, ScoreComponent> scores;
+  private final @Nullable Resolver<C, SelectorComponent> selectors;
+  private final @Nullable Resolver<C, BlockNbtComponent> blockNbt;
+  private final @Nullable Resolver<C, EntityNbtComponent> entityNbt;
+  private final @Nullable Resolver<C, StorageNbtComponent> storageNbt;
+  // finds the resolver for a component, if it can be resolved
+  private final ComponentVisitor<Void, Resolver<C, ?>> resolvers = new ComponentVisitor<Void, Resolver<C, ?>>() {
+    @Override
+    public Resolver<C, ?> visitBlockNbt(final @NonNull BlockNbtComponent component, final Void context) {
+      return ResolvingComponentRenderer.this.blockNbt;
+    }
+
+    @Override
+    public Resolver<C, ?> visitEntityNbt(final @NonNull EntityNbtComponent component, final Void context) {
+      return ResolvingComponentRenderer.this.entityNbt;
+    }
+
+    @Override
+    public Resolver<C, ?> visitStorageNbt(final @NonNull StorageNbtComponent component, final Void context) {
+      return ResolvingComponentRenderer.this.storageNbt;
+    }
+
+    @Override
+    public Resolver<C, ?> visitKeybind(final @NonNull KeybindComponent component, final Void context) {
+      return null;
+    }
+
+    @Override
+    public Resolver<C, ?> visitScore(final @NonNull ScoreComponent component, final Void context) {
+      // a score with a value has already been resolved
+      return component.value() == null ? ResolvingComponentRenderer.this.scores : null;
+    }
+
+    @Override
+    public Resolver<C, ?> visitSelector(final @NonNull SelectorComponent component, final Void context) {
+      return ResolvingComponentRenderer.this.selectors;
+    }
+
+    @Override
+    public Resolver<C, ?> visitText(final @NonNull TextComponent component, final Void context) {
+      return null;
+    }
+
+    @Override
+    public Resolver<C, ?> visitTranslatable(final @NonNull TranslatableComponent component, final Void context) {
+      return null;
+    }
+
+    @Override
+    public Resolver<C, ?> visitOther(final @NonNull Component component, final Void context) {
+      return null;
+    }
+  };
+
+  private ResolvingComponentRenderer(final @NonNull Builder<C> builder) {
+    this.scores = builder.scores;
+    this.selectors = builder.selectors;
+    this.blockNbt = builder.blockNbt;
+    this.entityNbt = builder.entityNbt;
+    this.storageNbt = builder.storageNbt;
+  }
+
+  /**
+   * Creates a resolving renderer builder.
+   *
+   * @param <C> the context type
+   * @return a builder
+   */
+  public static <C> @NonNull Builder<C> builder() {
+    return new Builder<>();
+  }
+
+  @Override
+  public @NonNull Component render(final @NonNull Component component, final @NonNull C context) {
+    final Map<Resolver<C, ?>, Set<Component>> batches = new IdentityHashMap<>();
+    this.collect(component, batches);
+    if(batches.isEmpty()) {
+      return component;
+    }
+
+    final Map<Component, Component> resolved = new HashMap<>();
+    for(final Map.Entry<Resolver<C, ?>, Set<Component>> batch : batches.entrySet()) {
+      resolved.putAll(resolve(batch.getKey(), batch.getValue(), context));
+    }
+    if(resolved.isEmpty()) {
+      return component;
+    }
+    return this.substitute(component, resolved);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <C, T extends Component> @NonNull Map<T, Component> resolve(final @NonNull Resolver<C, T> resolver, final @NonNull Set<Component> components, final @NonNull C context) {
+    return requireNonNull(resolver.resolve(Collections.unmodifiableSet((Set<T>) components), context), "resolved components");
+  }
+
+  private void collect(final @NonNull Component component, final @NonNull Map<Resolver<C, ?>, Set<Component>> batches) {
+    final /* @Nullable */ Resolver<C, ?> resolver = component.accept(this.resolvers, null);
+    if(resolver != null) {
+      batches.computeIfAbsent(resolver, r -> new LinkedHashSet<>()).add(bare(component));
+    }
+    if(component instanceof TranslatableComponent) {
+      for(final Component arg : ((TranslatableComponent) component).args()) {
+        this.collect(arg, batches);
+      }
+    }
+    for(final Component child : component.children()) {
+      this.collect(child, batches);
+    }
+    final /* @Nullable */ HoverEvent hoverEvent = component.hoverEvent();
+    if(hoverEvent != null) {
+      this.collect(hoverEvent.value(), batches);
+    }
+  }
+
+  private @NonNull Component substitute(final @NonNull Component component, final @NonNull Map<Component, Component> resolved) {
+    final List<Component> children = component.children();
+    final /* @Nullable */ List<Component> substitutedChildren = this.substituteAll(children, resolved);
+    final Style style = component.style();
+    final Style substitutedStyle = this.substitute(style, resolved);
+
+    final /* @Nullable */ Component replacement = component.accept(this.resolvers, null) != null ? resolved.get(bare(component)) : null;
+    if(replacement != null) {
+      final List<Component> replacementChildren = new ArrayList<>(replacement.children());
+      replacementChildren.addAll(substitutedChildren != null ? substitutedChildren : children);
+      return replacement
+        .style(replacement.style().merge(substitutedStyle))
+        .children(replacementChildren);
+    }
+
+    Component result = component;
+    if(result instanceof TranslatableComponent) {
+      final List<Component> args = ((TranslatableComponent) result).args();
+      final /* @Nullable */ List<Component> substitutedArgs = this.substituteAll(args, resolved);
+      if(substitutedArgs != null) {
+        result = ((TranslatableComponent) result).args(substitutedArgs);
+      }
+    }
+    if(substitutedStyle != style) {
+      result = result.style(substitutedStyle);
+    }
+    if(substitutedChildren != null) {
+      result = result.children(substitutedChildren);
+    }
+    return result;
+  }
+
+  // returns null if nothing was substituted
+  private @Nullable List<Component> substituteAll(final @NonNull List<Component> components, final @NonNull Map<Component, Component> resolved) {
+    /* @Nullable */ List<Component> substituted = null;
+    for(int i = 0, size = components.size(); i < size; i++) {
+      final Component component = components.get(i);
+      final Component substitutedComponent = this.substitute(component, resolved);
+      if(substituted == null && substitutedComponent != component) {
+        substituted = new ArrayList<>(size);
+        substituted.addAll(components.subList(0, i));
+      }
+      if(substituted != null) {
+        substituted.add(substitutedComponent);
+      }
+    }
+    return substituted;
+  }
+
+  private @NonNull Style substitute(final @NonNull Style style, final @NonNull Map<Component, Component> resolved) {
+    final /* @Nullable */ HoverEvent hoverEvent = style.hoverEvent();
+    if(hoverEvent == null) {
+      return style;
+    }
+    final Component value = hoverEvent.value();
+    final Component substitutedValue = this.substitute(value, resolved);
+    if(substitutedValue == value) {
+      return style;
+    }
+    return style.hoverEvent(HoverEvent.of(hoverEvent.action(), substitutedValue));
+  }
+
+  // the component without its style and children - what a resolver needs to know
+  private static @NonNull Component bare(final @NonNull Component component) {
+    Component bare = component;
+    if(!bare.children().isEmpty()) {
+      bare = bare.children(Collections.emptyList());
+    }
+    if(bare.hasStyling()) {
+      bare = bare.style(Style.empty());
+    }
+    return bare;
+  }
+
+  /**
+   * Resolves a batch of components.
+   *
+   * @param <C> the context type
+   * @param <T> the component type
+   */
+  @FunctionalInterface
+  public interface Resolver<C, T extends Component> {
+    /**
+     * Resolves components.
+     *
+     * <p>Each component has no style or children. Components missing from the result are left unresolved.</p>
+     *
+     * @param components the distinct components to resolve
+     * @param context the context
+     * @return the resolved components
+     */
+    @NonNull Map<T, Component> resolve(final @NonNull Set<T> components, final @NonNull C context);
+  }
+
+  /**
+   * A resolving renderer builder.
+   *
+   * @param <C> the context type
+   */
+  public static final class Builder<C> {
+    private @Nullable Resolver<C, ScoreComponent> scores;
+    private @Nullable Resolver<C, SelectorComponent> selectors;
+    private @Nullable Resolver<C, BlockNbtComponent> blockNbt;
+    private @Nullable Resolver<C, EntityNbtComponent> entityNbt;
+    private @Nullable Resolver<C, StorageNbtComponent> storageNbt;
+
+    Builder() {
+    }
+
+    /**
+     * Sets the resolver for score components.
+     *
+     * <p>Score components which already have a value are not resolved.</p>
+     *
+     * @param resolver the resolver
+     * @return this builder
+     */
+    public @NonNull Builder<C> scores(final @Nullable Resolver<C, ScoreComponent> resolver) {
+      this.scores = resolver;
+      return this;
+    }
+
+    /**
+     * Sets the resolver for selector components.
+     *
+     * @param resolver the resolver
+     * @return this builder
+     */
+    public @NonNull Builder<C> selectors(final @Nullable Resolver<C, SelectorComponent> resolver) {
+      this.selectors = resolver;
+      return this;
+    }
+
+    /**
+     * Sets the resolver for block NBT components.
+     *
+     * @param resolver the resolver
+     * @return this builder
+     */
+    public @NonNull Builder<C> blockNbt(final @Nullable Resolver<C, BlockNbtComponent> resolver) {
+      this.blockNbt = resolver;
+      return this;
+    }
+
+    /**
+     * Sets the resolver for entity NBT components.
+     *
+     * @param resolver the resolver
+     * @return this builder
+     */
+    public @NonNull Builder<C> entityNbt(final @Nullable Resolver<C, EntityNbtComponent> resolver) {
+      this.entityNbt = resolver;
+      return this;
+    }
+
+    /**
+     * Sets the resolver for storage NBT components.
+     *
+     * @param resolver the resolver
+     * @return this builder
+     */
+    public @NonNull Builder<C> storageNbt(final @Nullable Resolver<C, StorageNbtComponent> resolver) {
+      this.storageNbt = resolver;
+      return this;
+    }
+
+    /**
+     * Builds the renderer.
+     *
+     * @return the renderer
+     */
+    public @NonNull ResolvingComponentRenderer<C> build() {
+      return new ResolvingComponentRenderer<>(this);
+    }
+  }
+}
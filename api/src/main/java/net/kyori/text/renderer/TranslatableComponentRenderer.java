@@ -23,18 +23,19 @@
  */
 package net.kyori.text.renderer;
 
-import java.text.AttributedCharacterIterator;
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import net.kyori.text.BlockNbtComponent;
-import net.kyori.text.BuildableComponent;
 import net.kyori.text.Component;
-import net.kyori.text.ComponentBuilder;
 import net.kyori.text.EntityNbtComponent;
 import net.kyori.text.KeybindComponent;
-import net.kyori.text.NbtComponent;
-import net.kyori.text.NbtComponentBuilder;
 import net.kyori.text.ScoreComponent;
 import net.kyori.text.SelectorComponent;
 import net.kyori.text.StorageNbtComponent;
@@ -42,13 +43,33 @@ import net.kyori.text.TextComponent;
 import net.kyori.text.TranslatableComponent;
 import net.kyori.text.event.HoverEvent;
 import net.kyori.text.format.Style;
+import net.kyori.text.translation.TranslationTemplate;
+import net.kyori.text.util.WeakIdentityCache;
+import org.checkerframework.checker.index.qual.Positive;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import static java.util.Objects.requireNonNull;
+
 /**
- * A {@link MessageFormat}-based translatable component renderer.
+ * A translatable component renderer.
+ *
+ * <p>Translations are rendered from {@link TranslationTemplate templates}, which may be supplied directly by
+ * overriding {@link #template(Object, String)}, or compiled from the {@link MessageFormat}s supplied by
+ * {@link #translation(Object, String)}.</p>
  */
 public abstract class TranslatableComponentRenderer<C> extends AbstractComponentRenderer<C> {
+  /*
+   * Templates compiled from message formats. Translation sources are expected to return the same message format
+   * each time, so this only compiles each of them once - and does not keep them alive.
+   */
+  private static final WeakIdentityCache<MessageFormat, TranslationTemplate> TEMPLATES = new WeakIdentityCache<>();
+  /*
+   * The options of the render in progress on each thread. Parallel and listening renderers set these around a
+   * call to the renderer they were created from, so that every method it overrides is still used.
+   */
+  private static final ThreadLocal<Options> OPTIONS = new ThreadLocal<>();
+
   // TODO(kashike): move away from BiFunction - maybe TranslationFinder<C>?
   public static <C> @NonNull TranslatableComponentRenderer<C> from(final @NonNull BiFunction<C, String, /* @Nullable */ MessageFormat> translations) {
     return new TranslatableComponentRenderer<C>() {
@@ -59,120 +80,379 @@ public abstract class TranslatableComponentRenderer<C> extends AbstractComponent
     };
   }
 
+  /**
+   * Creates a translatable component renderer from a source of templates.
+   *
+   * @param templates the template source
+   * @param <C> the context type
+   * @return a translatable component renderer
+   */
+  public static <C> @NonNull TranslatableComponentRenderer<C> fromTemplates(final @NonNull BiFunction<C, String, /* @Nullable */ TranslationTemplate> templates) {
+    return new TranslatableComponentRenderer<C>() {
+      @Override
+      protected @Nullable TranslationTemplate template(final @NonNull C context, final @NonNull String key) {
+        return templates.apply(context, key);
+      }
+    };
+  }
+
+  /**
+   * Creates a renderer which renders large components in parallel through this renderer.
+   *
+   * <p>Children lists longer than {@code threshold} are split into tasks which render on {@code pool}, along with
+   * the hover value of their parent, and are stitched back together in order. Smaller components render entirely
+   * on the calling thread, just as they do with this renderer. Components are still rendered by this renderer,
+   * so any methods it overrides are used.</p>
+   *
+   * @param pool the pool to render on
+   * @param threshold the number of children a component must have before they are rendered in parallel
+   * @return a parallel renderer
+   */
+  public @NonNull TranslatableComponentRenderer<C> parallel(final @NonNull ForkJoinPool pool, final @Positive int threshold) {
+    if(threshold < 1) throw new IllegalArgumentException(String.format("threshold %d is not positive", threshold));
+    return new Parallel<>(this, requireNonNull(pool, "pool"), threshold);
+  }
+
+  /**
+   * Creates a renderer which reports to a listener while rendering through this renderer.
+   *
+   * <p>The listener is told about each translation as it is rendered, and about each call to
+   * {@link #render(Component, Object)}. Components are still rendered by this renderer, so any methods it
+   * overrides are used - but this renderer is left as it is, so it continues to render without reporting when
+   * called directly.</p>
+   *
+   * @param listener the listener
+   * @return a listening renderer
+   * @see RendererMetrics
+   */
+  public @NonNull TranslatableComponentRenderer<C> listening(final @NonNull RendererListener<? super C> listener) {
+    return new Listening<>(this, requireNonNull(listener, "listener"));
+  }
+
+  // the options of the render in progress on this thread
+  private static @NonNull Options options() {
+    final /* @Nullable */ Options options = OPTIONS.get();
+    return options != null ? options : Options.DEFAULT;
+  }
+
+  // runs a render with options, restoring the previous options afterwards
+  private static <T> T withOptions(final @NonNull Options options, final @NonNull Supplier<T> render) {
+    final /* @Nullable */ Options previous = OPTIONS.get();
+    OPTIONS.set(options);
+    try {
+      return render.get();
+    } finally {
+      if(previous != null) {
+        OPTIONS.set(previous);
+      } else {
+        OPTIONS.remove();
+      }
+    }
+  }
+
+  // the listener told about each translation, if any
+  @SuppressWarnings("unchecked")
+  private @Nullable RendererListener<? super C> listener() {
+    return (RendererListener<? super C>) options().listener;
+  }
+
   @Override
   protected @NonNull Component renderBlockNbt(final @NonNull BlockNbtComponent component, final @NonNull C context) {
-    final BlockNbtComponent.Builder builder = nbt(BlockNbtComponent.builder(), component)
-      .pos(component.pos());
-    return this.deepRender(component, builder, context);
+    return this.deepRender(component, context);
   }
 
   @Override
   protected @NonNull Component renderEntityNbt(final @NonNull EntityNbtComponent component, final @NonNull C context) {
-    final EntityNbtComponent.Builder builder = nbt(EntityNbtComponent.builder(), component)
-      .selector(component.selector());
-    return this.deepRender(component, builder, context);
+    return this.deepRender(component, context);
   }
 
   @Override
   protected @NonNull Component renderStorageNbt(final @NonNull StorageNbtComponent component, final @NonNull C context) {
-    final StorageNbtComponent.Builder builder = nbt(StorageNbtComponent.builder(), component)
-      .storage(component.storage());
-    return this.deepRender(component, builder, context);
-  }
-
-  private static <C extends NbtComponent<C, B>, B extends NbtComponentBuilder<C, B>> B nbt(final B builder, final C oldComponent) {
-    return builder
-      .nbtPath(oldComponent.nbtPath())
-      .interpret(oldComponent.interpret());
+    return this.deepRender(component, context);
   }
 
   @Override
   protected @NonNull Component renderKeybind(final @NonNull KeybindComponent component, final @NonNull C context) {
-    final KeybindComponent.Builder builder = KeybindComponent.builder(component.keybind());
-    return this.deepRender(component, builder, context);
+    return this.deepRender(component, context);
   }
 
   @Override
   protected @NonNull Component renderScore(final @NonNull ScoreComponent component, final @NonNull C context) {
-    final ScoreComponent.Builder builder = ScoreComponent.builder()
-      .name(component.name())
-      .objective(component.objective())
-      .value(component.value());
-    return this.deepRender(component, builder, context);
+    return this.deepRender(component, context);
   }
 
   @Override
   protected @NonNull Component renderSelector(final @NonNull SelectorComponent component, final @NonNull C context) {
-    final SelectorComponent.Builder builder = SelectorComponent.builder(component.pattern());
-    return this.deepRender(component, builder, context);
+    return this.deepRender(component, context);
   }
 
   @Override
   protected @NonNull Component renderText(final @NonNull TextComponent component, final @NonNull C context) {
-    final TextComponent.Builder builder = TextComponent.builder(component.content());
-    return this.deepRender(component, builder, context);
+    return this.deepRender(component, context);
   }
 
   @Override
   protected @NonNull Component renderTranslatable(final @NonNull TranslatableComponent component, final @NonNull C context) {
-    final /* @Nullable */ MessageFormat format = this.translation(context, component.key());
-    if(format == null) {
-      return component;
+    final /* @Nullable */ RendererListener<? super C> listener = this.listener();
+    final long start = listener != null ? System.nanoTime() : 0;
+    final /* @Nullable */ TranslationTemplate template = this.template(context, component.key());
+    if(template == null) {
+      if(listener != null) listener.missing(context, component.key());
+      return this.deepRender(component, context);
     }
 
     final List<Component> args = component.args();
 
     final TextComponent.Builder builder = TextComponent.builder();
-    this.mergeStyle(component, builder, context);
+    builder.style(this.renderStyle(component.style(), context));
 
     // no arguments makes this render very simple
     if(args.isEmpty()) {
-      return builder.content(format.format(null, new StringBuffer(), null).toString()).build();
+      builder.content(template.asString());
+    } else {
+      template.render(builder, args, arg -> this.render(arg, context));
     }
 
-    final Object[] nulls = new Object[args.size()];
-    final StringBuffer sb = format.format(nulls, new StringBuffer(), null);
-    final AttributedCharacterIterator it = format.formatToCharacterIterator(nulls);
+    final List<Component> children = component.children();
+    final /* @Nullable */ List<Component> renderedChildren = this.renderChildren(children, context);
+    builder.append(renderedChildren != null ? renderedChildren : children);
+    final TextComponent rendered = builder.build();
+    if(listener != null) listener.translated(context, component.key(), System.nanoTime() - start);
+    return rendered;
+  }
 
-    while(it.getIndex() < it.getEndIndex()) {
-      final int end = it.getRunLimit();
-      final Integer index = (Integer) it.getAttribute(MessageFormat.Field.ARGUMENT);
-      if(index != null) {
-        builder.append(this.render(args.get(index), context));
-      } else {
-        builder.append(TextComponent.of(sb.substring(it.getIndex(), end)));
+  /*
+   * Renders the children and hover event of a component. Most components contain nothing to translate, so
+   * the original instance is returned unless something inside it was actually rendered differently - only
+   * the path leading to a translated component is copied.
+   */
+  private @NonNull Component deepRender(final @NonNull Component component, final @NonNull C context) {
+    final List<Component> children = component.children();
+    final Style style = component.style();
+    final Style renderedStyle;
+    final /* @Nullable */ List<Component> renderedChildren;
+    final Options options = options();
+    if(children.size() > options.threshold && style.hoverEvent() != null) {
+      final ForkJoinPool pool = options.pool;
+      if(ForkJoinTask.getPool() != pool) {
+        return pool.invoke(ForkJoinTask.adapt(() -> withOptions(options, () -> this.deepRender(component, context))));
       }
-      it.setIndex(end);
+      // worth rendering the hover value alongside the children
+      final ForkJoinTask<Style> styleTask = ForkJoinTask.adapt(() -> withOptions(options, () -> this.renderStyle(style, context))).fork();
+      renderedChildren = this.renderChildren(children, context);
+      renderedStyle = styleTask.join();
+    } else {
+      renderedChildren = this.renderChildren(children, context);
+      renderedStyle = this.renderStyle(style, context);
     }
 
-    return this.deepRender(component, builder, context);
+    Component result = component;
+    if(renderedStyle != style) {
+      result = result.style(renderedStyle);
+    }
+    if(renderedChildren != null) {
+      result = result.children(renderedChildren);
+    }
+    return result;
   }
 
-  // TODO(kashike): expose?
-  private <O extends BuildableComponent<O, B>, B extends ComponentBuilder<O, B>> O deepRender(final Component component, final B builder, final C context) {
-    this.mergeStyle(component, builder, context);
-    component.children().forEach(child -> builder.append(this.render(child, context)));
-    return builder.build();
+  /*
+   * Renders a list of children, returning null if every child rendered to itself. Lists over the parallel
+   * threshold are split into tasks on the parallel pool.
+   */
+  private @Nullable List<Component> renderChildren(final @NonNull List<Component> children, final @NonNull C context) {
+    final int size = children.size();
+    final Options options = options();
+    if(size > options.threshold) {
+      final ForkJoinPool pool = options.pool;
+      final Component[] rendered = new Component[size];
+      final RenderChildren<C> task = new RenderChildren<>(this, options, children, context, rendered, 0, size);
+      if(ForkJoinTask.getPool() == pool ? task.invoke() : pool.invoke(task)) {
+        return Arrays.asList(rendered);
+      }
+      return null;
+    }
+    /* @Nullable */ List<Component> rendered = null;
+    for(int i = 0; i < size; i++) {
+      final Component child = children.get(i);
+      final Component renderedChild = this.render(child, context);
+      if(rendered == null && renderedChild != child) {
+        rendered = new ArrayList<>(size);
+        rendered.addAll(children.subList(0, i));
+      }
+      if(rendered != null) {
+        rendered.add(renderedChild);
+      }
+    }
+    return rendered;
   }
 
-  private <B extends ComponentBuilder<?, ?>> void mergeStyle(final Component component, final B builder, final C context) {
-    builder.mergeStyle(component, Style.Merge.colorAndDecorations());
-    builder.clickEvent(component.clickEvent());
-    final /* @Nullable */ HoverEvent hoverEvent = component.hoverEvent();
-    if(hoverEvent != null) {
-      builder.hoverEvent(HoverEvent.of(
-        hoverEvent.action(),
-        this.render(hoverEvent.value(), context)
-      ));
+  private @NonNull Style renderStyle(final @NonNull Style style, final @NonNull C context) {
+    final /* @Nullable */ HoverEvent hoverEvent = style.hoverEvent();
+    if(hoverEvent == null) {
+      return style;
+    }
+    final Component value = hoverEvent.value();
+    final Component renderedValue = this.render(value, context);
+    if(renderedValue == value) {
+      return style;
+    }
+    return style.hoverEvent(HoverEvent.of(hoverEvent.action(), renderedValue));
+  }
+
+  /*
+   * Renders a range of children into an array, returning true if any child rendered differently.
+   */
+  private static final class RenderChildren<C> extends RecursiveTask<Boolean> {
+    private static final long serialVersionUID = 1L;
+    private final TranslatableComponentRenderer<C> renderer;
+    private final Options options;
+    private final List<Component> children;
+    private final C context;
+    private final Component[] rendered;
+    private final int from;
+    private final int to;
+
+    RenderChildren(final TranslatableComponentRenderer<C> renderer, final Options options, final List<Component> children, final C context, final Component[] rendered, final int from, final int to) {
+      this.renderer = renderer;
+      this.options = options;
+      this.children = children;
+      this.context = context;
+      this.rendered = rendered;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected Boolean compute() {
+      if(this.to - this.from <= this.options.threshold) {
+        // this may run on a pool thread, which has no options of its own
+        return withOptions(this.options, () -> {
+          boolean changed = false;
+          for(int i = this.from; i < this.to; i++) {
+            final Component child = this.children.get(i);
+            final Component renderedChild = this.renderer.render(child, this.context);
+            this.rendered[i] = renderedChild;
+            changed |= renderedChild != child;
+          }
+          return changed;
+        });
+      }
+      final int middle = (this.from + this.to) >>> 1;
+      final RenderChildren<C> left = new RenderChildren<>(this.renderer, this.options, this.children, this.context, this.rendered, this.from, middle);
+      left.fork();
+      final boolean right = new RenderChildren<>(this.renderer, this.options, this.children, this.context, this.rendered, middle, this.to).compute();
+      return left.join() | right;
+    }
+  }
+
+  /*
+   * The options a render runs with.
+   */
+  private static final class Options {
+    static final Options DEFAULT = new Options(null, Integer.MAX_VALUE, null);
+    // the pool large lists of children are rendered on
+    final @Nullable ForkJoinPool pool;
+    // the number of children a component must have before they are rendered in parallel
+    final int threshold;
+    // the listener told about each translation, if any
+    final @Nullable RendererListener<?> listener;
+
+    Options(final @Nullable ForkJoinPool pool, final int threshold, final @Nullable RendererListener<?> listener) {
+      this.pool = pool;
+      this.threshold = threshold;
+      this.listener = listener;
+    }
+  }
+
+  /*
+   * Renders through another renderer, with options in effect.
+   */
+  private abstract static class Delegating<C> extends TranslatableComponentRenderer<C> {
+    final TranslatableComponentRenderer<C> renderer;
+
+    Delegating(final @NonNull TranslatableComponentRenderer<C> renderer) {
+      this.renderer = renderer;
+    }
+
+    @Override
+    protected @Nullable TranslationTemplate template(final @NonNull C context, final @NonNull String key) {
+      return this.renderer.template(context, key);
+    }
+
+    @Override
+    protected @Nullable MessageFormat translation(final @NonNull C context, final @NonNull String key) {
+      return this.renderer.translation(context, key);
+    }
+  }
+
+  private static final class Parallel<C> extends Delegating<C> {
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    Parallel(final @NonNull TranslatableComponentRenderer<C> renderer, final @NonNull ForkJoinPool pool, final int threshold) {
+      super(renderer);
+      this.pool = pool;
+      this.threshold = threshold;
+    }
+
+    @Override
+    public @NonNull Component render(final @NonNull Component component, final @NonNull C context) {
+      final Options options = options();
+      return withOptions(new Options(this.pool, this.threshold, options.listener), () -> this.renderer.render(component, context));
+    }
+  }
+
+  /*
+   * Times each render. Nested components are rendered by the renderer this was created from, so only the
+   * outermost render is timed.
+   */
+  private static final class Listening<C> extends Delegating<C> {
+    private final RendererListener<? super C> listener;
+
+    Listening(final @NonNull TranslatableComponentRenderer<C> renderer, final @NonNull RendererListener<? super C> listener) {
+      super(renderer);
+      this.listener = listener;
+    }
+
+    @Override
+    public @NonNull Component render(final @NonNull Component component, final @NonNull C context) {
+      final Options options = options();
+      final long start = System.nanoTime();
+      final Component rendered = withOptions(new Options(options.pool, options.threshold, this.listener), () -> this.renderer.render(component, context));
+      this.listener.rendered(context, component, System.nanoTime() - start);
+      return rendered;
     }
   }
 
+  /**
+   * Gets a template for a translation key in the given context.
+   *
+   * <p>By default, this compiles the message format from {@link #translation(Object, String)}. Each message
+   * format is only compiled once, so it must not be modified afterwards.</p>
+   *
+   * @param context the context
+   * @param key the translation key
+   * @return the template, or {@code null}
+   */
+  protected @Nullable TranslationTemplate template(final @NonNull C context, final @NonNull String key) {
+    final /* @Nullable */ MessageFormat format = this.translation(context, key);
+    if(format == null) {
+      return null;
+    }
+    return TEMPLATES.computeIfAbsent(format, TranslationTemplate::compile);
+  }
+
   /**
    * Gets a translation for a translation key in the given context.
    *
+   * <p>This is only used by the default implementation of {@link #template(Object, String)}.</p>
+   *
    * @param context the context
    * @param key the translation key
-   * @return the translation
+   * @return the translation, or {@code null}
    */
-  protected abstract @Nullable MessageFormat translation(final @NonNull C context, final @NonNull String key);
+  protected @Nullable MessageFormat translation(final @NonNull C context, final @NonNull String key) {
+    return null;
+  }
 }
@@ -0,0 +1,426 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.selector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import net.kyori.text.SelectorComponent;
+import net.kyori.text.util.BoundedCache;
+import net.kyori.text.util.NameMap;
+import net.kyori.text.util.ShadyPines;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A parsed selector pattern, such as {@code @a[distance=..10,tag=vip]}.
+ *
+ * <p>A pattern is either a selector - a {@link Base base} followed by optional arguments - or the name or UUID
+ * of a single entity. Argument values are kept as written, other than quoted strings, which are unquoted.</p>
+ *
+ * @see SelectorComponent#parsedPattern()
+ */
+public final class SelectorPattern {
+  /*
+   * Messages tend to reuse the same few selectors, so parsed patterns are shared.
+   */
+  private static final BoundedCache<String, SelectorPattern> CACHE = BoundedCache.<String, SelectorPattern>builder()
+    .maximumSize(1024)
+    .build();
+  private final String pattern;
+  private final @Nullable Base base;
+  private final List<Argument> arguments;
+
+  private SelectorPattern(final @NonNull String pattern, final @Nullable Base base, final @NonNull List<Argument> arguments) {
+    this.pattern = pattern;
+    this.base = base;
+    this.arguments = arguments;
+  }
+
+  /**
+   * Parses a selector pattern.
+   *
+   * <p>Parsed patterns are cached, so parsing the same pattern again is cheap.</p>
+   *
+   * @param pattern the pattern
+   * @return the parsed pattern
+   * @throws IllegalArgumentException if the pattern is malformed
+   */
+  public static @NonNull SelectorPattern parse(final @NonNull String pattern) {
+    return CACHE.computeIfAbsent(requireNonNull(pattern, "pattern"), p -> new Parser(p).parse());
+  }
+
+  /**
+   * Gets the pattern this was parsed from.
+   *
+   * @return the pattern
+   */
+  public @NonNull String pattern() {
+    return this.pattern;
+  }
+
+  /**
+   * Checks if this pattern is a selector, rather than the name or UUID of an entity.
+   *
+   * @return {@code true} if this pattern is a selector
+   */
+  public boolean isSelector() {
+    return this.base != null;
+  }
+
+  /**
+   * Gets the base of this selector.
+   *
+   * @return the base, or {@code null} if this pattern is not a selector
+   */
+  public @Nullable Base base() {
+    return this.base;
+  }
+
+  /**
+   * Gets the arguments of this selector, in the order they were written.
+   *
+   * @return the arguments
+   */
+  public @NonNull List<Argument> arguments() {
+    return this.arguments;
+  }
+
+  /**
+   * Gets the first argument with a key.
+   *
+   * @param key the key
+   * @return the argument, or {@code null}
+   */
+  public @Nullable Argument argument(final @NonNull String key) {
+    for(int i = 0, size = this.arguments.size(); i < size; i++) {
+      final Argument argument = this.arguments.get(i);
+      if(argument.key.equals(key)) {
+        return argument;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Gets the arguments with a key, such as each {@code tag} of a selector.
+   *
+   * @param key the key
+   * @return the arguments
+   */
+  public @NonNull List<Argument> arguments(final @NonNull String key) {
+    /* @Nullable */ List<Argument> arguments = null;
+    for(int i = 0, size = this.arguments.size(); i < size; i++) {
+      final Argument argument = this.arguments.get(i);
+      if(argument.key.equals(key)) {
+        if(arguments == null) arguments = new ArrayList<>(2);
+        arguments.add(argument);
+      }
+    }
+    return arguments == null ? Collections.emptyList() : Collections.unmodifiableList(arguments);
+  }
+
+  @Override
+  public boolean equals(final @Nullable Object other) {
+    if(this == other) return true;
+    if(!(other instanceof SelectorPattern)) return false;
+    final SelectorPattern that = (SelectorPattern) other;
+    if(this.base == null) return that.base == null && this.pattern.equals(that.pattern);
+    return this.base == that.base && this.arguments.equals(that.arguments);
+  }
+
+  @Override
+  public int hashCode() {
+    if(this.base == null) return this.pattern.hashCode();
+    return 31 * this.base.hashCode() + this.arguments.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return ShadyPines.toString(this, map -> map.put("pattern", this.pattern));
+  }
+
+  /**
+   * The base of a selector.
+   */
+  public enum Base {
+    /**
+     * The nearest player.
+     */
+    NEAREST_PLAYER("p"),
+    /**
+     * All players.
+     */
+    ALL_PLAYERS("a"),
+    /**
+     * A random player.
+     */
+    RANDOM_PLAYER("r"),
+    /**
+     * The entity executing the command.
+     */
+    SELF("s"),
+    /**
+     * All entities.
+     */
+    ALL_ENTITIES("e");
+
+    public static final NameMap<Base> NAMES = NameMap.create(Base.class, constant -> constant.name);
+    /**
+     * The name of this base, without the {@code @}.
+     */
+    private final String name;
+
+    Base(final String name) {
+      this.name = name;
+    }
+
+    @Override
+    public @NonNull String toString() {
+      return this.name;
+    }
+  }
+
+  /**
+   * A selector argument, such as {@code distance=..10}.
+   */
+  public static final class Argument {
+    private final String key;
+    private final String value;
+    private final boolean negated;
+
+    Argument(final @NonNull String key, final @NonNull String value, final boolean negated) {
+      this.key = key;
+      this.value = value;
+      this.negated = negated;
+    }
+
+    /**
+     * Gets the key.
+     *
+     * @return the key
+     */
+    public @NonNull String key() {
+      return this.key;
+    }
+
+    /**
+     * Gets the value, without any {@code !}.
+     *
+     * <p>Nested values, such as those of {@code scores} or {@code nbt}, are kept as written.</p>
+     *
+     * @return the value
+     */
+    public @NonNull String value() {
+      return this.value;
+    }
+
+    /**
+     * Checks if the value is negated with {@code !}.
+     *
+     * @return {@code true} if the value is negated
+     */
+    public boolean negated() {
+      return this.negated;
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object other) {
+      if(this == other) return true;
+      if(!(other instanceof Argument)) return false;
+      final Argument that = (Argument) other;
+      return this.negated == that.negated && this.key.equals(that.key) && this.value.equals(that.value);
+    }
+
+    @Override
+    public int hashCode() {
+      int result = this.key.hashCode();
+      result = (31 * result) + this.value.hashCode();
+      result = (31 * result) + Boolean.hashCode(this.negated);
+      return result;
+    }
+
+    @Override
+    public String toString() {
+      return ShadyPines.toString(this, map -> {
+        map.put("key", this.key);
+        map.put("value", this.value);
+        map.put("negated", this.negated);
+      });
+    }
+  }
+
+  // walks the pattern by index, only allocating the strings it keeps
+  private static final class Parser {
+    private final String pattern;
+    private final int length;
+    private int index;
+
+    Parser(final @NonNull String pattern) {
+      this.pattern = pattern;
+      this.length = pattern.length();
+    }
+
+    @NonNull SelectorPattern parse() {
+      if(this.length == 0 || this.pattern.charAt(0) != '@') {
+        if(this.length == 0) throw this.error("empty pattern");
+        return new SelectorPattern(this.pattern, null, Collections.emptyList());
+      }
+      this.index = 1;
+      while(this.index < this.length && Character.isLetter(this.pattern.charAt(this.index))) {
+        this.index++;
+      }
+      final String name = this.pattern.substring(1, this.index);
+      final Base base = Base.NAMES.value(name).orElseThrow(() -> this.error("unknown selector base '@" + name + '\''));
+      if(this.index == this.length) {
+        return new SelectorPattern(this.pattern, base, Collections.emptyList());
+      }
+      this.expect('[');
+      final List<Argument> arguments = new ArrayList<>();
+      this.skipWhitespace();
+      if(this.peek() == ']') {
+        this.index++;
+      } else {
+        while(true) {
+          arguments.add(this.argument());
+          this.skipWhitespace();
+          final char c = this.next();
+          if(c == ']') break;
+          if(c != ',') throw this.error("expected ',' or ']'");
+        }
+      }
+      if(this.index != this.length) throw this.error("unexpected trailing characters");
+      return new SelectorPattern(this.pattern, base, Collections.unmodifiableList(arguments));
+    }
+
+    private @NonNull Argument argument() {
+      this.skipWhitespace();
+      final int keyStart = this.index;
+      while(this.index < this.length && isKeyCharacter(this.pattern.charAt(this.index))) {
+        this.index++;
+      }
+      if(this.index == keyStart) throw this.error("expected argument key");
+      final String key = this.pattern.substring(keyStart, this.index);
+      this.skipWhitespace();
+      this.expect('=');
+      this.skipWhitespace();
+      final boolean negated = this.peek() == '!';
+      if(negated) {
+        this.index++;
+        this.skipWhitespace();
+      }
+      return new Argument(key, this.value(), negated);
+    }
+
+    private @NonNull String value() {
+      final char first = this.peek();
+      if(first == '"' || first == '\'') {
+        return this.quoted(first);
+      }
+      final int start = this.index;
+      if(first == '{' || first == '[') {
+        this.skipNested();
+        return this.pattern.substring(start, this.index);
+      }
+      int end = start;
+      while(this.index < this.length) {
+        final char c = this.pattern.charAt(this.index);
+        if(c == ',' || c == ']') break;
+        this.index++;
+        if(!Character.isWhitespace(c)) end = this.index;
+      }
+      return this.pattern.substring(start, end);
+    }
+
+    private @NonNull String quoted(final char quote) {
+      this.index++;
+      /* @Nullable */ StringBuilder sb = null;
+      final int start = this.index;
+      while(this.index < this.length) {
+        final char c = this.pattern.charAt(this.index++);
+        if(c == quote) {
+          return sb == null ? this.pattern.substring(start, this.index - 1) : sb.toString();
+        }
+        if(c == '\\') {
+          if(sb == null) sb = new StringBuilder(this.pattern.substring(start, this.index - 1));
+          if(this.index == this.length) break;
+          sb.append(this.pattern.charAt(this.index++));
+        } else if(sb != null) {
+          sb.append(c);
+        }
+      }
+      throw this.error("unterminated string");
+    }
+
+    // skips a balanced {...} or [...], which may contain quoted strings
+    private void skipNested() {
+      int depth = 0;
+      while(this.index < this.length) {
+        final char c = this.pattern.charAt(this.index);
+        if(c == '"' || c == '\'') {
+          this.quoted(c);
+          continue;
+        }
+        this.index++;
+        if(c == '{' || c == '[') {
+          depth++;
+        } else if(c == '}' || c == ']') {
+          if(--depth == 0) return;
+        }
+      }
+      throw this.error("unbalanced brackets");
+    }
+
+    private static boolean isKeyCharacter(final char c) {
+      return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '-' || c == '.' || c == '+';
+    }
+
+    private void skipWhitespace() {
+      while(this.index < this.length && Character.isWhitespace(this.pattern.charAt(this.index))) {
+        this.index++;
+      }
+    }
+
+    private char peek() {
+      if(this.index == this.length) throw this.error("unexpected end of pattern");
+      return this.pattern.charAt(this.index);
+    }
+
+    private char next() {
+      final char c = this.peek();
+      this.index++;
+      return c;
+    }
+
+    private void expect(final char expected) {
+      if(this.next() != expected) throw this.error("expected '" + expected + '\'');
+    }
+
+    private @NonNull IllegalArgumentException error(final @NonNull String message) {
+      return new IllegalArgumentException(message + " at index " + this.index + " in selector '" + this.pattern + '\'');
+    }
+  }
+}
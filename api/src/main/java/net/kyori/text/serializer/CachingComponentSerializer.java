@@ -0,0 +1,227 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.serializer;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.function.ToIntFunction;
+import net.kyori.text.Component;
+import net.kyori.text.util.BoundedCache;
+import org.checkerframework.checker.index.qual.NonNegative;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A component serializer which remembers the results of another serializer.
+ *
+ * <p>Serialized forms are cached by component identity, without keeping the components alive - components
+ * are immutable, and the same instances tend to be serialized over and over. Deserialized components are
+ * cached by input, which must have a meaningful {@code equals} and {@code hashCode}, as strings do.</p>
+ *
+ * <p>Input may come from untrusted sources, so both caches are always bounded - unless another bound is set,
+ * each holds at most {@value Builder#DEFAULT_MAXIMUM_SIZE} results.</p>
+ *
+ * @param <I> the input component type
+ * @param <O> the output component type
+ * @param <R> the serialized type
+ */
+public final class CachingComponentSerializer<I extends Component, O extends Component, R> implements ComponentSerializer<I, O, R> {
+  private final ComponentSerializer<I, O, R> serializer;
+  private final BoundedCache<Identity, R> serialized;
+  private final BoundedCache<R, O> deserialized;
+  private final ReferenceQueue<Component> collected = new ReferenceQueue<>();
+
+  private CachingComponentSerializer(final @NonNull ComponentSerializer<I, O, R> serializer, final @NonNull BoundedCache<Identity, R> serialized, final @NonNull BoundedCache<R, O> deserialized) {
+    this.serializer = serializer;
+    this.serialized = serialized;
+    this.deserialized = deserialized;
+  }
+
+  /**
+   * Creates a builder for a caching serializer.
+   *
+   * @param serializer the serializer whose results to cache
+   * @param <I> the input component type
+   * @param <O> the output component type
+   * @param <R> the serialized type
+   * @return a builder
+   */
+  public static <I extends Component, O extends Component, R> @NonNull Builder<I, O, R> builder(final @NonNull ComponentSerializer<I, O, R> serializer) {
+    return new Builder<>(requireNonNull(serializer, "serializer"));
+  }
+
+  @Override
+  public @NonNull O deserialize(final @NonNull R input) {
+    return this.deserialized.computeIfAbsent(requireNonNull(input, "input"), this.serializer::deserialize);
+  }
+
+  @Override
+  public @NonNull R serialize(final @NonNull I component) {
+    this.expunge();
+    return this.serialized.computeIfAbsent(new Identity(requireNonNull(component, "component"), this.collected), key -> this.serializer.serialize(component));
+  }
+
+  /**
+   * Gets a snapshot of the statistics of the serialization cache.
+   *
+   * @return the statistics
+   */
+  public BoundedCache.@NonNull Stats serializeStats() {
+    return this.serialized.stats();
+  }
+
+  /**
+   * Gets a snapshot of the statistics of the deserialization cache.
+   *
+   * @return the statistics
+   */
+  public BoundedCache.@NonNull Stats deserializeStats() {
+    return this.deserialized.stats();
+  }
+
+  /**
+   * Removes all cached results.
+   */
+  public void invalidateAll() {
+    this.serialized.clear();
+    this.deserialized.clear();
+  }
+
+  // the number of cached serialized forms
+  int serializedSize() {
+    return this.serialized.size();
+  }
+
+  // treats a component as collected, as the garbage collector would
+  void collect(final @NonNull Component component) {
+    final Identity key = new Identity(component, this.collected);
+    final /* @Nullable */ R value = this.serialized.get(key);
+    if(value == null) return;
+    // swap in a key we hold, so it can be cleared
+    this.serialized.remove(key);
+    this.serialized.put(key, value);
+    key.clear();
+    key.enqueue();
+  }
+
+  private void expunge() {
+    Reference<? extends Component> reference;
+    while((reference = this.collected.poll()) != null) {
+      // a collected key is only equal to itself
+      this.serialized.remove((Identity) reference);
+    }
+  }
+
+  /*
+   * Equal to another identity with the same referent.
+   */
+  private static final class Identity extends WeakReference<Component> {
+    private final int hash;
+
+    Identity(final @NonNull Component referent, final @NonNull ReferenceQueue<Component> queue) {
+      super(referent, queue);
+      this.hash = System.identityHashCode(referent);
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object other) {
+      if(this == other) return true;
+      if(!(other instanceof Identity)) return false;
+      final Component referent = this.get();
+      return referent != null && ((Identity) other).get() == referent;
+    }
+
+    @Override
+    public int hashCode() {
+      return this.hash;
+    }
+  }
+
+  /**
+   * A caching serializer builder.
+   *
+   * @param <I> the input component type
+   * @param <O> the output component type
+   * @param <R> the serialized type
+   */
+  public static final class Builder<I extends Component, O extends Component, R> {
+    /**
+     * The maximum number of cached results in each direction when neither {@link #maximumSize(long)} nor
+     * {@link #maximumWeight(long, ToIntFunction)} is set.
+     */
+    public static final long DEFAULT_MAXIMUM_SIZE = 1024;
+    private final ComponentSerializer<I, O, R> serializer;
+    private final BoundedCache.Builder<Identity, R> serialized = BoundedCache.builder();
+    private final BoundedCache.Builder<R, O> deserialized = BoundedCache.builder();
+    private boolean bounded;
+
+    Builder(final @NonNull ComponentSerializer<I, O, R> serializer) {
+      this.serializer = serializer;
+    }
+
+    /**
+     * Sets the maximum number of cached results in each direction.
+     *
+     * @param maximumSize the maximum size
+     * @return this builder
+     */
+    public @NonNull Builder<I, O, R> maximumSize(final @NonNegative long maximumSize) {
+      this.serialized.maximumSize(maximumSize);
+      this.deserialized.maximumSize(maximumSize);
+      this.bounded = true;
+      return this;
+    }
+
+    /**
+     * Sets the maximum total weight of cached results in each direction, and how to weigh them.
+     *
+     * <p>Both caches are weighed by serialized form - the output of serialization, and the input of
+     * deserialization. For strings, {@link String#length()} is a reasonable weigher.</p>
+     *
+     * @param maximumWeight the maximum weight
+     * @param weigher the weigher, given each serialized form
+     * @return this builder
+     */
+    public @NonNull Builder<I, O, R> maximumWeight(final @NonNegative long maximumWeight, final @NonNull ToIntFunction<? super R> weigher) {
+      requireNonNull(weigher, "weigher");
+      this.serialized.maximumWeight(maximumWeight, (key, value) -> weigher.applyAsInt(value));
+      this.deserialized.maximumWeight(maximumWeight, (key, value) -> weigher.applyAsInt(key));
+      this.bounded = true;
+      return this;
+    }
+
+    /**
+     * Builds the serializer.
+     *
+     * @return the serializer
+     */
+    public @NonNull CachingComponentSerializer<I, O, R> build() {
+      if(!this.bounded) this.maximumSize(DEFAULT_MAXIMUM_SIZE);
+      return new CachingComponentSerializer<>(this.serializer, this.serialized.build(), this.deserialized.build());
+    }
+  }
+}
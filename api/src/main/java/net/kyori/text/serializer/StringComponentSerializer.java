@@ -0,0 +1,81 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.serializer;
+
+import java.io.IOException;
+import java.io.Reader;
+import net.kyori.text.Component;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A {@link Component} serializer and deserializer which works with text.
+ *
+ * <p>As well as strings, components may be serialized into any {@link Appendable}, such as a pooled
+ * {@link StringBuilder} or a {@link java.io.Writer}, and deserialized from any {@link CharSequence} or
+ * {@link Reader}, without an intermediate string where the serializer supports it.</p>
+ *
+ * @param <I> the input component type
+ * @param <O> the output component type
+ */
+public interface StringComponentSerializer<I extends Component, O extends Component> extends ComponentSerializer<I, O, String> {
+  /**
+   * Deserialize a component from a sequence of characters.
+   *
+   * @param input the input
+   * @return the component
+   */
+  default @NonNull O deserialize(final @NonNull CharSequence input) {
+    return this.deserialize(input.toString());
+  }
+
+  /**
+   * Deserialize a component from a reader.
+   *
+   * <p>The reader is read to its end, but is not closed.</p>
+   *
+   * @param input the input
+   * @return the component
+   * @throws IOException if the reader throws
+   */
+  default @NonNull O deserialize(final @NonNull Reader input) throws IOException {
+    final StringBuilder sb = new StringBuilder();
+    final char[] buffer = new char[1024];
+    int read;
+    while((read = input.read(buffer)) != -1) {
+      sb.append(buffer, 0, read);
+    }
+    return this.deserialize(sb.toString());
+  }
+
+  /**
+   * Serializes a component into an appendable.
+   *
+   * @param component the component
+   * @param output the output
+   * @throws IOException if the output throws
+   */
+  default void serialize(final @NonNull I component, final @NonNull Appendable output) throws IOException {
+    output.append(this.serialize(component));
+  }
+}
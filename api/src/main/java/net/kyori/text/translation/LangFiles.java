@@ -0,0 +1,180 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.translation;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Reads JSON language files.
+ */
+final class LangFiles {
+  private final Reader reader;
+  private int peeked = -2;
+  private int position;
+
+  private LangFiles(final @NonNull Reader reader) {
+    this.reader = reader;
+  }
+
+  /**
+   * Reads the translations in a language file - a single JSON object with string values.
+   *
+   * @param reader the reader
+   * @return the translations, by translation key
+   * @throws IOException if the file could not be read, or is malformed
+   */
+  static @NonNull Map<String, String> read(final @NonNull Reader reader) throws IOException {
+    final LangFiles lang = new LangFiles(reader);
+    final Map<String, String> translations = new LinkedHashMap<>();
+    lang.expect('{');
+    if(lang.peekSignificant() == '}') {
+      lang.next();
+    } else {
+      while(true) {
+        final String key = lang.string();
+        lang.expect(':');
+        translations.put(key, lang.string());
+        final int c = lang.nextSignificant();
+        if(c == '}') break;
+        if(c != ',') throw lang.error("expected ',' or '}'");
+      }
+    }
+    if(lang.peekSignificant() != -1) throw lang.error("expected end of file");
+    return translations;
+  }
+
+  /**
+   * Compiles a template from a language file string.
+   *
+   * <p>{@code %s} is the next argument, <code>%<i>n</i>$s</code> is argument <i>n</i> counting from one,
+   * and {@code %%} is a percent sign.</p>
+   *
+   * @param format the string
+   * @return a template
+   */
+  static @NonNull TranslationTemplate compile(final @NonNull String format) {
+    final TranslationTemplate.Builder builder = TranslationTemplate.builder();
+    int next = 0;
+    int literal = 0;
+    for(int i = 0, length = format.length(); i < length; i++) {
+      if(format.charAt(i) != '%' || i + 1 == length) continue;
+      int j = i + 1;
+      if(format.charAt(j) == '%') {
+        builder.text(format.substring(literal, j));
+        literal = ++i + 1;
+        continue;
+      }
+      int index = 0;
+      while(j < length && Character.isDigit(format.charAt(j))) {
+        index = index * 10 + (format.charAt(j++) - '0');
+      }
+      final boolean explicit = j > i + 1;
+      if(explicit) {
+        // an explicit index must be followed by '$' and a conversion
+        if(index == 0 || j + 1 >= length || format.charAt(j) != '$') continue;
+        j++;
+      }
+      // a percent sign without a conversion is literal, and takes no argument
+      if(!Character.isLetter(format.charAt(j))) continue;
+      final int argument = explicit ? index - 1 : next++;
+      builder.text(format.substring(literal, i));
+      builder.argument(argument);
+      literal = j + 1;
+      i = j;
+    }
+    builder.text(format.substring(literal));
+    return builder.build();
+  }
+
+  private @NonNull String string() throws IOException {
+    this.expect('"');
+    final StringBuilder sb = new StringBuilder();
+    while(true) {
+      final int c = this.next();
+      if(c == -1) throw this.error("unterminated string");
+      if(c == '"') return sb.toString();
+      if(c != '\\') {
+        sb.append((char) c);
+        continue;
+      }
+      final int escape = this.next();
+      switch(escape) {
+        case '"': case '\\': case '/': sb.append((char) escape); break;
+        case 'b': sb.append('\b'); break;
+        case 'f': sb.append('\f'); break;
+        case 'n': sb.append('\n'); break;
+        case 'r': sb.append('\r'); break;
+        case 't': sb.append('\t'); break;
+        case 'u':
+          int value = 0;
+          for(int i = 0; i < 4; i++) {
+            final int digit = Character.digit(this.next(), 16);
+            if(digit == -1) throw this.error("invalid unicode escape");
+            value = (value << 4) | digit;
+          }
+          sb.append((char) value);
+          break;
+        default:
+          throw this.error("invalid escape");
+      }
+    }
+  }
+
+  private void expect(final char expected) throws IOException {
+    if(this.nextSignificant() != expected) throw this.error("expected '" + expected + '\'');
+  }
+
+  private int nextSignificant() throws IOException {
+    this.peekSignificant();
+    return this.next();
+  }
+
+  private int peekSignificant() throws IOException {
+    while(true) {
+      final int c = this.peek();
+      if(c != ' ' && c != '\t' && c != '\n' && c != '\r' && c != '\uFEFF') return c;
+      this.next();
+    }
+  }
+
+  private int peek() throws IOException {
+    if(this.peeked == -2) this.peeked = this.reader.read();
+    return this.peeked;
+  }
+
+  private int next() throws IOException {
+    final int c = this.peek();
+    this.peeked = -2;
+    this.position++;
+    return c;
+  }
+
+  private @NonNull IOException error(final @NonNull String message) {
+    return new IOException(message + " at character " + this.position);
+  }
+}
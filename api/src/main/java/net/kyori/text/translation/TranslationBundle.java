@@ -0,0 +1,282 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.translation;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import net.kyori.text.renderer.TranslatableComponentRenderer;
+import net.kyori.text.util.ShadyPines;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A precompiled, read-only set of translations.
+ *
+ * <p>Bundles are written by a {@link TranslationBundleWriter}, which parses translations ahead of time. Opening a
+ * bundle maps the file into memory and reads nothing else - the translations of a locale are only decoded the first
+ * time that locale is used.</p>
+ *
+ * <p>Lookups fall back like those of a {@link TranslationRegistry}, and a bundle can be used with a renderer
+ * through {@link TranslatableComponentRenderer#fromTemplates(java.util.function.BiFunction)}:</p>
+ * <pre>
+ *   TranslatableComponentRenderer.fromTemplates(bundle::translate)
+ * </pre>
+ *
+ * <h2>Format</h2>
+ *
+ * <p>All integers are 32-bit big-endian. A bundle starts with a header:</p>
+ * <ol>
+ *   <li>the magic number {@code 0x4B544231}</li>
+ *   <li>the number of strings</li>
+ *   <li>the number of locales</li>
+ *   <li>the string index of the default locale's language tag</li>
+ *   <li>for each string, and once more at the end, its offset from the start of the string data</li>
+ *   <li>for each locale, the string index of its language tag, its number of translations, and the position of its
+ *   translations</li>
+ * </ol>
+ * <p>The header is followed by the string data, which is UTF-8, and then by the translations of each locale. Each
+ * translation is the string index of its key, its number of segments, and its segments - the string index of
+ * literal text, or the bitwise complement of an argument index.</p>
+ */
+public final class TranslationBundle {
+  static final int MAGIC = 0x4B544231; // KTB1
+  static final int HEADER_SIZE = 16;
+  static final int LOCALE_SIZE = 12;
+  private static final ResourceBundle.Control CONTROL = ResourceBundle.Control.getNoFallbackControl(ResourceBundle.Control.FORMAT_DEFAULT);
+  private final ByteBuffer buffer;
+  private final int stringData;
+  private final String[] strings;
+  private final Locale defaultLocale;
+  // the position in the header of each locale's entry
+  private final Map<Locale, Integer> locales;
+  private final Map<Locale, Map<String, TranslationTemplate>> translations = new ConcurrentHashMap<>();
+
+  private TranslationBundle(final @NonNull ByteBuffer buffer) {
+    this.buffer = buffer;
+    if(buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+      throw new IllegalArgumentException("not a translation bundle");
+    }
+    final int stringCount = buffer.getInt(4);
+    final int localeCount = buffer.getInt(8);
+    if(stringCount < 0 || localeCount < 0) {
+      throw new IllegalArgumentException("malformed translation bundle: negative count");
+    }
+    // checked before anything is allocated from the counts - long, so that huge counts cannot overflow
+    final long localeTable = HEADER_SIZE + (stringCount + 1L) * 4;
+    final long stringData = localeTable + (long) localeCount * LOCALE_SIZE;
+    if(stringData > buffer.limit()) {
+      throw new IllegalArgumentException("truncated translation bundle");
+    }
+    this.stringData = (int) stringData;
+    // each string must lie within the buffer, and after the one before it
+    int previous = 0;
+    for(int i = 0; i <= stringCount; i++) {
+      final int offset = buffer.getInt(HEADER_SIZE + i * 4);
+      if(offset < previous || offset > buffer.limit() - this.stringData) {
+        throw new IllegalArgumentException("malformed translation bundle: bad offset for string " + i);
+      }
+      previous = offset;
+    }
+    this.strings = new String[stringCount];
+    this.defaultLocale = Locale.forLanguageTag(this.string(buffer.getInt(12)));
+    final Map<Locale, Integer> locales = new HashMap<>(localeCount);
+    for(int i = 0; i < localeCount; i++) {
+      final int position = (int) localeTable + i * LOCALE_SIZE;
+      final int count = buffer.getInt(position + 4);
+      final int translations = buffer.getInt(position + 8);
+      if(count < 0 || translations < this.stringData || translations > buffer.limit() - count * 8L) {
+        throw new IllegalArgumentException("malformed translation bundle: bad translations for locale " + i);
+      }
+      locales.put(Locale.forLanguageTag(this.string(buffer.getInt(position))), position);
+    }
+    this.locales = locales;
+  }
+
+  /**
+   * Opens a bundle by mapping a file into memory.
+   *
+   * @param path the path to the bundle
+   * @return the bundle
+   * @throws IOException if the file could not be mapped
+   * @throws IllegalArgumentException if the file is not a bundle
+   */
+  public static @NonNull TranslationBundle open(final @NonNull Path path) throws IOException {
+    try(final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      // the mapping remains valid after the channel is closed
+      return new TranslationBundle(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  /**
+   * Reads a bundle from a buffer.
+   *
+   * <p>The buffer must not be modified afterwards.</p>
+   *
+   * @param buffer the buffer
+   * @return the bundle
+   * @throws IllegalArgumentException if the buffer does not contain a bundle
+   */
+  public static @NonNull TranslationBundle wrap(final @NonNull ByteBuffer buffer) {
+    return new TranslationBundle(requireNonNull(buffer, "buffer").slice());
+  }
+
+  /**
+   * Creates a bundle writer.
+   *
+   * @return a bundle writer
+   */
+  public static @NonNull TranslationBundleWriter writer() {
+    return new TranslationBundleWriter();
+  }
+
+  /**
+   * Gets the locale which is used when a translation is not available in the requested locale.
+   *
+   * @return the default locale
+   */
+  public @NonNull Locale defaultLocale() {
+    return this.defaultLocale;
+  }
+
+  /**
+   * Gets the locales with translations in this bundle.
+   *
+   * @return the locales
+   */
+  public @NonNull Set<Locale> locales() {
+    return Collections.unmodifiableSet(this.locales.keySet());
+  }
+
+  /**
+   * Gets the translations of a locale, without any fallback.
+   *
+   * @param locale the locale
+   * @return the translations, by translation key
+   * @throws IllegalArgumentException if the translations are malformed
+   */
+  public @NonNull Map<String, TranslationTemplate> translations(final @NonNull Locale locale) {
+    final /* @Nullable */ Integer position = this.locales.get(locale);
+    if(position == null) {
+      return Collections.emptyMap();
+    }
+    return this.translations.computeIfAbsent(locale, l -> this.decode(position));
+  }
+
+  /**
+   * Gets a translation.
+   *
+   * @param locale the locale
+   * @param key the translation key
+   * @return the translation, or {@code null} if it is not available in the locale, its parents, or the default locale
+   */
+  public @Nullable TranslationTemplate translate(final @NonNull Locale locale, final @NonNull String key) {
+    final /* @Nullable */ TranslationTemplate template = this.find(locale, key);
+    if(template == null && !locale.equals(this.defaultLocale)) {
+      return this.find(this.defaultLocale, key);
+    }
+    return template;
+  }
+
+  private @Nullable TranslationTemplate find(final @NonNull Locale locale, final @NonNull String key) {
+    final List<Locale> candidates = CONTROL.getCandidateLocales("", locale);
+    for(int i = 0, size = candidates.size(); i < size; i++) {
+      final /* @Nullable */ TranslationTemplate template = this.translations(candidates.get(i)).get(key);
+      if(template != null) {
+        return template;
+      }
+    }
+    return null;
+  }
+
+  private @NonNull Map<String, TranslationTemplate> decode(final int localePosition) {
+    final ByteBuffer buffer = this.buffer;
+    final int count = buffer.getInt(localePosition + 4);
+    int position = buffer.getInt(localePosition + 8);
+    final Map<String, TranslationTemplate> translations = new HashMap<>(count * 4 / 3 + 1);
+    for(int i = 0; i < count; i++) {
+      if(position > buffer.limit() - 8) {
+        throw new IllegalArgumentException("truncated translation bundle");
+      }
+      final String key = this.string(buffer.getInt(position));
+      final int segments = buffer.getInt(position + 4);
+      position += 8;
+      if(segments < 0 || position > buffer.limit() - segments * 4L) {
+        throw new IllegalArgumentException("malformed translation bundle: bad segments for translation " + key);
+      }
+      final TranslationTemplate.Builder builder = TranslationTemplate.builder();
+      for(int j = 0; j < segments; j++, position += 4) {
+        final int segment = buffer.getInt(position);
+        if(segment < 0) {
+          builder.argument(~segment);
+        } else {
+          builder.text(this.string(segment));
+        }
+      }
+      translations.put(key, builder.build());
+    }
+    return Collections.unmodifiableMap(translations);
+  }
+
+  private @NonNull String string(final int index) {
+    if(index < 0 || index >= this.strings.length) {
+      throw new IllegalArgumentException("malformed translation bundle: no string " + index);
+    }
+    // strings are immutable, so a racy read at worst decodes the same string twice
+    /* @Nullable */ String string = this.strings[index];
+    if(string == null) {
+      final int offsets = HEADER_SIZE + index * 4;
+      final int start = this.stringData + this.buffer.getInt(offsets);
+      final int end = this.stringData + this.buffer.getInt(offsets + 4);
+      final ByteBuffer bytes = this.buffer.duplicate();
+      // through Buffer - Java 9+ overrides these in ByteBuffer, which would not link on Java 8
+      ((Buffer) bytes).limit(end).position(start);
+      string = StandardCharsets.UTF_8.decode(bytes).toString();
+      this.strings[index] = string;
+    }
+    return string;
+  }
+
+  @Override
+  public String toString() {
+    return ShadyPines.toString(this, map -> {
+      map.put("defaultLocale", this.defaultLocale);
+      map.put("locales", this.locales.keySet());
+    });
+  }
+}
@@ -0,0 +1,224 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.translation;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PropertyResourceBundle;
+import java.util.ResourceBundle;
+import java.util.TreeMap;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Writes a {@link TranslationBundle}.
+ *
+ * <p>Translations can be added as templates, as {@link java.text.MessageFormat} patterns - including from properties
+ * files - or from JSON language files, which use {@code %s} and <code>%<i>n</i>$s</code> placeholders.</p>
+ */
+public final class TranslationBundleWriter {
+  private final Map<Locale, Map<String, TranslationTemplate>> translations = new LinkedHashMap<>();
+  private Locale defaultLocale = Locale.US;
+
+  TranslationBundleWriter() {
+  }
+
+  /**
+   * Sets the locale which is used when a translation is not available in the requested locale.
+   *
+   * @param locale the default locale
+   * @return this writer
+   */
+  public @NonNull TranslationBundleWriter defaultLocale(final @NonNull Locale locale) {
+    this.defaultLocale = requireNonNull(locale, "locale");
+    return this;
+  }
+
+  /**
+   * Adds a translation.
+   *
+   * @param locale the locale
+   * @param key the translation key
+   * @param template the translation
+   * @return this writer
+   */
+  public @NonNull TranslationBundleWriter translation(final @NonNull Locale locale, final @NonNull String key, final @NonNull TranslationTemplate template) {
+    requireNonNull(key, "key");
+    requireNonNull(template, "template");
+    this.translations.computeIfAbsent(requireNonNull(locale, "locale"), l -> new TreeMap<>()).put(key, template);
+    return this;
+  }
+
+  /**
+   * Adds translations.
+   *
+   * @param locale the locale
+   * @param formats the translations, as {@link java.text.MessageFormat} patterns, by translation key
+   * @return this writer
+   */
+  public @NonNull TranslationBundleWriter messageFormats(final @NonNull Locale locale, final @NonNull Map<String, String> formats) {
+    for(final Map.Entry<String, String> entry : formats.entrySet()) {
+      this.translation(locale, entry.getKey(), TranslationTemplate.compile(entry.getValue(), locale));
+    }
+    return this;
+  }
+
+  /**
+   * Adds the translations in a UTF-8 encoded properties file, as {@link java.text.MessageFormat} patterns.
+   *
+   * @param locale the locale
+   * @param path the path to the properties file
+   * @return this writer
+   * @throws IOException if the file could not be read
+   */
+  public @NonNull TranslationBundleWriter properties(final @NonNull Locale locale, final @NonNull Path path) throws IOException {
+    final ResourceBundle bundle;
+    try(final Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+      bundle = new PropertyResourceBundle(reader);
+    }
+    final Map<String, String> formats = new HashMap<>();
+    for(final String key : bundle.keySet()) {
+      formats.put(key, bundle.getString(key));
+    }
+    return this.messageFormats(locale, formats);
+  }
+
+  /**
+   * Adds the translations in a JSON language file.
+   *
+   * <p>A language file is a single object mapping translation keys to strings, with {@code %s} and
+   * <code>%<i>n</i>$s</code> placeholders.</p>
+   *
+   * @param locale the locale
+   * @param path the path to the language file
+   * @return this writer
+   * @throws IOException if the file could not be read, or is malformed
+   */
+  public @NonNull TranslationBundleWriter lang(final @NonNull Locale locale, final @NonNull Path path) throws IOException {
+    final Map<String, String> formats;
+    try(final Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+      formats = LangFiles.read(reader);
+    }
+    for(final Map.Entry<String, String> entry : formats.entrySet()) {
+      this.translation(locale, entry.getKey(), LangFiles.compile(entry.getValue()));
+    }
+    return this;
+  }
+
+  /**
+   * Writes the bundle to a file.
+   *
+   * @param path the path to write to
+   * @throws IOException if the file could not be written
+   */
+  public void write(final @NonNull Path path) throws IOException {
+    try(final OutputStream os = new BufferedOutputStream(Files.newOutputStream(path))) {
+      this.write(os);
+    }
+  }
+
+  /**
+   * Writes the bundle to a stream.
+   *
+   * @param os the stream to write to
+   * @throws IOException if the stream could not be written
+   */
+  public void write(final @NonNull OutputStream os) throws IOException {
+    // every string is stored once - most literals are shared between many translations
+    final Map<String, Integer> strings = new LinkedHashMap<>();
+    final int defaultLocale = intern(strings, this.defaultLocale.toLanguageTag());
+    final List<int[]> locales = new ArrayList<>(this.translations.size());
+    final List<int[]> entries = new ArrayList<>();
+    int entriesSize = 0;
+    for(final Map.Entry<Locale, Map<String, TranslationTemplate>> locale : this.translations.entrySet()) {
+      final int start = entries.size();
+      for(final Map.Entry<String, TranslationTemplate> translation : locale.getValue().entrySet()) {
+        final TranslationTemplate template = translation.getValue();
+        final int size = template.size();
+        final int[] entry = new int[size + 2];
+        entry[0] = intern(strings, translation.getKey());
+        entry[1] = size;
+        for(int i = 0; i < size; i++) {
+          final int argument = template.argument(i);
+          entry[i + 2] = argument == TranslationTemplate.LITERAL ? intern(strings, template.literal(i)) : ~argument;
+        }
+        entries.add(entry);
+        entriesSize += entry.length * 4;
+      }
+      locales.add(new int[]{intern(strings, locale.getKey().toLanguageTag()), entries.size() - start, entriesSize});
+    }
+
+    final ByteArrayOutputStream stringData = new ByteArrayOutputStream();
+    final int[] offsets = new int[strings.size() + 1];
+    int index = 0;
+    for(final String string : strings.keySet()) {
+      final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+      stringData.write(bytes, 0, bytes.length);
+      offsets[++index] = stringData.size();
+    }
+
+    final DataOutputStream out = new DataOutputStream(os);
+    out.writeInt(TranslationBundle.MAGIC);
+    out.writeInt(strings.size());
+    out.writeInt(locales.size());
+    out.writeInt(defaultLocale);
+    for(final int offset : offsets) {
+      out.writeInt(offset);
+    }
+    final int entriesStart = TranslationBundle.HEADER_SIZE + offsets.length * 4 + locales.size() * TranslationBundle.LOCALE_SIZE + stringData.size();
+    int localeStart = entriesStart;
+    for(final int[] locale : locales) {
+      out.writeInt(locale[0]);
+      out.writeInt(locale[1]);
+      out.writeInt(localeStart);
+      // the third element is where the next locale begins, relative to the first
+      localeStart = entriesStart + locale[2];
+    }
+    stringData.writeTo(out);
+    for(final int[] entry : entries) {
+      for(final int value : entry) {
+        out.writeInt(value);
+      }
+    }
+    out.flush();
+  }
+
+  private static int intern(final @NonNull Map<String, Integer> strings, final @NonNull String string) {
+    return strings.computeIfAbsent(string, s -> strings.size());
+  }
+}
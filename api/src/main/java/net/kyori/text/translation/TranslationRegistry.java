@@ -0,0 +1,149 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.translation;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+import net.kyori.text.renderer.TranslatableComponentRenderer;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A registry of translations, keyed by locale and translation key.
+ *
+ * <p>Lookups fall back from a locale to its parents - {@code en_GB} to {@code en} to the root locale - and then
+ * to the {@link #defaultLocale() default locale}. Lookups never block, and may happen from many threads while
+ * translations are being registered.</p>
+ *
+ * <p>A registry can be used with a renderer through {@link TranslatableComponentRenderer#fromTemplates(java.util.function.BiFunction)}:</p>
+ * <pre>
+ *   TranslatableComponentRenderer.fromTemplates(registry::translate)
+ * </pre>
+ */
+public interface TranslationRegistry {
+  /**
+   * Creates a translation registry, with {@link Locale#US} as the default locale.
+   *
+   * @return a translation registry
+   */
+  static @NonNull TranslationRegistry create() {
+    return new TranslationRegistryImpl();
+  }
+
+  /**
+   * Gets the locale which is used when a translation is not available in the requested locale.
+   *
+   * @return the default locale
+   */
+  @NonNull Locale defaultLocale();
+
+  /**
+   * Sets the locale which is used when a translation is not available in the requested locale.
+   *
+   * @param locale the default locale
+   */
+  void defaultLocale(final @NonNull Locale locale);
+
+  /**
+   * Gets a translation.
+   *
+   * @param locale the locale
+   * @param key the translation key
+   * @return the translation, or {@code null} if it is not available in the locale, its parents, or the default locale
+   */
+  @Nullable TranslationTemplate translate(final @NonNull Locale locale, final @NonNull String key);
+
+  /**
+   * Registers a translation.
+   *
+   * <p>Only the translation for {@code key} is replaced, so registering keys one at a time is cheap. Use
+   * {@link #registerAll(Locale, Map)} when lookups must see several keys change at once.</p>
+   *
+   * @param key the translation key
+   * @param locale the locale
+   * @param format the translation, as a {@link java.text.MessageFormat} pattern
+   */
+  void register(final @NonNull String key, final @NonNull Locale locale, final @NonNull String format);
+
+  /**
+   * Registers translations.
+   *
+   * @param locale the locale
+   * @param formats the translations, as {@link java.text.MessageFormat} patterns, by translation key
+   */
+  void registerAll(final @NonNull Locale locale, final @NonNull Map<String, String> formats);
+
+  /**
+   * Registers the translations in a resource bundle.
+   *
+   * @param locale the locale
+   * @param bundle the bundle
+   */
+  void registerAll(final @NonNull Locale locale, final @NonNull ResourceBundle bundle);
+
+  /**
+   * Registers the translations in a UTF-8 encoded properties file.
+   *
+   * @param locale the locale
+   * @param path the path to the properties file
+   * @throws IOException if the file could not be read
+   */
+  void registerAll(final @NonNull Locale locale, final @NonNull Path path) throws IOException;
+
+  /**
+   * Unregisters a translation key in all locales.
+   *
+   * @param key the translation key
+   */
+  void unregister(final @NonNull String key);
+
+  /**
+   * Replaces all translations.
+   *
+   * <p>The loader registers translations into an empty registry, which then replaces the translations in this
+   * registry all at once - lookups see either the old translations or the new ones, never a mix. Other changes
+   * to this registry wait until the reload is complete.</p>
+   *
+   * @param loader the loader
+   * @throws IOException if the loader could not read translations
+   */
+  void reload(final @NonNull Loader loader) throws IOException;
+
+  /**
+   * Registers translations during a {@link #reload(Loader) reload}.
+   */
+  @FunctionalInterface
+  interface Loader {
+    /**
+     * Registers translations into {@code registry}.
+     *
+     * @param registry the registry
+     * @throws IOException if translations could not be read
+     */
+    void load(final @NonNull TranslationRegistry registry) throws IOException;
+  }
+}
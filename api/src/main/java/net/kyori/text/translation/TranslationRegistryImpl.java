@@ -0,0 +1,191 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.translation;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PropertyResourceBundle;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import net.kyori.text.util.ShadyPines;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static java.util.Objects.requireNonNull;
+
+final class TranslationRegistryImpl implements TranslationRegistry {
+  private static final ResourceBundle.Control CONTROL = ResourceBundle.Control.getNoFallbackControl(ResourceBundle.Control.FORMAT_DEFAULT);
+  /*
+   * The current translations. Writers changing a single key replace its translation in place, and writers
+   * changing more build a new snapshot and swap it in, so a lookup can never observe a partially applied change.
+   */
+  private volatile Snapshot snapshot = new Snapshot(Locale.US, new ConcurrentHashMap<>());
+
+  @Override
+  public @NonNull Locale defaultLocale() {
+    return this.snapshot.defaultLocale;
+  }
+
+  @Override
+  public synchronized void defaultLocale(final @NonNull Locale locale) {
+    requireNonNull(locale, "locale");
+    final Snapshot snapshot = this.snapshot;
+    final Map<String, Translation> translations = new ConcurrentHashMap<>(snapshot.translations.size());
+    // cached resolutions depend on the default locale, so every translation is replaced
+    snapshot.translations.forEach((key, translation) -> translations.put(key, new Translation(translation.templates)));
+    this.snapshot = new Snapshot(locale, translations);
+  }
+
+  @Override
+  public @Nullable TranslationTemplate translate(final @NonNull Locale locale, final @NonNull String key) {
+    final Snapshot snapshot = this.snapshot;
+    final /* @Nullable */ Translation translation = snapshot.translations.get(key);
+    if(translation == null) {
+      return null;
+    }
+    return translation.resolve(locale, snapshot.defaultLocale);
+  }
+
+  @Override
+  public synchronized void register(final @NonNull String key, final @NonNull Locale locale, final @NonNull String format) {
+    requireNonNull(key, "key");
+    requireNonNull(locale, "locale");
+    final TranslationTemplate template = TranslationTemplate.compile(requireNonNull(format, "format"), locale);
+    final Map<String, Translation> translations = this.snapshot.translations;
+    translations.put(key, with(translations.get(key), locale, template));
+  }
+
+  @Override
+  public synchronized void registerAll(final @NonNull Locale locale, final @NonNull Map<String, String> formats) {
+    requireNonNull(locale, "locale");
+    final Snapshot snapshot = this.snapshot;
+    final Map<String, Translation> translations = new ConcurrentHashMap<>(snapshot.translations);
+    for(final Map.Entry<String, String> entry : formats.entrySet()) {
+      final String key = requireNonNull(entry.getKey(), "key");
+      final TranslationTemplate template = TranslationTemplate.compile(requireNonNull(entry.getValue(), "format"), locale);
+      translations.put(key, with(translations.get(key), locale, template));
+    }
+    this.snapshot = new Snapshot(snapshot.defaultLocale, translations);
+  }
+
+  private static @NonNull Translation with(final @Nullable Translation previous, final @NonNull Locale locale, final @NonNull TranslationTemplate template) {
+    final Map<Locale, TranslationTemplate> templates = previous == null ? new HashMap<>() : new HashMap<>(previous.templates);
+    templates.put(locale, template);
+    return new Translation(templates);
+  }
+
+  @Override
+  public void registerAll(final @NonNull Locale locale, final @NonNull ResourceBundle bundle) {
+    final Map<String, String> formats = new HashMap<>();
+    for(final String key : bundle.keySet()) {
+      formats.put(key, bundle.getString(key));
+    }
+    this.registerAll(locale, formats);
+  }
+
+  @Override
+  public void registerAll(final @NonNull Locale locale, final @NonNull Path path) throws IOException {
+    try(final Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+      this.registerAll(locale, new PropertyResourceBundle(reader));
+    }
+  }
+
+  @Override
+  public synchronized void unregister(final @NonNull String key) {
+    this.snapshot.translations.remove(requireNonNull(key, "key"));
+  }
+
+  @Override
+  public synchronized void reload(final @NonNull Loader loader) throws IOException {
+    // holding the lock while loading, so that no change made meanwhile - such as to the default locale - is lost
+    final TranslationRegistryImpl staging = new TranslationRegistryImpl();
+    staging.snapshot = new Snapshot(this.defaultLocale(), new ConcurrentHashMap<>());
+    loader.load(staging);
+    this.snapshot = staging.snapshot;
+  }
+
+  @Override
+  public String toString() {
+    return ShadyPines.toString(this, map -> {
+      final Snapshot snapshot = this.snapshot;
+      map.put("defaultLocale", snapshot.defaultLocale);
+      map.put("keys", snapshot.translations.size());
+    });
+  }
+
+  private static final class Snapshot {
+    final Locale defaultLocale;
+    final Map<String, Translation> translations;
+
+    Snapshot(final @NonNull Locale defaultLocale, final @NonNull Map<String, Translation> translations) {
+      this.defaultLocale = defaultLocale;
+      this.translations = translations;
+    }
+  }
+
+  private static final class Translation {
+    // marks a locale for which no template could be found, since a concurrent map cannot hold null
+    private static final TranslationTemplate MISSING = TranslationTemplate.builder().build();
+    final Map<Locale, TranslationTemplate> templates;
+    // the result of walking the fallback chain, per requested locale
+    private final Map<Locale, TranslationTemplate> resolved = new ConcurrentHashMap<>();
+
+    Translation(final @NonNull Map<Locale, TranslationTemplate> templates) {
+      this.templates = templates;
+    }
+
+    @Nullable TranslationTemplate resolve(final @NonNull Locale locale, final @NonNull Locale defaultLocale) {
+      TranslationTemplate template = this.resolved.get(locale);
+      if(template == null) {
+        template = this.find(locale);
+        if(template == null && !locale.equals(defaultLocale)) {
+          template = this.find(defaultLocale);
+        }
+        if(template == null) {
+          template = MISSING;
+        }
+        this.resolved.put(locale, template);
+      }
+      return template == MISSING ? null : template;
+    }
+
+    private @Nullable TranslationTemplate find(final @NonNull Locale locale) {
+      final List<Locale> candidates = CONTROL.getCandidateLocales("", locale);
+      for(int i = 0, size = candidates.size(); i < size; i++) {
+        final /* @Nullable */ TranslationTemplate template = this.templates.get(candidates.get(i));
+        if(template != null) {
+          return template;
+        }
+      }
+      return null;
+    }
+  }
+}
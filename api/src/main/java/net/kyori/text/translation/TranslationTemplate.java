@@ -0,0 +1,278 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.translation;
+
+import java.text.AttributedCharacterIterator;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import net.kyori.text.Component;
+import net.kyori.text.ComponentBuilder;
+import net.kyori.text.TextComponent;
+import net.kyori.text.util.ShadyPines;
+import org.checkerframework.checker.index.qual.NonNegative;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A compiled translation - a sequence of literal text and argument placeholders.
+ *
+ * <p>Templates are immutable, and may be rendered by many threads at once.</p>
+ */
+public final class TranslationTemplate {
+  static final int LITERAL = -1;
+
+  // for each segment, either a literal or an argument index
+  private final TextComponent[] literals;
+  private final int[] arguments;
+  private final String string;
+
+  private TranslationTemplate(final TextComponent[] literals, final int[] arguments) {
+    this.literals = literals;
+    this.arguments = arguments;
+    final StringBuilder sb = new StringBuilder();
+    for(int i = 0; i < arguments.length; i++) {
+      if(arguments[i] == LITERAL) {
+        sb.append(literals[i].content());
+      } else {
+        sb.append('{').append(arguments[i]).append('}');
+      }
+    }
+    this.string = sb.toString();
+  }
+
+  /**
+   * Creates a template builder.
+   *
+   * @return a builder
+   */
+  public static @NonNull Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Compiles a template from a {@link MessageFormat} pattern.
+   *
+   * @param pattern the pattern
+   * @param locale the locale
+   * @return a template
+   */
+  public static @NonNull TranslationTemplate compile(final @NonNull String pattern, final @NonNull Locale locale) {
+    return compile(new MessageFormat(pattern, locale));
+  }
+
+  /**
+   * Compiles a template from a {@link MessageFormat}.
+   *
+   * <p>Each argument becomes a placeholder, and everything else becomes literal text.</p>
+   *
+   * @param format the format
+   * @return a template
+   */
+  public static @NonNull TranslationTemplate compile(final @NonNull MessageFormat format) {
+    final Builder builder = new Builder();
+    // message formats are not thread-safe, and this is the only time we touch this one
+    synchronized(format) {
+      final AttributedCharacterIterator it = format.formatToCharacterIterator(new Object[format.getFormatsByArgumentIndex().length]);
+      final StringBuilder sb = new StringBuilder();
+      while(it.getIndex() < it.getEndIndex()) {
+        final int end = it.getRunLimit(MessageFormat.Field.ARGUMENT);
+        final Integer index = (Integer) it.getAttribute(MessageFormat.Field.ARGUMENT);
+        if(index != null) {
+          builder.argument(index);
+        } else {
+          sb.setLength(0);
+          for(char c = it.current(); it.getIndex() < end; c = it.next()) {
+            sb.append(c);
+          }
+          builder.text(sb.toString());
+        }
+        it.setIndex(end);
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * Gets this template as a string, with <code>{<i>n</i>}</code> in place of each argument.
+   *
+   * <p>This is the content of a translation rendered without arguments.</p>
+   *
+   * @return the string
+   */
+  public @NonNull String asString() {
+    return this.string;
+  }
+
+  /**
+   * Appends the segments of this template to a builder.
+   *
+   * <p>Literal text is appended as a text component. Arguments are appended after passing them through
+   * {@code renderer}. Any argument without a matching element in {@code args} is rendered as literal
+   * <code>{<i>n</i>}</code>, merged with the literal text around it.</p>
+   *
+   * @param builder the builder
+   * @param args the arguments
+   * @param renderer the argument renderer
+   */
+  public void render(final @NonNull ComponentBuilder<?, ?> builder, final @NonNull List<? extends Component> args, final @NonNull Function<? super Component, ? extends Component> renderer) {
+    // literal text not yet appended, from the segment at start - only built when a missing argument is merged
+    int start = -1;
+    /* @Nullable */ StringBuilder text = null;
+    for(int i = 0; i < this.arguments.length; i++) {
+      final int argument = this.arguments[i];
+      if(argument != LITERAL && argument < args.size()) {
+        this.flush(builder, start, text);
+        start = -1;
+        text = null;
+        builder.append(renderer.apply(args.get(argument)));
+        continue;
+      }
+      if(start == -1) {
+        start = i;
+      } else {
+        if(text == null) text = new StringBuilder(this.segment(start));
+        text.append(this.segment(i));
+      }
+    }
+    this.flush(builder, start, text);
+  }
+
+  private void flush(final @NonNull ComponentBuilder<?, ?> builder, final int start, final @Nullable StringBuilder text) {
+    if(text != null) {
+      builder.append(TextComponent.of(text.toString()));
+    } else if(start != -1) {
+      // a single segment - the literal is pre-built
+      builder.append(this.arguments[start] == LITERAL ? this.literals[start] : TextComponent.of(this.segment(start)));
+    }
+  }
+
+  // the text of a segment, with missing arguments as {n}
+  private @NonNull String segment(final int segment) {
+    final int argument = this.arguments[segment];
+    return argument == LITERAL ? this.literals[segment].content() : "{" + argument + "}";
+  }
+
+  // the number of segments
+  int size() {
+    return this.arguments.length;
+  }
+
+  // the argument index of a segment, or LITERAL
+  int argument(final int segment) {
+    return this.arguments[segment];
+  }
+
+  // the text of a literal segment
+  @NonNull String literal(final int segment) {
+    return this.literals[segment].content();
+  }
+
+  @Override
+  public boolean equals(final @Nullable Object other) {
+    if(this == other) return true;
+    if(!(other instanceof TranslationTemplate)) return false;
+    final TranslationTemplate that = (TranslationTemplate) other;
+    return Arrays.equals(this.arguments, that.arguments) && Arrays.equals(this.literals, that.literals);
+  }
+
+  @Override
+  public int hashCode() {
+    return (31 * Arrays.hashCode(this.arguments)) + Arrays.hashCode(this.literals);
+  }
+
+  @Override
+  public String toString() {
+    return ShadyPines.toString(this, map -> map.put("template", this.string));
+  }
+
+  /**
+   * A template builder.
+   */
+  public static final class Builder {
+    private final List<TextComponent> literals = new ArrayList<>();
+    private final List<Integer> arguments = new ArrayList<>();
+    private @Nullable StringBuilder text;
+
+    Builder() {
+    }
+
+    /**
+     * Appends literal text.
+     *
+     * @param text the text
+     * @return this builder
+     */
+    public @NonNull Builder text(final @NonNull String text) {
+      requireNonNull(text, "text");
+      if(!text.isEmpty()) {
+        if(this.text == null) this.text = new StringBuilder();
+        this.text.append(text);
+      }
+      return this;
+    }
+
+    /**
+     * Appends an argument placeholder.
+     *
+     * @param index the argument index
+     * @return this builder
+     */
+    public @NonNull Builder argument(final @NonNegative int index) {
+      if(index < 0) throw new IllegalArgumentException(String.format("argument index %d is negative", index));
+      this.flushText();
+      this.literals.add(null);
+      this.arguments.add(index);
+      return this;
+    }
+
+    private void flushText() {
+      if(this.text != null) {
+        this.literals.add(TextComponent.of(this.text.toString()));
+        this.arguments.add(LITERAL);
+        this.text = null;
+      }
+    }
+
+    /**
+     * Builds the template.
+     *
+     * @return the template
+     */
+    public @NonNull TranslationTemplate build() {
+      this.flushText();
+      final int size = this.arguments.size();
+      final int[] arguments = new int[size];
+      for(int i = 0; i < size; i++) {
+        arguments[i] = this.arguments.get(i);
+      }
+      return new TranslationTemplate(this.literals.toArray(new TextComponent[size]), arguments);
+    }
+  }
+}
@@ -0,0 +1,396 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+import org.checkerframework.checker.index.qual.NonNegative;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A thread-safe cache bounded by size and weight.
+ *
+ * <p>When the cache is over a bound, entries are evicted with the CLOCK algorithm - an approximation of
+ * least-recently-used which lets reads proceed without locking. Writes and eviction share a lock, and
+ * eviction happens on the thread that pushed the cache over its bounds.</p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public final class BoundedCache<K, V> {
+  private final ConcurrentHashMap<K, Node<K, V>> map = new ConcurrentHashMap<>();
+  private final Object lock = new Object();
+  // the clock - a ring of the cached nodes, where entries are inserted behind the hand
+  private @Nullable Node<K, V> hand; // guarded by lock
+  private volatile long weight; // written under lock
+  private final long maximumSize;
+  private final long maximumWeight;
+  private final ToIntBiFunction<? super K, ? super V> weigher;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  private BoundedCache(final long maximumSize, final long maximumWeight, final @NonNull ToIntBiFunction<? super K, ? super V> weigher) {
+    this.maximumSize = maximumSize;
+    this.maximumWeight = maximumWeight;
+    this.weigher = weigher;
+  }
+
+  /**
+   * Creates a cache builder.
+   *
+   * @param <K> the key type
+   * @param <V> the value type
+   * @return a builder
+   */
+  public static <K, V> @NonNull Builder<K, V> builder() {
+    return new Builder<>();
+  }
+
+  /**
+   * Gets the value cached for a key.
+   *
+   * @param key the key
+   * @return the value, or {@code null}
+   */
+  public @Nullable V get(final @NonNull K key) {
+    final Node<K, V> node = this.map.get(key);
+    if(node == null) {
+      this.misses.increment();
+      return null;
+    }
+    this.hits.increment();
+    node.referenced = true;
+    return node.value;
+  }
+
+  /**
+   * Gets the value cached for a key, computing and caching it if absent.
+   *
+   * <p>The function is called without holding any lock. If two threads compute a value for the same key
+   * at once, both get the value cached first.</p>
+   *
+   * @param key the key
+   * @param function the function to compute a value
+   * @return the value
+   */
+  public @NonNull V computeIfAbsent(final @NonNull K key, final @NonNull Function<? super K, ? extends V> function) {
+    final V value = this.get(key);
+    if(value != null) return value;
+    final V computed = requireNonNull(function.apply(key), "computed value");
+    final Node<K, V> node = new Node<>(key, computed, this.weigher.applyAsInt(key, computed));
+    final Node<K, V> previous = this.map.putIfAbsent(key, node);
+    if(previous != null) return previous.value;
+    this.added(node);
+    return computed;
+  }
+
+  /**
+   * Caches a value for a key.
+   *
+   * @param key the key
+   * @param value the value
+   */
+  public void put(final @NonNull K key, final @NonNull V value) {
+    final Node<K, V> node = new Node<>(key, requireNonNull(value, "value"), this.weigher.applyAsInt(key, value));
+    final Node<K, V> previous = this.map.put(key, node);
+    if(previous != null) this.removed(previous);
+    this.added(node);
+  }
+
+  /**
+   * Removes the value cached for a key.
+   *
+   * @param key the key
+   */
+  public void remove(final @NonNull K key) {
+    final Node<K, V> node = this.map.remove(key);
+    if(node != null) this.removed(node);
+  }
+
+  /**
+   * Removes all cached values.
+   */
+  public void clear() {
+    synchronized(this.lock) {
+      Node<K, V> node = this.hand;
+      while(node != null) {
+        final Node<K, V> next = node.next;
+        // nodes which are not yet linked stay cached, and link once we are done
+        this.map.remove(node.key, node);
+        node.removed = true;
+        node.next = null;
+        node.prev = null;
+        node = next == this.hand ? null : next;
+      }
+      this.hand = null;
+      this.weight = 0;
+    }
+  }
+
+  /**
+   * Gets the number of cached values.
+   *
+   * @return the number of cached values
+   */
+  public int size() {
+    return this.map.size();
+  }
+
+  /**
+   * Gets the total weight of the cached values.
+   *
+   * @return the total weight
+   */
+  public long weight() {
+    return this.weight;
+  }
+
+  /**
+   * Gets a snapshot of the statistics of this cache.
+   *
+   * @return the statistics
+   */
+  public @NonNull Stats stats() {
+    return new Stats(this.hits.sum(), this.misses.sum(), this.evictions.sum());
+  }
+
+  private void added(final @NonNull Node<K, V> node) {
+    synchronized(this.lock) {
+      // removed before we got here
+      if(node.removed) return;
+      if(this.hand == null) {
+        node.next = node;
+        node.prev = node;
+        this.hand = node;
+      } else {
+        node.next = this.hand;
+        node.prev = this.hand.prev;
+        this.hand.prev.next = node;
+        this.hand.prev = node;
+      }
+      this.weight += node.weight;
+      if(this.overBounds()) this.evict();
+    }
+  }
+
+  private void removed(final @NonNull Node<K, V> node) {
+    synchronized(this.lock) {
+      this.unlink(node);
+    }
+  }
+
+  // guarded by lock
+  private void unlink(final @NonNull Node<K, V> node) {
+    node.removed = true;
+    // not linked yet, or already unlinked
+    if(node.next == null) return;
+    if(node.next == node) {
+      this.hand = null;
+    } else {
+      node.prev.next = node.next;
+      node.next.prev = node.prev;
+      if(this.hand == node) this.hand = node.next;
+    }
+    node.next = null;
+    node.prev = null;
+    this.weight -= node.weight;
+  }
+
+  private boolean overBounds() {
+    return this.map.size() > this.maximumSize || this.weight > this.maximumWeight;
+  }
+
+  // guarded by lock
+  private void evict() {
+    while(this.overBounds()) {
+      final Node<K, V> node = this.hand;
+      if(node == null) return;
+      if(node.referenced) {
+        // a second chance
+        node.referenced = false;
+        this.hand = node.next;
+      } else {
+        // if this fails, the node was removed and is waiting for the lock to be unlinked
+        if(this.map.remove(node.key, node)) this.evictions.increment();
+        this.unlink(node);
+      }
+    }
+  }
+
+  // the number of nodes in the clock
+  int clockSize() {
+    synchronized(this.lock) {
+      int size = 0;
+      for(Node<K, V> node = this.hand; node != null; node = node.next == this.hand ? null : node.next) {
+        size++;
+      }
+      return size;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return ShadyPines.toString(this, map -> {
+      map.put("size", this.size());
+      map.put("weight", this.weight());
+      map.put("maximumSize", this.maximumSize);
+      map.put("maximumWeight", this.maximumWeight);
+      map.put("stats", this.stats());
+    });
+  }
+
+  private static final class Node<K, V> {
+    final K key;
+    final V value;
+    final int weight;
+    volatile boolean referenced;
+    // guarded by lock
+    boolean removed;
+    @Nullable Node<K, V> prev;
+    @Nullable Node<K, V> next;
+
+    Node(final @NonNull K key, final @NonNull V value, final int weight) {
+      this.key = key;
+      this.value = value;
+      this.weight = weight;
+    }
+  }
+
+  /**
+   * Cache statistics.
+   */
+  public static final class Stats {
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+
+    Stats(final long hits, final long misses, final long evictions) {
+      this.hits = hits;
+      this.misses = misses;
+      this.evictions = evictions;
+    }
+
+    /**
+     * Gets the number of lookups which found a value.
+     *
+     * @return the number of hits
+     */
+    public long hits() {
+      return this.hits;
+    }
+
+    /**
+     * Gets the number of lookups which did not find a value.
+     *
+     * @return the number of misses
+     */
+    public long misses() {
+      return this.misses;
+    }
+
+    /**
+     * Gets the number of values evicted to keep the cache within its bounds.
+     *
+     * @return the number of evictions
+     */
+    public long evictions() {
+      return this.evictions;
+    }
+
+    /**
+     * Gets the ratio of hits to lookups.
+     *
+     * @return the hit rate, or {@code 1} if there have been no lookups
+     */
+    public double hitRate() {
+      final long lookups = this.hits + this.misses;
+      return lookups == 0 ? 1 : (double) this.hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+      return ShadyPines.toString(this, map -> {
+        map.put("hits", this.hits);
+        map.put("misses", this.misses);
+        map.put("evictions", this.evictions);
+      });
+    }
+  }
+
+  /**
+   * A cache builder.
+   *
+   * @param <K> the key type
+   * @param <V> the value type
+   */
+  public static final class Builder<K, V> {
+    private long maximumSize = Long.MAX_VALUE;
+    private long maximumWeight = Long.MAX_VALUE;
+    private ToIntBiFunction<? super K, ? super V> weigher = (key, value) -> 1;
+
+    Builder() {
+    }
+
+    /**
+     * Sets the maximum number of values.
+     *
+     * @param maximumSize the maximum size
+     * @return this builder
+     */
+    public @NonNull Builder<K, V> maximumSize(final @NonNegative long maximumSize) {
+      if(maximumSize < 0) throw new IllegalArgumentException("maximum size must not be negative");
+      this.maximumSize = maximumSize;
+      return this;
+    }
+
+    /**
+     * Sets the maximum total weight of values, and how to weigh them.
+     *
+     * @param maximumWeight the maximum weight
+     * @param weigher the weigher
+     * @return this builder
+     */
+    public @NonNull Builder<K, V> maximumWeight(final @NonNegative long maximumWeight, final @NonNull ToIntBiFunction<? super K, ? super V> weigher) {
+      if(maximumWeight < 0) throw new IllegalArgumentException("maximum weight must not be negative");
+      this.maximumWeight = maximumWeight;
+      this.weigher = requireNonNull(weigher, "weigher");
+      return this;
+    }
+
+    /**
+     * Builds the cache.
+     *
+     * @return the cache
+     */
+    public @NonNull BoundedCache<K, V> build() {
+      return new BoundedCache<>(this.maximumSize, this.maximumWeight, this.weigher);
+    }
+  }
+}
@@ -36,7 +36,7 @@ import org.checkerframework.checker.nullness.qual.NonNull;
  *
  * @param <E> the type
  */
-public final class NameMap<E extends Enum<E>> {
+public final class NameMap<E> {
   private final Map<String, E> nameToValue;
   private final Map<E, String> valueToName;
 
@@ -53,7 +53,7 @@ public final class NameMap<E extends Enum<E>> {
    * @param <E> the type
    * @return the name map
    */
-  @SuppressWarnings("DuplicatedCode") // TODO: remove when deprecated method below is removed
+  @SuppressWarnings("DuplicatedCode")
   public static <E extends Enum<E>> @NonNull NameMap<E> create(final Class<E> type, final @NonNull Function<E, String> namer) {
     final E[] constants = type.getEnumConstants();
     final int length = constants.length;
@@ -75,11 +75,9 @@ public final class NameMap<E extends Enum<E>> {
    * @param namer the name provider
    * @param <E> the type
    * @return the name map
-   * @deprecated use {@link #create(Class, Function)}
    */
-  @Deprecated
   @SuppressWarnings("DuplicatedCode")
-  public static <E extends Enum<E>> @NonNull NameMap<E> create(final E @NonNull[] constants, final @NonNull Function<E, String> namer) {
+  public static <E> @NonNull NameMap<E> create(final E @NonNull[] constants, final @NonNull Function<E, String> namer) {
     final int length = constants.length;
     final Map<String, E> nameToValue = new HashMap<>(length);
     final Map<E, String> valueToName = new HashMap<>(length);
@@ -0,0 +1,164 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.util;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A thread-safe cache keyed by object identity, which does not keep its keys alive.
+ *
+ * <p>This is intended for memoizing values derived from immutable objects, such as components.</p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public final class WeakIdentityCache<K, V> {
+  private final ConcurrentMap<Object, V> map = new ConcurrentHashMap<>();
+  private final ReferenceQueue<K> queue = new ReferenceQueue<>();
+
+  /**
+   * Gets the value cached for a key.
+   *
+   * @param key the key
+   * @return the value, or {@code null}
+   */
+  public @Nullable V get(final @NonNull K key) {
+    this.expunge();
+    return this.map.get(new StrongKey(key));
+  }
+
+  /**
+   * Caches a value for a key.
+   *
+   * @param key the key
+   * @param value the value
+   */
+  public void put(final @NonNull K key, final @NonNull V value) {
+    this.expunge();
+    this.map.put(new WeakKey<>(key, this.queue), value);
+  }
+
+  /**
+   * Gets the value cached for a key, computing and caching it if absent.
+   *
+   * <p>The function is called without holding any lock, so it may itself use this cache. If two threads
+   * compute a value for the same key at once, both get the value cached first.</p>
+   *
+   * @param key the key
+   * @param function the function to compute a value
+   * @return the value
+   */
+  public @NonNull V computeIfAbsent(final @NonNull K key, final @NonNull Function<? super K, ? extends V> function) {
+    final V value = this.get(key);
+    if(value != null) return value;
+    final V computed = function.apply(key);
+    final V previous = this.map.putIfAbsent(new WeakKey<>(key, this.queue), computed);
+    return previous != null ? previous : computed;
+  }
+
+  /**
+   * Removes the value cached for a key.
+   *
+   * @param key the key
+   */
+  public void remove(final @NonNull K key) {
+    this.expunge();
+    this.map.remove(new StrongKey(key));
+  }
+
+  /**
+   * Gets the number of cached values, including any whose keys were collected but not yet removed.
+   *
+   * @return the number of cached values
+   */
+  public int size() {
+    this.expunge();
+    return this.map.size();
+  }
+
+  /**
+   * Removes all cached values.
+   */
+  public void clear() {
+    this.map.clear();
+  }
+
+  private void expunge() {
+    Reference<? extends K> reference;
+    while((reference = this.queue.poll()) != null) {
+      this.map.remove(reference);
+    }
+  }
+
+  /*
+   * Used for lookups - equal to a weak key with the same referent.
+   */
+  private static final class StrongKey {
+    private final Object referent;
+
+    StrongKey(final @NonNull Object referent) {
+      this.referent = referent;
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object other) {
+      return other instanceof WeakKey<?> && ((WeakKey<?>) other).get() == this.referent;
+    }
+
+    @Override
+    public int hashCode() {
+      return System.identityHashCode(this.referent);
+    }
+  }
+
+  private static final class WeakKey<K> extends WeakReference<K> {
+    private final int hash;
+
+    WeakKey(final @NonNull K referent, final @NonNull ReferenceQueue<K> queue) {
+      super(referent, queue);
+      this.hash = System.identityHashCode(referent);
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object other) {
+      if(this == other) return true;
+      final Object referent = this.get();
+      if(referent == null) return false;
+      if(other instanceof StrongKey) return ((StrongKey) other).referent == referent;
+      return other instanceof WeakKey<?> && ((WeakKey<?>) other).get() == referent;
+    }
+
+    @Override
+    public int hashCode() {
+      return this.hash;
+    }
+  }
+}
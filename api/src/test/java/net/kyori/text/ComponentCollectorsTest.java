@@ -0,0 +1,97 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import net.kyori.text.format.TextColor;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ComponentCollectorsTest {
+  @Test
+  void testJoining_empty() {
+    assertSame(TextComponent.empty(), Stream.<Component>empty().collect(ComponentCollectors.joining()));
+    assertSame(TextComponent.empty(), Stream.<Component>empty().collect(ComponentCollectors.joining(TextComponent.space())));
+  }
+
+  @Test
+  void testJoining() {
+    final List<Component> components = rows(5);
+    assertEquals(
+      TextComponent.builder().append(components).build(),
+      components.stream().collect(ComponentCollectors.joining())
+    );
+    assertEquals(
+      TextComponent.join(TextComponent.newline(), components),
+      components.stream().collect(ComponentCollectors.joining(TextComponent.newline()))
+    );
+  }
+
+  @Test
+  void testJoining_prefixAndSuffix() {
+    final Component prefix = TextComponent.of("[");
+    final Component suffix = TextComponent.of("]");
+    assertEquals(
+      TextComponent.builder().append(prefix, suffix).build(),
+      Stream.<Component>empty().collect(ComponentCollectors.joining(TextComponent.space(), prefix, suffix))
+    );
+    assertEquals(
+      TextComponent.builder().append(prefix, TextComponent.of("0"), TextComponent.space(), TextComponent.of("1"), suffix).build(),
+      Stream.of(TextComponent.of("0"), TextComponent.of("1")).collect(ComponentCollectors.joining(TextComponent.space(), prefix, suffix))
+    );
+  }
+
+  @Test
+  void testJoining_parallel() {
+    final List<Component> components = rows(10_000);
+    assertEquals(
+      TextComponent.join(TextComponent.newline(), components),
+      components.parallelStream().collect(ComponentCollectors.joining(TextComponent.newline()))
+    );
+  }
+
+  @Test
+  void testToChildren() {
+    final List<Component> components = rows(10_000);
+    assertEquals(
+      TextComponent.builder("rows").color(TextColor.GOLD).append(components).build(),
+      components.parallelStream().collect(ComponentCollectors.toChildren(() -> TextComponent.builder("rows").color(TextColor.GOLD)))
+    );
+    assertEquals(
+      TranslatableComponent.builder("rows").append(components).build(),
+      components.stream().collect(ComponentCollectors.toChildren(() -> TranslatableComponent.builder("rows")))
+    );
+  }
+
+  private static List<Component> rows(final int count) {
+    return IntStream.range(0, count)
+      .mapToObj(TextComponent::of)
+      .collect(Collectors.toList());
+  }
+}
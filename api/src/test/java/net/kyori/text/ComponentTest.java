@@ -23,11 +23,13 @@
  */
 package net.kyori.text;
 
+import net.kyori.minecraft.Key;
 import net.kyori.text.event.HoverEvent;
 import net.kyori.text.format.Style;
 import net.kyori.text.format.TextDecoration;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -70,4 +72,62 @@ class ComponentTest {
       fail("A component was added to itself");
     });
   }
+
+  @Test
+  void testAccept() {
+    final ComponentVisitor<String, String> visitor = new ComponentVisitor<String, String>() {
+      @Override
+      public String visitBlockNbt(final BlockNbtComponent component, final String context) {
+        return context + "block nbt";
+      }
+
+      @Override
+      public String visitEntityNbt(final EntityNbtComponent component, final String context) {
+        return context + "entity nbt";
+      }
+
+      @Override
+      public String visitStorageNbt(final StorageNbtComponent component, final String context) {
+        return context + "storage nbt";
+      }
+
+      @Override
+      public String visitKeybind(final KeybindComponent component, final String context) {
+        return context + "keybind";
+      }
+
+      @Override
+      public String visitScore(final ScoreComponent component, final String context) {
+        return context + "score";
+      }
+
+      @Override
+      public String visitSelector(final SelectorComponent component, final String context) {
+        return context + "selector";
+      }
+
+      @Override
+      public String visitText(final TextComponent component, final String context) {
+        return context + "text";
+      }
+
+      @Override
+      public String visitTranslatable(final TranslatableComponent component, final String context) {
+        return context + "translatable";
+      }
+
+      @Override
+      public String visitOther(final Component component, final String context) {
+        return context + "other";
+      }
+    };
+    assertEquals("a block nbt", BlockNbtComponent.of("abc", BlockNbtComponent.LocalPos.of(1, 2, 3)).accept(visitor, "a "));
+    assertEquals("a entity nbt", EntityNbtComponent.of("abc", "@p").accept(visitor, "a "));
+    assertEquals("a storage nbt", StorageNbtComponent.of("abc", Key.of("abc")).accept(visitor, "a "));
+    assertEquals("a keybind", KeybindComponent.of("key.jump").accept(visitor, "a "));
+    assertEquals("a score", ScoreComponent.of("abc", "def").accept(visitor, "a "));
+    assertEquals("a selector", SelectorComponent.of("@p").accept(visitor, "a "));
+    assertEquals("a text", TextComponent.of("abc").accept(visitor, "a "));
+    assertEquals("a translatable", TranslatableComponent.of("abc").accept(visitor, "a "));
+  }
 }
@@ -24,6 +24,7 @@
 package net.kyori.text;
 
 import com.google.common.collect.ImmutableSet;
+import java.util.Arrays;
 import java.util.stream.IntStream;
 import net.kyori.text.format.TextColor;
 import net.kyori.text.format.TextDecoration;
@@ -34,6 +35,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class TextComponentTest extends AbstractComponentTest<TextComponent, TextComponent.Builder> {
@@ -92,6 +94,15 @@ class TextComponentTest extends AbstractComponentTest<TextComponent, TextCompone
     assertTrue(component.contains(child));
   }
 
+  @Test
+  void testChildrenNulls() {
+    final Component component = TextComponent.of("cat").append(TextComponent.of("kittens"));
+    assertFalse(component.children().contains(null));
+    assertEquals(-1, component.children().indexOf(null));
+    assertEquals(-1, component.children().lastIndexOf(null));
+    assertThrows(NullPointerException.class, () -> component.children(Arrays.asList(TextComponent.of("kittens"), null)));
+  }
+
   @Test
   void testContent() {
     final TextComponent c0 = TextComponent.of("foo");
@@ -130,4 +141,14 @@ class TextComponentTest extends AbstractComponentTest<TextComponent, TextCompone
       c0
     );
   }
+
+  @Test
+  void testChildrenAreShared() {
+    final Component c0 = TextComponent.builder("foo").append(TextComponent.of("bar"), TextComponent.of("baz")).build();
+    final Component c1 = TextComponent.of("qux").children(c0.children());
+    assertSame(c0.children(), c1.children());
+    assertFalse(c1.children().contains(null));
+    assertThrows(UnsupportedOperationException.class, () -> c1.children().add(TextComponent.of("quux")));
+    assertThrows(NullPointerException.class, () -> TextComponent.of("qux").children(Arrays.asList(TextComponent.of("bar"), null)));
+  }
 }
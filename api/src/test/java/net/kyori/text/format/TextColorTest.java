@@ -0,0 +1,89 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.format;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TextColorTest {
+  @Test
+  void testNamed() {
+    assertEquals(16, TextColor.values().length);
+    for(final TextColor color : TextColor.values()) {
+      assertTrue(color.isNamed());
+      assertSame(color, TextColor.of(color.value()));
+      assertSame(color, color.nearestNamed());
+      assertEquals(color, TextColor.NAMES.value(color.toString()).get());
+    }
+    assertSame(TextColor.GOLD, TextColor.of(0xff, 0xaa, 0x00));
+  }
+
+  @Test
+  void testRgb() {
+    final TextColor color = TextColor.of(0x12abef);
+    assertFalse(color.isNamed());
+    assertEquals(0x12, color.red());
+    assertEquals(0xab, color.green());
+    assertEquals(0xef, color.blue());
+    assertEquals(color, TextColor.of(0xff12abef));
+    assertEquals(color.hashCode(), TextColor.of(0x12abef).hashCode());
+    assertEquals("#12abef", color.toString());
+  }
+
+  @Test
+  void testHexString() {
+    assertEquals("#000001", TextColor.of(1).asHexString());
+    assertEquals("#ffaa00", TextColor.GOLD.asHexString());
+    assertSame(TextColor.GOLD, TextColor.fromHexString("#FFAA00"));
+    assertEquals(TextColor.of(0x0a0b0c), TextColor.fromHexString("#0a0b0c"));
+    assertNull(TextColor.fromHexString("ffaa00"));
+    assertNull(TextColor.fromHexString("#ffaa0"));
+    assertNull(TextColor.fromHexString("#ffaa0g"));
+  }
+
+  @Test
+  void testNearestNamed() {
+    assertSame(TextColor.RED, TextColor.of(0xf05050).nearestNamed());
+    assertSame(TextColor.BLACK, TextColor.of(0x0a0a0a).nearestNamed());
+    assertSame(TextColor.WHITE, TextColor.of(0xfafafa).nearestNamed());
+    assertSame(TextColor.DARK_BLUE, TextColor.of(0x0000b0).nearestNamed());
+    assertSame(TextColor.GOLD, TextColor.of(0xf0a010).nearestNamed());
+  }
+
+  @Test
+  void testEnumMethods() {
+    assertEquals("DARK_BLUE", TextColor.DARK_BLUE.name());
+    assertEquals(1, TextColor.DARK_BLUE.ordinal());
+    assertSame(TextColor.DARK_BLUE, TextColor.valueOf("DARK_BLUE"));
+    assertEquals("#123456", TextColor.of(0x123456).name());
+    assertEquals(-1, TextColor.of(0x123456).ordinal());
+    assertThrows(IllegalArgumentException.class, () -> TextColor.valueOf("dark_blue"));
+  }
+}
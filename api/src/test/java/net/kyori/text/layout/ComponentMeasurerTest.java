@@ -0,0 +1,99 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.layout;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import net.kyori.text.Component;
+import net.kyori.text.TextComponent;
+import net.kyori.text.format.Style;
+import net.kyori.text.format.TextColor;
+import net.kyori.text.format.TextDecoration;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ComponentMeasurerTest {
+  @Test
+  void testDefaultFont() {
+    final GlyphWidthTable table = GlyphWidthTable.defaultFont();
+    assertEquals(6, table.width('a'));
+    assertEquals(2, table.width('i'));
+    assertEquals(4, table.width(' '));
+    assertEquals(6, table.width('é'));
+    assertEquals(7, table.width('a', Style.of(TextDecoration.BOLD)));
+  }
+
+  @Test
+  void testCustomTable() {
+    final GlyphWidthTable table = GlyphWidthTable.defaultFont().toBuilder()
+      .width(0x1F600, 9)
+      .width("a", 3)
+      .boldOffset(2)
+      .build();
+    assertEquals(9, table.width(0x1F600));
+    assertEquals(3, table.width('a'));
+    assertEquals(5, table.width('a', Style.of(TextDecoration.BOLD)));
+    assertEquals(6, GlyphWidthTable.defaultFont().width('a'));
+    assertThrows(IllegalArgumentException.class, () -> GlyphWidthTable.builder().width('a', 128));
+  }
+
+  @Test
+  void testWidth() {
+    final ComponentMeasurer measurer = ComponentMeasurer.defaultFont();
+    assertEquals(0, measurer.width(TextComponent.empty()));
+    assertEquals(6 + 2 + 4 + 6, measurer.width(TextComponent.of("hi a")));
+    // bold is inherited, unless turned off
+    assertEquals(7 + 3 + 5 + 6, measurer.width(
+      TextComponent.builder("hi ")
+        .decoration(TextDecoration.BOLD, true)
+        .append(TextComponent.builder("a").decoration(TextDecoration.BOLD, false).build())
+        .build()
+    ));
+  }
+
+  @Test
+  void testMemoized() {
+    final AtomicInteger calls = new AtomicInteger();
+    final ComponentMeasurer measurer = ComponentMeasurer.of((codePoint, style) -> {
+      calls.incrementAndGet();
+      return 1;
+    });
+    final Component shared = TextComponent.of("shared");
+    final Component first = TextComponent.builder("abc").append(shared).build();
+    assertEquals(9, measurer.width(first));
+    assertEquals(9, calls.get());
+    assertEquals(9, measurer.width(first));
+    assertEquals(9, calls.get());
+    // a new parent only measures its own content
+    assertEquals(7, measurer.width(TextComponent.builder("x").append(shared).build()));
+    assertEquals(10, calls.get());
+    // colors do not change the width, so an inherited color does not measure again
+    assertEquals(7, measurer.width(TextComponent.builder("x").color(TextColor.RED).append(shared).build()));
+    assertEquals(11, calls.get());
+    // but inherited boldness does
+    assertEquals(7, measurer.width(TextComponent.builder("x").decoration(TextDecoration.BOLD, true).append(shared).build()));
+    assertEquals(18, calls.get());
+  }
+}
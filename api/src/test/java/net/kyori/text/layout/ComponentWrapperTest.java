@@ -0,0 +1,165 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.layout;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import net.kyori.text.Component;
+import net.kyori.text.TextComponent;
+import net.kyori.text.TranslatableComponent;
+import net.kyori.text.event.ClickEvent;
+import net.kyori.text.format.Style;
+import net.kyori.text.format.TextColor;
+import net.kyori.text.format.TextDecoration;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ComponentWrapperTest {
+  private static final ComponentWrapper TEN = ComponentWrapper.builder().maxWidth(10).build();
+
+  @Test
+  void testBuilderRequiresWidth() {
+    assertThrows(IllegalStateException.class, () -> ComponentWrapper.builder().build());
+    assertThrows(IllegalArgumentException.class, () -> ComponentWrapper.builder().maxWidth(0));
+  }
+
+  @Test
+  void testFits() {
+    final Component component = TextComponent.builder("hello ").append(TextComponent.of("world", TextColor.RED)).build();
+    final List<Component> lines = TEN.wrap(TextComponent.of("short"));
+    assertEquals(Collections.singletonList(TextComponent.of("short")), lines);
+    assertSame(component, ComponentWrapper.builder().maxWidth(11).build().wrap(component).get(0));
+  }
+
+  @Test
+  void testBreaksAtWhitespace() {
+    assertEquals(
+      Arrays.asList(TextComponent.of("the quick"), TextComponent.of("brown fox"), TextComponent.of("jumps")),
+      TEN.wrap(TextComponent.of("the quick brown fox  jumps"))
+    );
+  }
+
+  @Test
+  void testSplitsLongWords() {
+    assertEquals(
+      Arrays.asList(TextComponent.of("a"), TextComponent.of("0123456789"), TextComponent.of("0123 b")),
+      TEN.wrap(TextComponent.of("a 01234567890123 b"))
+    );
+  }
+
+  @Test
+  void testNewline() {
+    assertEquals(
+      Arrays.asList(TextComponent.of("one"), TextComponent.of("  two"), TextComponent.empty()),
+      TEN.wrap(TextComponent.of("one\n  two\n"))
+    );
+  }
+
+  @Test
+  void testDropsOverflowingLeadingWhitespace() {
+    assertEquals(
+      Arrays.asList(TextComponent.of("leading"), TextComponent.of("spaces")),
+      TEN.wrap(TextComponent.of("          leading spaces"))
+    );
+    assertEquals(
+      Collections.singletonList(TextComponent.builder("").append(TextComponent.of("word")).build()),
+      TEN.wrap(TextComponent.builder("     ").append(TextComponent.of("      word")).build())
+    );
+    assertEquals(
+      Arrays.asList(TextComponent.of("one"), TextComponent.of("two")),
+      TEN.wrap(TextComponent.of("one\n            two"))
+    );
+  }
+
+  @Test
+  void testKeepsStyleAcrossBreaks() {
+    final Style red = Style.builder().color(TextColor.RED).clickEvent(ClickEvent.runCommand("/help")).build();
+    final Component component = TextComponent.builder("click ")
+      .append(TextComponent.of("here for help", red))
+      .build();
+    assertEquals(
+      Arrays.asList(
+        TextComponent.builder("click ").append(TextComponent.of("here", red)).build(),
+        TextComponent.builder("").append(TextComponent.of("for help", red)).build()
+      ),
+      TEN.wrap(component)
+    );
+  }
+
+  @Test
+  void testSharesUnbrokenChildren() {
+    final Component first = TextComponent.of("first ", TextColor.GREEN);
+    final Component second = TextComponent.of("second", TextColor.BLUE);
+    final List<Component> lines = TEN.wrap(TextComponent.builder("").append(first, second).build());
+    assertEquals(2, lines.size());
+    assertSame(second, lines.get(1).children().get(0));
+    assertEquals(TextComponent.of("first", TextColor.GREEN), lines.get(0).children().get(0));
+  }
+
+  @Test
+  void testWordsSpanningComponents() {
+    // "ab" + "cdef" is a single word, and must not be broken between the two components
+    final Component component = TextComponent.builder("12345 ab")
+      .append(TextComponent.of("cdef", TextColor.RED))
+      .build();
+    assertEquals(
+      Arrays.asList(
+        TextComponent.of("12345"),
+        TextComponent.builder("ab").append(TextComponent.of("cdef", TextColor.RED)).build()
+      ),
+      TEN.wrap(component)
+    );
+  }
+
+  @Test
+  void testNonTextComponentsAreContinued() {
+    final Component component = TranslatableComponent.builder("key")
+      .color(TextColor.GOLD)
+      .append(TextComponent.of("aaaa bbbb cccc"))
+      .build();
+    assertEquals(
+      Arrays.asList(
+        TranslatableComponent.builder("key").color(TextColor.GOLD).append(TextComponent.of("aaaa bbbb")).build(),
+        TextComponent.builder("", TextColor.GOLD).append(TextComponent.of("cccc")).build()
+      ),
+      TEN.wrap(component)
+    );
+  }
+
+  @Test
+  void testWidthFunction() {
+    final ComponentWrapper wrapper = ComponentWrapper.builder()
+      .maxWidth(10)
+      .widthFunction((codePoint, style) -> style.hasDecoration(TextDecoration.BOLD) ? 2 : 1)
+      .build();
+    assertEquals(
+      Arrays.asList(TextComponent.of("abcde", Style.of(TextDecoration.BOLD)), TextComponent.of("fghij", Style.of(TextDecoration.BOLD))),
+      wrapper.wrap(TextComponent.of("abcdefghij", Style.of(TextDecoration.BOLD)))
+    );
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.nbt;
+
+import net.kyori.text.BlockNbtComponent;
+import net.kyori.text.Component;
+import net.kyori.text.EntityNbtComponent;
+import net.kyori.text.TextComponent;
+import net.kyori.text.format.TextColor;
+import net.kyori.text.renderer.ResolvingComponentRenderer;
+import org.junit.jupiter.api.Test;
+
+import static net.kyori.text.nbt.NbtPathTest.PLAYER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class NbtComponentResolverTest {
+  // stands in for a serializer, treating the json as plain text
+  private static Component interpret(final String string) {
+    return TextComponent.of("interpreted " + string);
+  }
+
+  @Test
+  void testResolve() {
+    final EntityNbtComponent health = EntityNbtComponent.builder().selector("@s").nbtPath("Health").build();
+    assertEquals(TextComponent.of("20.0f"), NbtComponentResolver.resolve(health, PLAYER, NbtComponentResolverTest::interpret));
+
+    final EntityNbtComponent name = EntityNbtComponent.builder().selector("@s").nbtPath("Inventory[{Slot:3b}].tag.display.Name").interpret(true).build();
+    assertEquals(TextComponent.of("interpreted {\"text\":\"Excalibur\"}"), NbtComponentResolver.resolve(name, PLAYER, NbtComponentResolverTest::interpret));
+
+    final EntityNbtComponent tags = EntityNbtComponent.builder().selector("@s").nbtPath("Tags[]").build();
+    assertEquals(
+      TextComponent.builder("")
+        .append(TextComponent.of("\"vip\""))
+        .append(TextComponent.of(", "))
+        .append(TextComponent.of("\"builder\""))
+        .build(),
+      NbtComponentResolver.resolve(tags, PLAYER, NbtComponentResolverTest::interpret)
+    );
+
+    final EntityNbtComponent missing = EntityNbtComponent.builder().selector("@s").nbtPath("Missing").build();
+    assertEquals(TextComponent.empty(), NbtComponentResolver.resolve(missing, PLAYER, NbtComponentResolverTest::interpret));
+  }
+
+  @Test
+  void testResolver() {
+    final ResolvingComponentRenderer<Void> renderer = ResolvingComponentRenderer.<Void>builder()
+      .entityNbt(NbtComponentResolver.resolver((component, context) -> component.selector().equals("@s") ? PLAYER : null, NbtComponentResolverTest::interpret))
+      .build();
+    final Component component = TextComponent.builder("Health: ")
+      .append(EntityNbtComponent.builder().selector("@s").nbtPath("Health").color(TextColor.RED).build())
+      .build();
+    assertEquals(
+      TextComponent.builder("Health: ")
+        .append(TextComponent.of("20.0f", TextColor.RED))
+        .build(),
+      renderer.render(component, null)
+    );
+
+    final Component unresolved = TextComponent.builder("")
+      .append(EntityNbtComponent.builder().selector("@p").nbtPath("Health").build())
+      .append(EntityNbtComponent.builder().selector("@s").nbtPath("Inventory[").build())
+      .append(BlockNbtComponent.builder().nbtPath("Items").pos(BlockNbtComponent.LocalPos.of(0, 0, 0)).build())
+      .build();
+    assertSame(unresolved, renderer.render(unresolved, null));
+  }
+
+  @Test
+  void testResolverDoesNotSwallowInterpreterExceptions() {
+    final ResolvingComponentRenderer<Void> renderer = ResolvingComponentRenderer.<Void>builder()
+      .entityNbt(NbtComponentResolver.resolver((component, context) -> PLAYER, string -> {
+        throw new IllegalArgumentException("cannot interpret " + string);
+      }))
+      .build();
+    final Component component = EntityNbtComponent.builder().selector("@s").nbtPath("Inventory[{Slot:3b}].tag.display.Name").interpret(true).build();
+    assertThrows(IllegalArgumentException.class, () -> renderer.render(component, null));
+  }
+}
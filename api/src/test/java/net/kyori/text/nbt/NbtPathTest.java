@@ -0,0 +1,193 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.nbt;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import net.kyori.text.BlockNbtComponent;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NbtPathTest {
+  static final NbtTag PLAYER = compound(
+    "Health", primitive(20f),
+    "Inventory", list(
+      compound("Slot", primitive((byte) 0), "id", primitive("minecraft:stone"), "Count", primitive((byte) 64)),
+      compound("Slot", primitive((byte) 3), "id", primitive("minecraft:sword"), "tag", compound(
+        "display", compound("Name", primitive("{\"text\":\"Excalibur\"}"))
+      ))
+    ),
+    "Tags", list(primitive("vip"), primitive("builder")),
+    "weird key", primitive("quoted")
+  );
+
+  @Test
+  void testKeys() {
+    assertEquals(tags(primitive(20f)), NbtPath.compile("Health").evaluate(PLAYER));
+    assertEquals(tags(primitive("quoted")), NbtPath.compile("\"weird key\"").evaluate(PLAYER));
+    assertEquals(tags(primitive("{\"text\":\"Excalibur\"}")), NbtPath.compile("Inventory[1].tag.display.Name").evaluate(PLAYER));
+    assertTrue(NbtPath.compile("Missing.Name").evaluate(PLAYER).isEmpty());
+    assertTrue(NbtPath.compile("Health.Name").evaluate(PLAYER).isEmpty());
+  }
+
+  @Test
+  void testElements() {
+    assertEquals(tags(primitive("vip"), primitive("builder")), NbtPath.compile("Tags[]").evaluate(PLAYER));
+    assertEquals(tags(primitive("builder")), NbtPath.compile("Tags[-1]").evaluate(PLAYER));
+    assertTrue(NbtPath.compile("Tags[2]").evaluate(PLAYER).isEmpty());
+    assertEquals(tags(primitive("minecraft:stone"), primitive("minecraft:sword")), NbtPath.compile("Inventory[].id").evaluate(PLAYER));
+  }
+
+  @Test
+  void testFilters() {
+    assertEquals(tags(primitive("minecraft:sword")), NbtPath.compile("Inventory[{Slot:3b}].id").evaluate(PLAYER));
+    assertEquals(tags(primitive("minecraft:stone")), NbtPath.compile("Inventory[{id:\"minecraft:stone\", Count:64}].id").evaluate(PLAYER));
+    assertTrue(NbtPath.compile("Inventory[{Slot:1b}].id").evaluate(PLAYER).isEmpty());
+    assertEquals(tags(primitive(20f)), NbtPath.compile("{Tags:[\"vip\"]}.Health").evaluate(PLAYER));
+    assertTrue(NbtPath.compile("{Tags:[\"admin\"]}.Health").evaluate(PLAYER).isEmpty());
+    assertEquals(1, NbtPath.compile("Inventory[].tag{display:{}}").evaluate(PLAYER).size());
+    assertEquals(tags(primitive(20f)), NbtPath.compile("{Health:20.0f}.Health").evaluate(PLAYER));
+  }
+
+  @Test
+  void testCached() {
+    assertSame(NbtPath.compile("Inventory[0].id"), NbtPath.compile("Inventory[0].id"));
+    final BlockNbtComponent component = BlockNbtComponent.builder().nbtPath("Items[0]").pos(BlockNbtComponent.LocalPos.of(0, 0, 0)).build();
+    assertSame(NbtPath.compile("Items[0]"), component.compiledNbtPath());
+    assertSame(component.compiledNbtPath(), component.compiledNbtPath());
+  }
+
+  @Test
+  void testMalformed() {
+    assertThrows(IllegalArgumentException.class, () -> NbtPath.compile(""));
+    assertThrows(IllegalArgumentException.class, () -> NbtPath.compile("Inventory[0"));
+    assertThrows(IllegalArgumentException.class, () -> NbtPath.compile("Inventory[a]"));
+    assertThrows(IllegalArgumentException.class, () -> NbtPath.compile("Inventory."));
+    assertThrows(IllegalArgumentException.class, () -> NbtPath.compile("Inventory[{Slot:}]"));
+    assertThrows(IllegalArgumentException.class, () -> NbtPath.compile("Health.{Slot:0b}"));
+    assertThrows(IllegalArgumentException.class, () -> NbtPath.compile("\"unterminated"));
+  }
+
+  private static List<NbtTag> tags(final NbtTag... tags) {
+    return Arrays.asList(tags);
+  }
+
+  static NbtTag primitive(final Object value) {
+    return new Primitive(value);
+  }
+
+  static NbtTag list(final NbtTag... tags) {
+    return new ListTag(Arrays.asList(tags));
+  }
+
+  static NbtTag compound(final Object... entries) {
+    final Map<String, NbtTag> tags = new LinkedHashMap<>();
+    for(int i = 0; i < entries.length; i += 2) {
+      tags.put((String) entries[i], (NbtTag) entries[i + 1]);
+    }
+    return new Compound(tags);
+  }
+
+  private static final class Primitive implements NbtPrimitive {
+    private final Object value;
+
+    Primitive(final Object value) {
+      this.value = value;
+    }
+
+    @Override
+    public @NonNull Object value() {
+      return this.value;
+    }
+
+    @Override
+    public @NonNull String asString() {
+      if(this.value instanceof String) return '"' + (String) this.value + '"';
+      if(this.value instanceof Byte) return this.value + "b";
+      if(this.value instanceof Float) return this.value + "f";
+      return String.valueOf(this.value);
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object other) {
+      return other instanceof Primitive && this.value.equals(((Primitive) other).value);
+    }
+
+    @Override
+    public int hashCode() {
+      return this.value.hashCode();
+    }
+  }
+
+  private static final class ListTag implements NbtList {
+    private final List<NbtTag> tags;
+
+    ListTag(final List<NbtTag> tags) {
+      this.tags = tags;
+    }
+
+    @Override
+    public int size() {
+      return this.tags.size();
+    }
+
+    @Override
+    public @NonNull NbtTag get(final int index) {
+      return this.tags.get(index);
+    }
+
+    @Override
+    public @NonNull String asString() {
+      return this.tags.stream().map(NbtTag::asString).collect(Collectors.joining(",", "[", "]"));
+    }
+  }
+
+  private static final class Compound implements NbtCompound {
+    private final Map<String, NbtTag> tags;
+
+    Compound(final Map<String, NbtTag> tags) {
+      this.tags = Collections.unmodifiableMap(tags);
+    }
+
+    @Override
+    public @Nullable NbtTag get(final @NonNull String key) {
+      return this.tags.get(key);
+    }
+
+    @Override
+    public @NonNull String asString() {
+      return this.tags.entrySet().stream().map(entry -> entry.getKey() + ':' + entry.getValue().asString()).collect(Collectors.joining(",", "{", "}"));
+    }
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.renderer;
+
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.kyori.text.Component;
+import net.kyori.text.TextComponent;
+import net.kyori.text.TranslatableComponent;
+import net.kyori.text.event.HoverEvent;
+import net.kyori.text.translation.TranslationTemplate;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncComponentRendererTest {
+  private final Queue<Runnable> tasks = new ArrayDeque<>();
+  // runs tasks only when asked to, so tests control when lookups complete
+  private final Executor executor = this.tasks::add;
+  private final AtomicInteger lookups = new AtomicInteger();
+  private final AsyncTranslatableComponentRenderer<Locale> renderer = (AsyncTranslatableComponentRenderer<Locale>) AsyncComponentRenderer.<Locale>translatable((locale, key) -> {
+    this.lookups.incrementAndGet();
+    final String translation = TranslatableComponentRendererTest.TRANSLATIONS.get(locale, key);
+    return translation == null ? null : TranslationTemplate.compile(translation, locale);
+  }, this.executor);
+
+  @Test
+  void testRender() {
+    final Component component = TextComponent.builder("")
+      .append(TranslatableComponent.of("cats", TranslatableComponent.of("test"), TextComponent.of("lucko")))
+      .append(TranslatableComponent.of("test"))
+      .append(TranslatableComponent.of("missing"))
+      .hoverEvent(HoverEvent.showText(TranslatableComponent.of("test")))
+      .build();
+    final CompletableFuture<Component> future = this.renderer.render(component, Locale.US);
+    assertFalse(future.isDone());
+    // each distinct key is looked up once
+    assertEquals(3, this.tasks.size());
+    this.runTasks();
+    assertEquals(3, this.lookups.get());
+    assertEquals(TranslatableComponentRenderer.fromTemplates((Locale locale, String key) -> {
+      final String translation = TranslatableComponentRendererTest.TRANSLATIONS.get(locale, key);
+      return translation == null ? null : TranslationTemplate.compile(translation, locale);
+    }).render(component, Locale.US), future.join());
+  }
+
+  @Test
+  void testNothingToTranslate() {
+    final Component component = TextComponent.of("plain");
+    assertSame(component, this.renderer.render(component, Locale.US).join());
+    assertTrue(this.tasks.isEmpty());
+  }
+
+  @Test
+  void testSharedLookups() {
+    final CompletableFuture<Component> first = this.renderer.render(TranslatableComponent.of("test"), Locale.US);
+    final CompletableFuture<Component> second = this.renderer.render(TextComponent.of("").append(TranslatableComponent.of("test")), Locale.US);
+    assertEquals(1, this.tasks.size());
+    this.runTasks();
+    assertEquals(1, this.lookups.get());
+    assertEquals(TextComponent.of("This is a test."), first.join());
+    assertEquals(TextComponent.of("This is a test."), second.join().children().get(0));
+    assertEquals(0, this.renderer.lookups.size());
+  }
+
+  @Test
+  void testCancel() {
+    final CompletableFuture<Component> first = this.renderer.render(TranslatableComponent.of("test"), Locale.US);
+    final CompletableFuture<Component> second = this.renderer.render(TranslatableComponent.of("test"), Locale.US);
+    first.cancel(false);
+    // still wanted by the second render
+    assertEquals(1, this.renderer.lookups.size());
+    second.cancel(false);
+    assertEquals(0, this.renderer.lookups.size());
+    this.runTasks();
+    assertEquals(0, this.lookups.get());
+  }
+
+  @Test
+  void testOf() {
+    final CompletableFuture<Component> future = AsyncComponentRenderer.of(TranslatableComponentRenderer.fromTemplates((Locale locale, String key) -> TranslationTemplate.compile(TranslatableComponentRendererTest.TRANSLATIONS.get(locale, key), locale)), this.executor)
+      .render(TranslatableComponent.of("test"), Locale.US);
+    this.runTasks();
+    assertEquals(TextComponent.of("This is a test."), future.join());
+  }
+
+  private void runTasks() {
+    Runnable task;
+    while((task = this.tasks.poll()) != null) {
+      task.run();
+    }
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.renderer;
+
+import java.text.MessageFormat;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.kyori.text.Component;
+import net.kyori.text.TextComponent;
+import net.kyori.text.TranslatableComponent;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CachingComponentRendererTest {
+  private final TranslatableComponentRenderer<Locale> renderer = TranslatableComponentRenderer.from((locale, key) -> new MessageFormat(TranslatableComponentRendererTest.TRANSLATIONS.get(Locale.US, key), locale));
+  private final AtomicInteger renders = new AtomicInteger();
+  private final ComponentRenderer<Locale> counting = (component, locale) -> {
+    this.renders.incrementAndGet();
+    return this.renderer.render(component, locale);
+  };
+
+  @Test
+  void testCaches() {
+    final CachingComponentRenderer<Locale> renderer = CachingComponentRenderer.builder(this.counting).build();
+    final Component component = TranslatableComponent.of("test");
+    final Component first = renderer.render(component, Locale.US);
+    assertEquals(TextComponent.of("This is a test."), first);
+    assertSame(first, renderer.render(TranslatableComponent.of("test"), Locale.US));
+    assertEquals(1, this.renders.get());
+    assertEquals(1, renderer.stats().hits());
+    renderer.invalidateAll();
+    renderer.render(component, Locale.US);
+    assertEquals(2, this.renders.get());
+  }
+
+  @Test
+  void testContextKey() {
+    final CachingComponentRenderer<Locale> renderer = CachingComponentRenderer.builder(this.counting)
+      .contextKey(Locale::getLanguage)
+      .build();
+    final Component component = TranslatableComponent.of("test");
+    renderer.render(component, Locale.US);
+    renderer.render(component, Locale.UK);
+    assertEquals(1, this.renders.get());
+  }
+
+  @Test
+  void testMaximumSize() {
+    final CachingComponentRenderer<Locale> renderer = CachingComponentRenderer.builder(this.counting)
+      .maximumSize(1)
+      .build();
+    renderer.render(TranslatableComponent.of("test"), Locale.US);
+    renderer.render(TextComponent.of("hello"), Locale.US);
+    renderer.render(TranslatableComponent.of("test"), Locale.US);
+    assertEquals(3, this.renders.get());
+    assertEquals(2, renderer.stats().evictions());
+  }
+
+  @Test
+  void testDefaultMaximumSize() {
+    final CachingComponentRenderer<Locale> renderer = CachingComponentRenderer.builder(this.counting).build();
+    for(int i = 0; i <= CachingComponentRenderer.Builder.DEFAULT_MAXIMUM_SIZE; i++) {
+      renderer.render(TextComponent.of("text " + i), Locale.US);
+    }
+    assertEquals(1, renderer.stats().evictions());
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.renderer;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.kyori.text.Component;
+import net.kyori.text.TextComponent;
+import net.kyori.text.TranslatableComponent;
+import net.kyori.text.serializer.ComponentSerializer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ComponentBroadcastTest {
+  private final AtomicInteger renders = new AtomicInteger();
+  private final AtomicInteger serializations = new AtomicInteger();
+  private final TranslatableComponentRenderer<Locale> translations = TranslatableComponentRenderer.from((locale, key) -> new MessageFormat(locale.getLanguage() + ':' + key, locale));
+  private final ComponentRenderer<Locale> renderer = (component, locale) -> {
+    this.renders.incrementAndGet();
+    return this.translations.render(component, locale);
+  };
+  private final Format plain = new Format("plain");
+  private final Format upper = new Format("upper");
+
+  @Test
+  void testGroups() {
+    final List<Recipient> recipients = Arrays.asList(
+      new Recipient(Locale.ENGLISH, this.plain),
+      new Recipient(Locale.GERMAN, this.plain),
+      new Recipient(Locale.ENGLISH, this.plain),
+      new Recipient(Locale.ENGLISH, this.upper)
+    );
+    final List<ComponentBroadcast.Group<Recipient, Locale, String>> groups = this.broadcast().prepare(TranslatableComponent.of("test"), recipients);
+
+    assertEquals(3, groups.size());
+    assertEquals(2, this.renders.get());
+    assertEquals(3, this.serializations.get());
+    assertEquals("plain:en:test", groups.get(0).output());
+    assertEquals(Arrays.asList(recipients.get(0), recipients.get(2)), groups.get(0).recipients());
+    assertEquals("plain:de:test", groups.get(1).output());
+    assertEquals("upper:EN:TEST", groups.get(2).output());
+    assertSame(groups.get(0).component(), groups.get(2).component());
+  }
+
+  @Test
+  void testSend() {
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final List<Recipient> recipients = new ArrayList<>();
+      for(int i = 0; i < 100; i++) {
+        recipients.add(new Recipient(i % 2 == 0 ? Locale.ENGLISH : Locale.GERMAN, i % 3 == 0 ? this.upper : this.plain));
+      }
+      final ComponentBroadcast<Recipient, Locale, String> broadcast = ComponentBroadcast.<Recipient, Locale, String>builder(this.renderer)
+        .context(Recipient::locale)
+        .serializer(Recipient::format)
+        .executor(executor)
+        .build();
+      broadcast.send(TranslatableComponent.of("test"), recipients, Recipient::receive);
+
+      assertEquals(2, this.renders.get());
+      assertEquals(4, this.serializations.get());
+      for(final Recipient recipient : recipients) {
+        assertEquals(recipient.format.serialize(this.translations.render(TranslatableComponent.of("test"), recipient.locale)), recipient.received);
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private ComponentBroadcast<Recipient, Locale, String> broadcast() {
+    return ComponentBroadcast.<Recipient, Locale, String>builder(this.renderer)
+      .context(Recipient::locale)
+      .serializer(Recipient::format)
+      .build();
+  }
+
+  private final class Format implements ComponentSerializer<Component, Component, String> {
+    private final String name;
+
+    Format(final String name) {
+      this.name = name;
+    }
+
+    @Override
+    public Component deserialize(final String input) {
+      return TextComponent.of(input);
+    }
+
+    @Override
+    public String serialize(final Component component) {
+      ComponentBroadcastTest.this.serializations.incrementAndGet();
+      final String content = ((TextComponent) component).content();
+      return this.name + ':' + (this.name.equals("upper") ? content.toUpperCase(Locale.ROOT) : content);
+    }
+  }
+
+  private static final class Recipient {
+    final Locale locale;
+    final Format format;
+    String received;
+
+    Recipient(final Locale locale, final Format format) {
+      this.locale = locale;
+      this.format = format;
+    }
+
+    Locale locale() {
+      return this.locale;
+    }
+
+    Format format() {
+      return this.format;
+    }
+
+    void receive(final String message) {
+      this.received = message;
+    }
+  }
+}
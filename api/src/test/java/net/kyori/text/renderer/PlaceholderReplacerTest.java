@@ -0,0 +1,136 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.renderer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import net.kyori.text.Component;
+import net.kyori.text.TextComponent;
+import net.kyori.text.TranslatableComponent;
+import net.kyori.text.event.ClickEvent;
+import net.kyori.text.event.HoverEvent;
+import net.kyori.text.format.TextColor;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class PlaceholderReplacerTest {
+  private final AtomicInteger balanceCalls = new AtomicInteger();
+  private final PlaceholderReplacer<String> replacer = PlaceholderReplacer.<String>builder()
+    .text("{player}", player -> player)
+    .text("{balance}", player -> {
+      this.balanceCalls.incrementAndGet();
+      return "$" + player.length();
+    })
+    .component("{heart}", player -> TextComponent.of("<3", TextColor.RED))
+    .build();
+
+  @Test
+  void testText() {
+    final Component rendered = this.replacer.render(
+      TextComponent.builder("Hello {player}, you have {balance}. {balance}!")
+        .color(TextColor.GREEN)
+        .clickEvent(ClickEvent.runCommand("/balance"))
+        .build(),
+      "kashike"
+    );
+    assertEquals(
+      TextComponent.builder("Hello kashike, you have $7. $7!")
+        .color(TextColor.GREEN)
+        .clickEvent(ClickEvent.runCommand("/balance"))
+        .build(),
+      rendered
+    );
+    assertEquals(1, this.balanceCalls.get());
+  }
+
+  @Test
+  void testComponents() {
+    final Component rendered = this.replacer.render(
+      TextComponent.builder("I {heart} {player}{heart}")
+        .color(TextColor.GREEN)
+        .append(TextComponent.of("!"))
+        .build(),
+      "lucko"
+    );
+    assertEquals(
+      TextComponent.builder("I ")
+        .color(TextColor.GREEN)
+        .append(TextComponent.of("<3", TextColor.RED))
+        .append(TextComponent.of(" lucko"))
+        .append(TextComponent.of("<3", TextColor.RED))
+        .append(TextComponent.of("!"))
+        .build(),
+      rendered
+    );
+  }
+
+  @Test
+  void testNested() {
+    final Component untouched = TextComponent.of("no placeholders { here }");
+    final Component rendered = this.replacer.render(
+      TextComponent.builder("")
+        .append(untouched)
+        .append(TranslatableComponent.of("greeting", TextComponent.of("{player}")))
+        .hoverEvent(HoverEvent.showText(TextComponent.of("{balance}")))
+        .build(),
+      "kashike"
+    );
+    assertSame(untouched, rendered.children().get(0));
+    assertEquals(TranslatableComponent.of("greeting", TextComponent.of("kashike")), rendered.children().get(1));
+    assertEquals(TextComponent.of("$7"), rendered.hoverEvent().value());
+    assertSame(untouched, this.replacer.render(untouched, "kashike"));
+  }
+
+  @Test
+  void testOverlapping() {
+    final PlaceholderReplacer<String> replacer = PlaceholderReplacer.<String>builder()
+      .text("she", c -> "1")
+      .text("he", c -> "2")
+      .text("hers", c -> "3")
+      .text("{{", c -> "4")
+      .build();
+    assertEquals(TextComponent.of("u1rs 2llo 4{"), replacer.render(TextComponent.of("ushers hello {{{"), ""));
+  }
+
+  @Test
+  void testPipelineStage() {
+    final PlaceholderReplacer<String> replacer = PlaceholderReplacer.<String>builder()
+      .component("{name}", name -> TextComponent.of(name, TextColor.GOLD))
+      .text("{suffix}", name -> "x{suffix}")
+      .build();
+    final RenderPipeline<String> pipeline = RenderPipeline.<String>builder()
+      .stage(TextComponent.class, replacer::replace)
+      .build();
+    // values containing placeholders are not replaced again, but children of the input are
+    assertEquals(
+      TextComponent.builder("Hi ")
+        .append(TextComponent.of("{name}", TextColor.GOLD))
+        .append(TextComponent.of(" x{suffix}"))
+        .append(TextComponent.builder("").append(TextComponent.of("{name}", TextColor.GOLD)).build())
+        .build(),
+      pipeline.render(TextComponent.builder("Hi {name} {suffix}").append(TextComponent.of("{name}")).build(), "{name}")
+    );
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.renderer;
+
+import java.lang.reflect.Proxy;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.kyori.text.Component;
+import net.kyori.text.KeybindComponent;
+import net.kyori.text.TextComponent;
+import net.kyori.text.TranslatableComponent;
+import net.kyori.text.event.HoverEvent;
+import net.kyori.text.format.TextColor;
+import net.kyori.text.translation.TranslationTemplate;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class RenderPipelineTest {
+  private final AtomicInteger keybindCalls = new AtomicInteger();
+  private final RenderPipeline<Locale> pipeline = RenderPipeline.<Locale>builder()
+    .stage(RenderPipeline.translations((locale, key) -> {
+      final String translation = TranslatableComponentRendererTest.TRANSLATIONS.get(locale, key);
+      return translation == null ? null : TranslationTemplate.compile(translation, locale);
+    }))
+    .stage(TextComponent.class, (component, locale) -> component.content().contains("kashike") ? component.content(component.content().replace("kashike", "kash")) : component)
+    .stage(TextComponent.class, (component, locale) -> component.content().contains("cats") ? component.content(component.content().replace("cats", "c*ts")) : component)
+    .stage(KeybindComponent.class, (component, locale) -> {
+      this.keybindCalls.incrementAndGet();
+      return TextComponent.of("[" + component.keybind() + "]");
+    })
+    .build();
+
+  @Test
+  void testStagesRunInOrder() {
+    final Component rendered = this.pipeline.render(
+      TranslatableComponent.builder("cats")
+        .args(TextComponent.of("kashike"), KeybindComponent.of("key.jump"))
+        .color(TextColor.YELLOW)
+        .hoverEvent(HoverEvent.showText(TextComponent.of("hi kashike")))
+        .build(),
+      Locale.US
+    );
+    assertEquals(
+      TextComponent.builder("")
+        .color(TextColor.YELLOW)
+        .hoverEvent(HoverEvent.showText(TextComponent.of("hi kash")))
+        .append(TextComponent.of("kash"))
+        .append(TextComponent.of(" and "))
+        .append(TextComponent.of("[key.jump]"))
+        .append(TextComponent.of(" are c*ts."))
+        .build(),
+      rendered
+    );
+    assertEquals(1, this.keybindCalls.get());
+  }
+
+  @Test
+  void testSharesUntouchedSubtrees() {
+    final Component untouched = TextComponent.builder("hello").append(TextComponent.of("world")).build();
+    assertSame(untouched, this.pipeline.render(untouched, Locale.US));
+
+    final Component rendered = this.pipeline.render(TextComponent.builder("").append(untouched).append(KeybindComponent.of("key.jump")).build(), Locale.US);
+    assertSame(untouched, rendered.children().get(0));
+    assertEquals(TextComponent.of("[key.jump]"), rendered.children().get(1));
+  }
+
+  @Test
+  void testStageTypes() {
+    final AtomicInteger calls = new AtomicInteger();
+    final RenderPipeline<Locale> pipeline = RenderPipeline.<Locale>builder()
+      .stage(Component.class, (component, locale) -> {
+        calls.incrementAndGet();
+        return component;
+      })
+      .build();
+    pipeline.render(TextComponent.builder("a").append(KeybindComponent.of("b")).hoverEvent(HoverEvent.showText(TextComponent.of("c"))).build(), Locale.US);
+    assertEquals(3, calls.get());
+  }
+
+  @Test
+  void testStagesDoNotSeeTheirOwnOutput() {
+    final RenderPipeline<Locale> pipeline = RenderPipeline.<Locale>builder()
+      .stage(TextComponent.class, (component, locale) -> component.content().equals("loop") ? TextComponent.builder("").append(component).append(TextComponent.of("!")).build() : component)
+      .stage(TextComponent.class, (component, locale) -> component.content(component.content().toUpperCase(Locale.ROOT)))
+      .build();
+    final Component child = TextComponent.of("loop");
+    assertEquals(
+      TextComponent.builder("")
+        .append(TextComponent.builder("").append(TextComponent.of("LOOP")).append(TextComponent.of("!")).build())
+        .build(),
+      pipeline.render(TextComponent.builder("").append(child).build(), Locale.US)
+    );
+  }
+
+  @Test
+  void testSubInterfaceStage() {
+    final AtomicInteger calls = new AtomicInteger();
+    final RenderPipeline<Locale> pipeline = RenderPipeline.<Locale>builder()
+      .stage(Shouting.class, (component, locale) -> {
+        calls.incrementAndGet();
+        return TextComponent.of(component.content().toUpperCase(Locale.ROOT));
+      })
+      .build();
+    final Component rendered = pipeline.render(TextComponent.builder("a").append(Shouting.of("b")).build(), Locale.US);
+    assertEquals(TextComponent.builder("a").append(TextComponent.of("B")).build(), rendered);
+    assertEquals(1, calls.get());
+  }
+
+  interface Shouting extends TextComponent {
+    static Shouting of(final String content) {
+      final TextComponent delegate = TextComponent.of(content);
+      // a custom kind of text component, backed by a plain one
+      return (Shouting) Proxy.newProxyInstance(Shouting.class.getClassLoader(), new Class<?>[]{Shouting.class}, (proxy, method, args) -> method.invoke(delegate, args));
+    }
+  }
+}
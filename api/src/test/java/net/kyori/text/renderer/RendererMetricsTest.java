@@ -0,0 +1,146 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.renderer;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import net.kyori.text.Component;
+import net.kyori.text.TextComponent;
+import net.kyori.text.TranslatableComponent;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Test;
+
+import static net.kyori.text.renderer.TranslatableComponentRendererTest.TRANSLATIONS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RendererMetricsTest {
+  private final TranslatableComponentRenderer<Locale> renderer = TranslatableComponentRenderer.from((locale, key) -> {
+    final /* @Nullable */ String translation = TRANSLATIONS.get(locale, key);
+    return translation == null ? null : new MessageFormat(translation, locale);
+  });
+
+  @Test
+  void testCounts() {
+    final List<String> reported = new ArrayList<>();
+    final RendererMetrics<Locale> metrics = RendererMetrics.create((locale, key) -> reported.add(locale + " " + key));
+    final TranslatableComponentRenderer<Locale> listening = this.renderer.listening(metrics);
+    final Component component = TextComponent.builder("")
+      .append(TranslatableComponent.of("test"))
+      .append(TranslatableComponent.of("cats", TranslatableComponent.of("test"), TranslatableComponent.of("missing")))
+      .append(TranslatableComponent.of("missing"))
+      .build();
+
+    assertEquals(this.renderer.render(component, Locale.US), listening.render(component, Locale.US));
+    listening.render(component, Locale.US);
+    listening.render(component, Locale.UK);
+
+    assertEquals(4, metrics.translation("test").translated());
+    // the arguments of a missing translation are not rendered
+    assertEquals(1, metrics.translation("test").missing());
+    assertEquals(2, metrics.translation("cats").translated());
+    assertEquals(5, metrics.translation("missing").missing());
+    assertEquals(0, metrics.translation("other").translated());
+    assertEquals(Arrays.asList("en_US missing", "en_GB test", "en_GB cats", "en_GB missing"), reported);
+    assertEquals(Collections.singleton("missing"), metrics.missingKeys().get(Locale.US));
+
+    // nested renders are not timed separately
+    assertEquals(3, metrics.renderTimes().count());
+    assertEquals(6, metrics.translationTimes().count());
+
+    metrics.reset();
+    assertEquals(0, metrics.renderTimes().count());
+    assertTrue(metrics.keys().isEmpty());
+  }
+
+  @Test
+  void testForgetsCollectedContexts() {
+    final RendererMetrics<Object> metrics = RendererMetrics.create();
+    final Object context = new Object();
+    metrics.missing(context, "missing");
+    metrics.missing(Locale.US, "missing");
+    assertEquals(2, metrics.missingKeys().size());
+    metrics.collect(context);
+    assertEquals(Collections.singleton(Locale.US), metrics.missingKeys().keySet());
+    assertEquals(2, metrics.translation("missing").missing());
+  }
+
+  @Test
+  void testListeningKeepsOverrides() {
+    final TranslatableComponentRenderer<Locale> shouting = new TranslatableComponentRenderer<Locale>() {
+      @Override
+      protected @Nullable MessageFormat translation(final @NonNull Locale context, final @NonNull String key) {
+        return RendererMetricsTest.this.renderer.translation(context, key);
+      }
+
+      @Override
+      protected @NonNull Component renderText(final @NonNull TextComponent component, final @NonNull Locale context) {
+        return super.renderText(component.content(component.content().toUpperCase(Locale.ROOT)), context);
+      }
+    };
+    final RendererMetrics<Locale> metrics = RendererMetrics.create();
+    final Component component = TextComponent.builder("a").append(TranslatableComponent.of("cats", TextComponent.of("b"), TextComponent.of("c"))).build();
+    assertEquals(shouting.render(component, Locale.US), shouting.listening(metrics).render(component, Locale.US));
+    assertEquals(1, metrics.translation("cats").translated());
+    assertEquals(1, metrics.renderTimes().count());
+  }
+
+  @Test
+  void testParallel() {
+    final ForkJoinPool pool = new ForkJoinPool(2);
+    try {
+      final RendererMetrics<Locale> metrics = RendererMetrics.create();
+      final TranslatableComponentRenderer<Locale> listening = this.renderer.parallel(pool, 4).listening(metrics);
+      final Component component = TextComponent.builder("").append(Collections.nCopies(50, TranslatableComponent.of("test"))).build();
+      assertEquals(this.renderer.render(component, Locale.US), listening.render(component, Locale.US));
+      assertEquals(50, metrics.translation("test").translated());
+      assertEquals(1, metrics.renderTimes().count());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void testHistogram() {
+    final RendererMetrics.Histogram histogram = RendererMetrics.<Locale>create().renderTimes();
+    assertEquals(0, histogram.percentileNanos(0.5));
+    for(int i = 1; i <= 100; i++) {
+      histogram.record(i * 10);
+    }
+    assertEquals(100, histogram.count());
+    assertEquals(505, histogram.meanNanos());
+    assertEquals(1000, histogram.maxNanos());
+    assertEquals(511, histogram.percentileNanos(0.5));
+    assertEquals(1000, histogram.percentileNanos(1));
+    assertEquals(15, histogram.percentileNanos(0));
+    assertThrows(IllegalArgumentException.class, () -> histogram.percentileNanos(1.5));
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.renderer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import net.kyori.text.Component;
+import net.kyori.text.EntityNbtComponent;
+import net.kyori.text.ScoreComponent;
+import net.kyori.text.SelectorComponent;
+import net.kyori.text.TextComponent;
+import net.kyori.text.TranslatableComponent;
+import net.kyori.text.event.HoverEvent;
+import net.kyori.text.format.TextColor;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ResolvingComponentRendererTest {
+  private final List<Set<?>> batches = new ArrayList<>();
+  private final ResolvingComponentRenderer<String> renderer = ResolvingComponentRenderer.<String>builder()
+    .scores((scores, viewer) -> {
+      this.batches.add(scores);
+      final Map<ScoreComponent, Component> resolved = new HashMap<>();
+      for(final ScoreComponent score : scores) {
+        final String name = score.name().equals("*") ? viewer : score.name();
+        resolved.put(score, TextComponent.of(name.length() + score.objective().length() + ""));
+      }
+      return resolved;
+    })
+    .selectors((selectors, viewer) -> {
+      this.batches.add(selectors);
+      final Map<SelectorComponent, Component> resolved = new HashMap<>();
+      for(final SelectorComponent selector : selectors) {
+        if(selector.pattern().equals("@s")) {
+          resolved.put(selector, TextComponent.of(viewer));
+        }
+      }
+      return resolved;
+    })
+    .build();
+
+  @Test
+  void testBatches() {
+    final TextComponent.Builder builder = TextComponent.builder("Scoreboard");
+    for(int i = 0; i < 15; i++) {
+      builder.append(ScoreComponent.builder().name("player" + i).objective("kills").color(TextColor.RED).build());
+    }
+    builder.append(ScoreComponent.builder().name("player0").objective("kills").build());
+    final Component rendered = this.renderer.render(builder.build(), "kashike");
+
+    assertEquals(1, this.batches.size());
+    assertEquals(15, this.batches.get(0).size());
+    assertEquals(TextComponent.of("12", TextColor.RED), rendered.children().get(0));
+    assertEquals(TextComponent.of("13", TextColor.RED), rendered.children().get(10));
+    assertEquals(TextComponent.of("12"), rendered.children().get(15));
+  }
+
+  @Test
+  void testNested() {
+    final Component untouched = TextComponent.of("untouched");
+    final Component component = TextComponent.builder("")
+      .append(untouched)
+      .append(TranslatableComponent.of("hello", SelectorComponent.of("@s")))
+      .append(SelectorComponent.builder("@s").append(TextComponent.of("!")).build())
+      .hoverEvent(HoverEvent.showText(ScoreComponent.of("*", "deaths")))
+      .build();
+    final Component rendered = this.renderer.render(component, "lucko");
+
+    assertEquals(2, this.batches.size());
+    assertSame(untouched, rendered.children().get(0));
+    assertEquals(TranslatableComponent.of("hello", TextComponent.of("lucko")), rendered.children().get(1));
+    assertEquals(TextComponent.builder("lucko").append(TextComponent.of("!")).build(), rendered.children().get(2));
+    assertEquals(TextComponent.of("11"), rendered.hoverEvent().value());
+  }
+
+  @Test
+  void testUnresolved() {
+    final Component component = TextComponent.builder("")
+      .append(SelectorComponent.of("@a"))
+      .append(ScoreComponent.of("kashike", "kills", "3"))
+      .append(EntityNbtComponent.of("Health", "@s"))
+      .build();
+    assertSame(component, this.renderer.render(component, "kashike"));
+    // the score already has a value, and there is no entity NBT resolver
+    assertEquals(1, this.batches.size());
+  }
+}
@@ -26,14 +26,22 @@ package net.kyori.text.renderer;
 import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.Table;
 import java.text.MessageFormat;
+import java.util.Collections;
 import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import net.kyori.text.Component;
 import net.kyori.text.TextComponent;
 import net.kyori.text.TranslatableComponent;
 import net.kyori.text.event.HoverEvent;
 import net.kyori.text.format.TextColor;
+import net.kyori.text.translation.TranslationTemplate;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class TranslatableComponentRendererTest {
   static final Table<Locale, String, String> TRANSLATIONS = HashBasedTable.create();
@@ -49,6 +57,29 @@ class TranslatableComponentRendererTest {
     testSimple(this.renderer);
   }
 
+  @Test
+  void testFromTemplates() {
+    final TranslatableComponentRenderer<Locale> renderer = TranslatableComponentRenderer.fromTemplates((locale, key) -> TranslationTemplate.compile(TRANSLATIONS.get(locale, key), locale));
+    testSimple(renderer);
+    testComplex(renderer);
+    testVeryComplex(renderer);
+  }
+
+  @Test
+  void testMissingArguments() {
+    assertEquals(
+      TextComponent.of("{0} and {1} are cats."),
+      this.renderer.render(TranslatableComponent.of("cats"), Locale.US)
+    );
+    assertEquals(
+      TextComponent.builder("")
+        .append(TextComponent.of("kashike"))
+        .append(TextComponent.of(" and {1} are cats."))
+        .build(),
+      this.renderer.render(TranslatableComponent.of("cats", TextComponent.of("kashike")), Locale.US)
+    );
+  }
+
   static void testSimple(final ComponentRenderer<Locale> renderer) {
     assertEquals(
       TextComponent.of("This is a test.", TextColor.YELLOW),
@@ -138,4 +169,104 @@ class TranslatableComponentRendererTest {
       )
     );
   }
+
+  @Test
+  void testSharesUntranslatedSubtrees() {
+    final Component plain = TextComponent.builder("hello")
+      .append(TextComponent.of("world", TextColor.RED))
+      .hoverEvent(HoverEvent.showText(TextComponent.of("hover")))
+      .build();
+    assertSame(plain, this.renderer.render(plain, Locale.US));
+
+    final Component untouched = TextComponent.of("untouched").insertion("insert");
+    final Component rendered = this.renderer.render(
+      TextComponent.builder("")
+        .append(untouched)
+        .append(TranslatableComponent.of("test"))
+        .build(),
+      Locale.US
+    );
+    assertSame(untouched, rendered.children().get(0));
+    assertEquals(TextComponent.of("This is a test."), rendered.children().get(1));
+  }
+
+  @Test
+  void testRendersHoverInUntranslatedComponent() {
+    final Component child = TextComponent.of("child");
+    final Component rendered = this.renderer.render(
+      TextComponent.builder("hover me")
+        .hoverEvent(HoverEvent.showText(TranslatableComponent.of("test")))
+        .append(child)
+        .build(),
+      Locale.US
+    );
+    assertEquals(TextComponent.of("This is a test."), rendered.hoverEvent().value());
+    assertSame(child, rendered.children().get(0));
+  }
+
+  @Test
+  void testParallel() {
+    final ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      final TranslatableComponentRenderer<Locale> parallel = this.renderer.parallel(pool, 8);
+      final TextComponent.Builder builder = TextComponent.builder("")
+        .hoverEvent(HoverEvent.showText(TranslatableComponent.of("test")));
+      for(int i = 0; i < 100; i++) {
+        final TextComponent.Builder child = TextComponent.builder("child " + i);
+        for(int j = 0; j < 20; j++) {
+          child.append(j % 5 == 0 ? TranslatableComponent.of("cats", TextComponent.of("a" + j), TextComponent.of("b")) : TextComponent.of("text " + j));
+        }
+        builder.append(child.build());
+      }
+      final TextComponent component = builder.build();
+      assertEquals(this.renderer.render(component, Locale.US), parallel.render(component, Locale.US));
+
+      final TextComponent untranslated = TextComponent.builder("").append(Collections.nCopies(50, TextComponent.of("plain"))).build();
+      assertSame(untranslated, parallel.render(untranslated, Locale.US));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void testParallelSmallComponentsStayOnCaller() {
+    final ForkJoinPool pool = new ForkJoinPool(2);
+    try {
+      final Thread caller = Thread.currentThread();
+      final TranslatableComponentRenderer<Locale> renderer = TranslatableComponentRenderer.<Locale>fromTemplates((locale, key) -> {
+        assertSame(caller, Thread.currentThread());
+        return TranslationTemplate.compile(TRANSLATIONS.get(locale, key), locale);
+      });
+      testComplex(renderer.parallel(pool, 8));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void testParallelKeepsOverrides() {
+    final TranslatableComponentRenderer<Locale> shouting = new TranslatableComponentRenderer<Locale>() {
+      @Override
+      protected @Nullable MessageFormat translation(final @NonNull Locale context, final @NonNull String key) {
+        final /* @Nullable */ String translation = TRANSLATIONS.get(context, key);
+        return translation == null ? null : new MessageFormat(translation, context);
+      }
+
+      @Override
+      protected @NonNull Component renderText(final @NonNull TextComponent component, final @NonNull Locale context) {
+        return super.renderText(component.content(component.content().toUpperCase(Locale.ROOT)), context);
+      }
+    };
+    final ForkJoinPool pool = new ForkJoinPool(2);
+    try {
+      final TextComponent component = TextComponent.builder("")
+        .append(Collections.nCopies(20, TranslatableComponent.of("cats", TextComponent.of("a"), TextComponent.of("b"))))
+        .build();
+      final Component rendered = shouting.parallel(pool, 4).render(component, Locale.US);
+      assertEquals(shouting.render(component, Locale.US), rendered);
+      assertNotEquals(this.renderer.render(component, Locale.US), rendered);
+    } finally {
+      pool.shutdown();
+    }
+  }
 }
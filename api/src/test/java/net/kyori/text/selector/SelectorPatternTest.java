@@ -0,0 +1,92 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.selector;
+
+import java.util.Arrays;
+import net.kyori.text.SelectorComponent;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SelectorPatternTest {
+  @Test
+  void testBase() {
+    final SelectorPattern pattern = SelectorPattern.parse("@p");
+    assertTrue(pattern.isSelector());
+    assertEquals(SelectorPattern.Base.NEAREST_PLAYER, pattern.base());
+    assertTrue(pattern.arguments().isEmpty());
+    assertEquals(SelectorPattern.Base.ALL_ENTITIES, SelectorPattern.parse("@e[]").base());
+  }
+
+  @Test
+  void testArguments() {
+    final SelectorPattern pattern = SelectorPattern.parse("@a[distance=..10, tag=vip,tag=!muted ,name=\"Steve \\\"the\\\" Miner\"]");
+    assertEquals(SelectorPattern.Base.ALL_PLAYERS, pattern.base());
+    assertEquals(4, pattern.arguments().size());
+    assertEquals("..10", pattern.argument("distance").value());
+    assertEquals(Arrays.asList(new SelectorPattern.Argument("tag", "vip", false), new SelectorPattern.Argument("tag", "muted", true)), pattern.arguments("tag"));
+    assertEquals("Steve \"the\" Miner", pattern.argument("name").value());
+    assertNull(pattern.argument("limit"));
+  }
+
+  @Test
+  void testNestedArguments() {
+    final SelectorPattern pattern = SelectorPattern.parse("@e[scores={kills=1..,deaths=..5},nbt={Tags:[\"a]\"]},type=minecraft:zombie]");
+    assertEquals("{kills=1..,deaths=..5}", pattern.argument("scores").value());
+    assertEquals("{Tags:[\"a]\"]}", pattern.argument("nbt").value());
+    assertEquals("minecraft:zombie", pattern.argument("type").value());
+  }
+
+  @Test
+  void testName() {
+    final SelectorPattern pattern = SelectorPattern.parse("kashike");
+    assertFalse(pattern.isSelector());
+    assertNull(pattern.base());
+    assertNotEquals(pattern, SelectorPattern.parse("lucko"));
+  }
+
+  @Test
+  void testMalformed() {
+    assertThrows(IllegalArgumentException.class, () -> SelectorPattern.parse(""));
+    assertThrows(IllegalArgumentException.class, () -> SelectorPattern.parse("@x"));
+    assertThrows(IllegalArgumentException.class, () -> SelectorPattern.parse("@a[tag=vip"));
+    assertThrows(IllegalArgumentException.class, () -> SelectorPattern.parse("@a[=vip]"));
+    assertThrows(IllegalArgumentException.class, () -> SelectorPattern.parse("@a[nbt={a:1]"));
+    assertThrows(IllegalArgumentException.class, () -> SelectorPattern.parse("@a[tag=vip]x"));
+  }
+
+  @Test
+  void testCached() {
+    assertSame(SelectorPattern.parse("@a[tag=vip]"), SelectorPattern.parse("@a[tag=vip]"));
+    final SelectorComponent component = SelectorComponent.of("@s[limit=1]");
+    assertSame(component.parsedPattern(), component.parsedPattern());
+    assertEquals("1", component.parsedPattern().argument("limit").value());
+  }
+}
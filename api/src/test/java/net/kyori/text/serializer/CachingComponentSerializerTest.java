@@ -0,0 +1,111 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.serializer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import net.kyori.text.Component;
+import net.kyori.text.TextComponent;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CachingComponentSerializerTest {
+  private final AtomicInteger serializations = new AtomicInteger();
+  private final AtomicInteger deserializations = new AtomicInteger();
+  private final ComponentSerializer<Component, TextComponent, String> counting = new ComponentSerializer<Component, TextComponent, String>() {
+    @Override
+    public TextComponent deserialize(final String input) {
+      CachingComponentSerializerTest.this.deserializations.incrementAndGet();
+      return TextComponent.of(input);
+    }
+
+    @Override
+    public String serialize(final Component component) {
+      CachingComponentSerializerTest.this.serializations.incrementAndGet();
+      return ((TextComponent) component).content();
+    }
+  };
+
+  @Test
+  void testSerialize() {
+    final CachingComponentSerializer<Component, TextComponent, String> serializer = CachingComponentSerializer.builder(this.counting).build();
+    final Component component = TextComponent.of("hello");
+    assertEquals("hello", serializer.serialize(component));
+    assertEquals("hello", serializer.serialize(component));
+    assertEquals(1, this.serializations.get());
+    // cached by identity, not equality
+    serializer.serialize(TextComponent.of("hello"));
+    assertEquals(2, this.serializations.get());
+    assertEquals(1, serializer.serializeStats().hits());
+    assertEquals(2, serializer.serializeStats().misses());
+  }
+
+  @Test
+  void testDeserialize() {
+    final CachingComponentSerializer<Component, TextComponent, String> serializer = CachingComponentSerializer.builder(this.counting).build();
+    final TextComponent first = serializer.deserialize("hello");
+    assertEquals(TextComponent.of("hello"), first);
+    assertSame(first, serializer.deserialize(new String("hello")));
+    assertEquals(1, this.deserializations.get());
+    assertEquals(1, serializer.deserializeStats().hits());
+    serializer.invalidateAll();
+    serializer.deserialize("hello");
+    assertEquals(2, this.deserializations.get());
+  }
+
+  @Test
+  void testMaximumWeight() {
+    final CachingComponentSerializer<Component, TextComponent, String> serializer = CachingComponentSerializer.builder(this.counting)
+      .maximumWeight(8, String::length)
+      .build();
+    serializer.deserialize("hello");
+    serializer.deserialize("world");
+    serializer.deserialize("hello");
+    assertEquals(3, this.deserializations.get());
+    assertEquals(2, serializer.deserializeStats().evictions());
+  }
+
+  @Test
+  void testDefaultMaximumSize() {
+    final CachingComponentSerializer<Component, TextComponent, String> serializer = CachingComponentSerializer.builder(this.counting).build();
+    for(int i = 0; i <= CachingComponentSerializer.Builder.DEFAULT_MAXIMUM_SIZE; i++) {
+      serializer.deserialize("text " + i);
+    }
+    assertEquals(1, serializer.deserializeStats().evictions());
+  }
+
+  @Test
+  void testCollectedComponentsAreReleased() {
+    final CachingComponentSerializer<Component, TextComponent, String> serializer = CachingComponentSerializer.builder(this.counting).build();
+    final Component collected = TextComponent.of("collected");
+    final Component live = TextComponent.of("live");
+    serializer.serialize(collected);
+    serializer.serialize(live);
+    assertEquals(2, serializer.serializedSize());
+    serializer.collect(collected);
+    serializer.serialize(live);
+    assertEquals(1, serializer.serializedSize());
+  }
+}
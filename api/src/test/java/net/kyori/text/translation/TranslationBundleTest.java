@@ -0,0 +1,143 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.translation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import net.kyori.text.TextComponent;
+import net.kyori.text.TranslatableComponent;
+import net.kyori.text.renderer.TranslatableComponentRenderer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TranslationBundleTest {
+  private static final Locale EN_GB = new Locale("en", "GB");
+
+  @Test
+  void testRoundTrip() throws IOException {
+    final Map<String, String> english = new HashMap<>();
+    english.put("cats", "{0} and {1} are cats.");
+    english.put("colour", "color");
+    final TranslationBundle bundle = write(TranslationBundle.writer()
+      .messageFormats(Locale.ENGLISH, english)
+      .translation(EN_GB, "colour", TranslationTemplate.builder().text("colour").build())
+      .translation(Locale.GERMAN, "cats", TranslationTemplate.builder().argument(0).text(" und ").argument(1).text(" sind Katzen.").build())
+      .defaultLocale(Locale.ENGLISH));
+
+    assertEquals(Locale.ENGLISH, bundle.defaultLocale());
+    assertEquals(3, bundle.locales().size());
+    assertEquals(TranslationTemplate.compile("{0} and {1} are cats.", Locale.ENGLISH), bundle.translate(Locale.US, "cats"));
+    assertEquals("{0} und {1} sind Katzen.", bundle.translate(Locale.GERMANY, "cats").asString());
+    assertEquals("colour", bundle.translate(EN_GB, "colour").asString());
+    assertEquals("color", bundle.translate(Locale.FRANCE, "colour").asString());
+    assertNull(bundle.translate(Locale.ENGLISH, "dog"));
+    // each locale is decoded once
+    assertSame(bundle.translations(Locale.ENGLISH), bundle.translations(Locale.ENGLISH));
+  }
+
+  @Test
+  void testMapped() throws IOException {
+    final Path file = Files.createTempFile("translations", ".ktb");
+    try {
+      final Path properties = Files.createTempFile("translations", ".properties");
+      try {
+        Files.write(properties, "test=This is a test.\n".getBytes(StandardCharsets.UTF_8));
+        TranslationBundle.writer().properties(Locale.US, properties).write(file);
+      } finally {
+        Files.delete(properties);
+      }
+      final TranslationBundle bundle = TranslationBundle.open(file);
+      final TranslatableComponentRenderer<Locale> renderer = TranslatableComponentRenderer.fromTemplates(bundle::translate);
+      assertEquals(TextComponent.of("This is a test."), renderer.render(TranslatableComponent.of("test"), Locale.US));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  void testLang() throws IOException {
+    final Path file = Files.createTempFile("en_us", ".json");
+    try {
+      Files.write(file, "{\n  \"chat.type.text\": \"<%s> %s\",\n  \"percent\": \"100%% \\u00e9\"\n}".getBytes(StandardCharsets.UTF_8));
+      final TranslationBundle bundle = write(TranslationBundle.writer().lang(Locale.US, file));
+      assertEquals("<{0}> {1}", bundle.translate(Locale.US, "chat.type.text").asString());
+      assertEquals("100% é", bundle.translate(Locale.US, "percent").asString());
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  void testCompileLang() {
+    assertEquals(TranslationTemplate.builder().argument(1).text(" then ").argument(0).build(), LangFiles.compile("%2$s then %1$s"));
+    assertEquals(TranslationTemplate.builder().text("a %").argument(0).text("%").build(), LangFiles.compile("a %%%s%"));
+    assertEquals(TranslationTemplate.builder().text("%0$s").build(), LangFiles.compile("%0$s"));
+    assertEquals(TranslationTemplate.builder().text("50% of ").argument(0).build(), LangFiles.compile("50% of %s"));
+  }
+
+  @Test
+  void testMalformed() {
+    assertThrows(IOException.class, () -> LangFiles.read(new StringReader("{\"a\": \"b\"")));
+    assertThrows(IOException.class, () -> LangFiles.read(new StringReader("{\"a\": 1}")));
+    assertThrows(IllegalArgumentException.class, () -> TranslationBundle.wrap(ByteBuffer.wrap(new byte[20])));
+    // a negative string count
+    assertThrows(IllegalArgumentException.class, () -> TranslationBundle.wrap(header(-1, 0, 0)));
+    // a string count far beyond the buffer
+    assertThrows(IllegalArgumentException.class, () -> TranslationBundle.wrap(header(Integer.MAX_VALUE, 0, 0)));
+    // a default locale outside the string table
+    assertThrows(IllegalArgumentException.class, () -> TranslationBundle.wrap(header(1, 0, 5, 0, 0)));
+    // an offset past the end of the string data
+    assertThrows(IllegalArgumentException.class, () -> TranslationBundle.wrap(header(1, 0, 0, 0, 100)));
+    // offsets which go backwards
+    assertThrows(IllegalArgumentException.class, () -> TranslationBundle.wrap(header(2, 0, 0, 0, 4, 2, 0)));
+  }
+
+  private static ByteBuffer header(final int stringCount, final int localeCount, final int... rest) {
+    final ByteBuffer buffer = ByteBuffer.allocate(TranslationBundle.HEADER_SIZE + rest.length * 4 + 8);
+    buffer.putInt(TranslationBundle.MAGIC).putInt(stringCount).putInt(localeCount);
+    for(final int i : rest) {
+      buffer.putInt(i);
+    }
+    buffer.clear();
+    return buffer;
+  }
+
+  private static TranslationBundle write(final TranslationBundleWriter writer) throws IOException {
+    final ByteArrayOutputStream os = new ByteArrayOutputStream();
+    writer.write(os);
+    return TranslationBundle.wrap(ByteBuffer.wrap(os.toByteArray()));
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.translation;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ListResourceBundle;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import net.kyori.text.TextComponent;
+import net.kyori.text.TranslatableComponent;
+import net.kyori.text.renderer.TranslatableComponentRenderer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class TranslationRegistryTest {
+  private static final Locale EN_GB = new Locale("en", "GB");
+
+  @Test
+  void testFallback() {
+    final TranslationRegistry registry = TranslationRegistry.create();
+    registry.register("colour", Locale.ENGLISH, "color");
+    registry.register("colour", EN_GB, "colour");
+    registry.register("hello", Locale.ROOT, "hello");
+    registry.register("cat", Locale.US, "cat");
+    registry.register("cat", Locale.GERMAN, "Katze");
+
+    assertEquals("colour", registry.translate(EN_GB, "colour").asString());
+    assertEquals("color", registry.translate(Locale.US, "colour").asString());
+    assertEquals("hello", registry.translate(Locale.GERMANY, "hello").asString());
+    assertEquals("Katze", registry.translate(Locale.GERMANY, "cat").asString());
+    // falls back to the default locale
+    assertEquals("cat", registry.translate(Locale.FRANCE, "cat").asString());
+    assertNull(registry.translate(Locale.US, "dog"));
+
+    registry.defaultLocale(Locale.GERMAN);
+    assertEquals("Katze", registry.translate(Locale.FRANCE, "cat").asString());
+  }
+
+  @Test
+  void testCachedResolutionSeesNewTranslations() {
+    final TranslationRegistry registry = TranslationRegistry.create();
+    registry.register("cat", Locale.US, "cat");
+    final TranslationTemplate us = registry.translate(EN_GB, "cat");
+    assertSame(us, registry.translate(EN_GB, "cat"));
+    registry.register("cat", EN_GB, "moggy");
+    assertEquals("moggy", registry.translate(EN_GB, "cat").asString());
+    registry.unregister("cat");
+    assertNull(registry.translate(EN_GB, "cat"));
+  }
+
+  @Test
+  void testResourceBundle() {
+    final TranslationRegistry registry = TranslationRegistry.create();
+    final ResourceBundle bundle = new ListResourceBundle() {
+      @Override
+      protected Object[][] getContents() {
+        return new Object[][]{{"cats", "{0} and {1} are cats."}};
+      }
+    };
+    registry.registerAll(Locale.US, bundle);
+    assertEquals("{0} and {1} are cats.", registry.translate(Locale.US, "cats").asString());
+  }
+
+  @Test
+  void testProperties() throws IOException {
+    final Path file = Files.createTempFile("translations", ".properties");
+    try {
+      Files.write(file, "greeting=Grüß dich, {0}!\n".getBytes(StandardCharsets.UTF_8));
+      final TranslationRegistry registry = TranslationRegistry.create();
+      registry.registerAll(Locale.GERMAN, file);
+      assertEquals("Grüß dich, {0}!", registry.translate(Locale.GERMANY, "greeting").asString());
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  void testReload() throws IOException {
+    final TranslationRegistry registry = TranslationRegistry.create();
+    registry.register("old", Locale.US, "old");
+    registry.reload(staging -> staging.register("new", Locale.US, "new"));
+    assertNull(registry.translate(Locale.US, "old"));
+    assertEquals("new", registry.translate(Locale.US, "new").asString());
+  }
+
+  @Test
+  void testReloadKeepsConcurrentDefaultLocale() throws IOException, InterruptedException {
+    final TranslationRegistry registry = TranslationRegistry.create();
+    final Thread thread = new Thread(() -> registry.defaultLocale(Locale.GERMAN));
+    registry.reload(staging -> {
+      thread.start();
+      try {
+        Thread.sleep(50);
+      } catch(final InterruptedException e) {
+        throw new AssertionError(e);
+      }
+      staging.register("new", Locale.US, "new");
+    });
+    thread.join();
+    assertEquals(Locale.GERMAN, registry.defaultLocale());
+    assertEquals("new", registry.translate(Locale.US, "new").asString());
+  }
+
+  @Test
+  void testRenderer() {
+    final TranslationRegistry registry = TranslationRegistry.create();
+    registry.register("test", Locale.ENGLISH, "This is a test.");
+    final TranslatableComponentRenderer<Locale> renderer = TranslatableComponentRenderer.fromTemplates(registry::translate);
+    assertEquals(TextComponent.of("This is a test."), renderer.render(TranslatableComponent.of("test"), EN_GB));
+  }
+}
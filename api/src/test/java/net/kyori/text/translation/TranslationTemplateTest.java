@@ -0,0 +1,86 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.translation;
+
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.Function;
+import net.kyori.text.TextComponent;
+import net.kyori.text.format.TextColor;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TranslationTemplateTest {
+  @Test
+  void testCompile() {
+    assertEquals(
+      TranslationTemplate.builder().argument(0).text(" and ").argument(1).text(" are cats.").build(),
+      TranslationTemplate.compile("{0} and {1} are cats.", Locale.US)
+    );
+    assertEquals(
+      TranslationTemplate.builder().text("It's ").argument(1).argument(0).text(" {braces}").build(),
+      TranslationTemplate.compile("It''s {1}{0,number} '{braces}'", Locale.US)
+    );
+    assertEquals(TranslationTemplate.builder().build(), TranslationTemplate.compile(new MessageFormat("")));
+  }
+
+  @Test
+  void testAsString() {
+    assertEquals("{0} and {1} are cats.", TranslationTemplate.compile("{0} and {1} are cats.", Locale.US).asString());
+    assertEquals("a literal", TranslationTemplate.builder().text("a ").text("literal").build().asString());
+  }
+
+  @Test
+  void testRender() {
+    final TranslationTemplate template = TranslationTemplate.compile("{0} and {2}", Locale.US);
+    final TextComponent.Builder builder = TextComponent.builder();
+    template.render(builder, Arrays.asList(TextComponent.of("a"), TextComponent.of("b")), component -> component.color(TextColor.RED));
+    assertEquals(
+      TextComponent.builder()
+        .append(TextComponent.of("a", TextColor.RED))
+        .append(TextComponent.of(" and {2}"))
+        .build(),
+      builder.build()
+    );
+  }
+
+  @Test
+  void testRenderSharesLiterals() {
+    final TranslationTemplate template = TranslationTemplate.compile("{0} and {1}", Locale.US);
+    final TextComponent.Builder first = TextComponent.builder();
+    final TextComponent.Builder second = TextComponent.builder();
+    template.render(first, Arrays.asList(TextComponent.of("a"), TextComponent.of("b")), component -> component);
+    template.render(second, Arrays.asList(TextComponent.of("c"), TextComponent.of("d")), component -> component);
+    assertSame(first.build().children().get(1), second.build().children().get(1));
+  }
+
+  @Test
+  void testNegativeArgument() {
+    assertThrows(IllegalArgumentException.class, () -> TranslationTemplate.builder().argument(-1));
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BoundedCacheTest {
+  @Test
+  void testComputeIfAbsent() {
+    final BoundedCache<String, Integer> cache = BoundedCache.<String, Integer>builder().build();
+    assertEquals(3, (int) cache.computeIfAbsent("abc", String::length));
+    assertEquals(3, (int) cache.computeIfAbsent("abc", key -> 42));
+    assertEquals(1, cache.size());
+    assertEquals(1, cache.stats().hits());
+    assertEquals(1, cache.stats().misses());
+    assertEquals(0.5, cache.stats().hitRate());
+  }
+
+  @Test
+  void testMaximumSize() {
+    final BoundedCache<Integer, Integer> cache = BoundedCache.<Integer, Integer>builder().maximumSize(2).build();
+    cache.put(1, 1);
+    cache.put(2, 2);
+    cache.get(1); // referenced - survives the sweep
+    cache.put(3, 3);
+    assertEquals(2, cache.size());
+    assertEquals(1, (int) cache.get(1));
+    assertNull(cache.get(2));
+    assertEquals(3, (int) cache.get(3));
+    assertEquals(1, cache.stats().evictions());
+  }
+
+  @Test
+  void testMaximumWeight() {
+    final BoundedCache<String, String> cache = BoundedCache.<String, String>builder().maximumWeight(10, (key, value) -> value.length()).build();
+    cache.put("a", "aaaa");
+    cache.put("b", "bbbb");
+    assertEquals(8, cache.weight());
+    cache.put("c", "cccc");
+    assertEquals(2, cache.size());
+    assertEquals(8, cache.weight());
+    assertNull(cache.get("a"));
+  }
+
+  @Test
+  void testReplaceAndRemove() {
+    final BoundedCache<String, String> cache = BoundedCache.<String, String>builder().maximumWeight(10, (key, value) -> value.length()).build();
+    cache.put("a", "aaaa");
+    cache.put("a", "aa");
+    assertEquals(2, cache.weight());
+    cache.remove("a");
+    assertEquals(0, cache.weight());
+    cache.put("b", "b");
+    cache.clear();
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.weight());
+  }
+
+  @Test
+  void testRemovedNodesAreReleased() {
+    final BoundedCache<Integer, Integer> cache = BoundedCache.<Integer, Integer>builder().maximumSize(10).build();
+    for(int i = 0; i < 10000; i++) {
+      cache.put(1, i);
+    }
+    assertEquals(1, cache.clockSize());
+    for(int i = 1; i <= 10000; i++) {
+      cache.put(-i, i);
+      cache.remove(-i);
+    }
+    assertEquals(1, cache.clockSize());
+    for(int i = 0; i < 100; i++) {
+      cache.put(i, i);
+    }
+    assertEquals(10, cache.size());
+    assertEquals(10, cache.clockSize());
+    cache.clear();
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.clockSize());
+    assertEquals(0, cache.weight());
+  }
+}
@@ -33,11 +33,13 @@ import net.kyori.text.Component;
 import net.kyori.text.TextComponent;
 import net.kyori.text.event.ClickEvent;
 import net.kyori.text.format.Style;
+import net.kyori.text.layout.ComponentMeasurer;
+import net.kyori.text.layout.GlyphWidthTable;
 import net.kyori.text.util.ShadyPines;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 final class PaginationImpl<T> implements Pagination<T> {
-  private static final int LINE_CHARACTER_LENGTH = 1;
+  private static final ComponentMeasurer MEASURER = ComponentMeasurer.defaultFont();
 
   private final int width;
   private final int resultsPerPage;
@@ -46,6 +48,7 @@ final class PaginationImpl<T> implements Pagination<T> {
 
   private final char lineCharacter;
   private final Style lineStyle;
+  private final int lineCharacterWidth;
 
   private final char previousPageButtonCharacter;
   private final Style previousPageButtonStyle;
@@ -62,6 +65,7 @@ final class PaginationImpl<T> implements Pagination<T> {
     this.renderer = renderer;
     this.lineCharacter = lineCharacter;
     this.lineStyle = lineStyle;
+    this.lineCharacterWidth = Math.max(1, GlyphWidthTable.defaultFont().width(lineCharacter, lineStyle));
     this.previousPageButtonCharacter = previousPageButtonCharacter;
     this.previousPageButtonStyle = previousPageButtonStyle;
     this.nextPageButtonCharacter = nextPageButtonCharacter;
@@ -139,22 +143,16 @@ final class PaginationImpl<T> implements Pagination<T> {
   }
 
   private @NonNull Component line(final @NonNull Component component) {
-    return this.line((this.width - length(component)) / (LINE_CHARACTER_LENGTH * 2));
+    // the width is in line characters, so convert it to pixels to compare it with the component
+    return this.line(Math.max(0, (this.width * this.lineCharacterWidth - width(component)) / (this.lineCharacterWidth * 2)));
   }
 
   private @NonNull Component line(final int characters) {
     return TextComponent.of(repeat(String.valueOf(this.lineCharacter), characters), this.lineStyle);
   }
 
-  static int length(final @NonNull Component component) {
-    int length = 0;
-    if(component instanceof TextComponent) {
-      length += ((TextComponent) component).content().length();
-    }
-    for(final Component child : component.children()) {
-      length += length(child);
-    }
-    return length;
+  static int width(final @NonNull Component component) {
+    return MEASURER.width(component);
   }
 
   static @NonNull String repeat(final @NonNull String character, final int count) {
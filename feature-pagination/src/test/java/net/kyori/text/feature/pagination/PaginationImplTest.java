@@ -24,6 +24,7 @@
 package net.kyori.text.feature.pagination;
 
 import net.kyori.text.TextComponent;
+import net.kyori.text.format.TextDecoration;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -32,16 +33,23 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class PaginationImplTest {
   @Test
-  @SuppressWarnings("PointlessArithmeticExpression")
-  void testLength() {
-    assertEquals(0, PaginationImpl.length(TextComponent.empty()));
-    assertEquals(0 + 3 + 1 + 3, PaginationImpl.length(
+  void testWidth() {
+    assertEquals(0, PaginationImpl.width(TextComponent.empty()));
+    assertEquals(18 + 4 + 17, PaginationImpl.width(
       TextComponent.builder()
         .append(TextComponent.of("abc"))
         .append(TextComponent.space())
         .append(TextComponent.of("def"))
       .build()
     ));
+    assertEquals(21 + 5 + 2, PaginationImpl.width(
+      TextComponent.builder()
+        .decoration(TextDecoration.BOLD, true)
+        .append(TextComponent.of("abc"))
+        .append(TextComponent.space())
+        .append(TextComponent.builder("i").decoration(TextDecoration.BOLD, false).build())
+      .build()
+    ));
   }
 
   @Test
@@ -46,8 +46,10 @@ public class BlockNbtComponentPosSerializer implements JsonDeserializer<BlockNbt
 
   @Override
   public BlockNbtComponent.Pos deserialize(final JsonElement json, final Type typeOfT, final JsonDeserializationContext context) throws JsonParseException {
-    final String string = json.getAsString();
+    return fromString(json.getAsString());
+  }
 
+  static BlockNbtComponent.Pos fromString(final String string) throws JsonParseException {
     final Matcher localMatch = LOCAL_PATTERN.matcher(string);
     if(localMatch.matches()) {
       return BlockNbtComponent.LocalPos.of(
@@ -71,14 +73,18 @@ public class BlockNbtComponentPosSerializer implements JsonDeserializer<BlockNbt
 
   @Override
   public JsonElement serialize(final BlockNbtComponent.Pos src, final Type typeOfSrc, final JsonSerializationContext context) {
-    if(src instanceof BlockNbtComponent.LocalPos) {
-      final BlockNbtComponent.LocalPos local = (BlockNbtComponent.LocalPos) src;
-      return new JsonPrimitive(serializeLocal(local.left()) + ' ' + serializeLocal(local.up()) + ' ' + serializeLocal(local.forwards()));
-    } else if(src instanceof BlockNbtComponent.WorldPos) {
-      final BlockNbtComponent.WorldPos world = (BlockNbtComponent.WorldPos) src;
-      return new JsonPrimitive(serializeCoordinate(world.x()) + ' ' + serializeCoordinate(world.y()) + ' ' + serializeCoordinate(world.z()));
+    return new JsonPrimitive(asString(src));
+  }
+
+  static String asString(final BlockNbtComponent.Pos pos) {
+    if(pos instanceof BlockNbtComponent.LocalPos) {
+      final BlockNbtComponent.LocalPos local = (BlockNbtComponent.LocalPos) pos;
+      return serializeLocal(local.left()) + ' ' + serializeLocal(local.up()) + ' ' + serializeLocal(local.forwards());
+    } else if(pos instanceof BlockNbtComponent.WorldPos) {
+      final BlockNbtComponent.WorldPos world = (BlockNbtComponent.WorldPos) pos;
+      return serializeCoordinate(world.x()) + ' ' + serializeCoordinate(world.y()) + ' ' + serializeCoordinate(world.z());
     } else {
-      throw new IllegalArgumentException("Don't know how to serialize " + src + " as a Position");
+      throw new IllegalArgumentException("Don't know how to serialize " + pos + " as a Position");
     }
   }
 
@@ -23,18 +23,15 @@
  */
 package net.kyori.text.serializer.gson;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonDeserializer;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
-import com.google.gson.JsonSerializationContext;
-import com.google.gson.JsonSerializer;
-import java.lang.reflect.Type;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import net.kyori.minecraft.Key;
 import net.kyori.text.BlockNbtComponent;
 import net.kyori.text.BuildableComponent;
@@ -49,13 +46,26 @@ import net.kyori.text.SelectorComponent;
 import net.kyori.text.StorageNbtComponent;
 import net.kyori.text.TextComponent;
 import net.kyori.text.TranslatableComponent;
+import net.kyori.text.event.ClickEvent;
+import net.kyori.text.event.HoverEvent;
 import net.kyori.text.format.Style;
+import net.kyori.text.format.TextColor;
+import net.kyori.text.format.TextDecoration;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
-final class ComponentSerializerImpl implements JsonDeserializer<Component>, JsonSerializer<Component> {
+/*
+ * Components are read and written as a stream, in a single pass - no tree of json elements is built, and the
+ * style of a component is read and written in place rather than through a separate object.
+ */
+final class ComponentSerializerImpl extends TypeAdapter<Component> {
   /**
    * A component serializer for JSON-based serialization and deserialization.
    */
-  static final ComponentSerializerImpl INSTANCE = new ComponentSerializerImpl();
+  static final ComponentSerializerImpl INSTANCE = new ComponentSerializerImpl(TextColorSerializer.INSTANCE, false);
+  /**
+   * A component serializer which writes every color as its nearest named color.
+   */
+  static final ComponentSerializerImpl DOWNSAMPLE_COLOR = new ComponentSerializerImpl(TextColorSerializer.DOWNSAMPLE_COLOR, false);
 
   static final String TEXT = "text";
   static final String TRANSLATE = "translate";
@@ -73,100 +83,297 @@ final class ComponentSerializerImpl implements JsonDeserializer<Component>, Json
   static final String NBT_ENTITY = "entity";
   static final String NBT_STORAGE = "storage";
 
+  private static final TextDecoration[] DECORATIONS = TextDecoration.values();
+
+  private final TextColorSerializer colors;
+  private final boolean compact;
+
+  private ComponentSerializerImpl(final TextColorSerializer colors, final boolean compact) {
+    this.colors = colors;
+    this.compact = compact;
+  }
+
+  static ComponentSerializerImpl of(final boolean downsampleColor, final boolean compact) {
+    if(!compact) return downsampleColor ? DOWNSAMPLE_COLOR : INSTANCE;
+    return new ComponentSerializerImpl(downsampleColor ? TextColorSerializer.DOWNSAMPLE_COLOR : TextColorSerializer.INSTANCE, true);
+  }
+
+  // the serializer colors are written with
+  TextColorSerializer colors() {
+    return this.colors;
+  }
+
   @Override
-  public Component deserialize(final JsonElement json, final Type typeOfT, final JsonDeserializationContext context) throws JsonParseException {
-    return this.deserialize0(json, context);
+  public Component read(final JsonReader in) throws IOException {
+    if(in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+    return this.read0(in);
   }
 
-  private BuildableComponent<?, ?> deserialize0(final JsonElement element, final JsonDeserializationContext context) throws JsonParseException {
-    if(element.isJsonPrimitive()) {
-      return TextComponent.of(element.getAsString());
-    } else if(element.isJsonArray()) {
+  private BuildableComponent<?, ?> read0(final JsonReader in) throws IOException {
+    final JsonToken token = in.peek();
+    if(token == JsonToken.BEGIN_ARRAY) {
+      in.beginArray();
       ComponentBuilder<?, ?> parent = null;
-      for(final JsonElement childElement : element.getAsJsonArray()) {
-        final BuildableComponent<?, ?> child = this.deserialize0(childElement, context);
+      while(in.hasNext()) {
+        final BuildableComponent<?, ?> child = this.read0(in);
         if(parent == null) {
           parent = child.toBuilder();
         } else {
           parent.append(child);
         }
       }
+      in.endArray();
       if(parent == null) {
-        throw notSureHowToDeserialize(element);
+        throw notSureHowToDeserialize("[]", in);
       }
       return parent.build();
-    } else if(!element.isJsonObject()) {
-      throw notSureHowToDeserialize(element);
+    } else if(token == JsonToken.BEGIN_OBJECT) {
+      return this.readObject(in);
+    } else if(token == JsonToken.STRING || token == JsonToken.NUMBER || token == JsonToken.BOOLEAN) {
+      return TextComponent.of(readString(in));
     }
+    throw notSureHowToDeserialize(token, in);
+  }
 
-    final JsonObject object = element.getAsJsonObject();
-    final ComponentBuilder<?, ?> component;
-    if(object.has(TEXT)) {
-      component = TextComponent.builder(object.get(TEXT).getAsString());
-    } else if(object.has(TRANSLATE)) {
-      final String key = object.get(TRANSLATE).getAsString();
-      if(!object.has(TRANSLATE_WITH)) {
-        component = TranslatableComponent.builder(key);
-      } else {
-        final JsonArray with = object.getAsJsonArray(TRANSLATE_WITH);
-        final List<Component> args = new ArrayList<>(with.size());
-        for(int i = 0, size = with.size(); i < size; i++) {
-          final JsonElement argElement = with.get(i);
-          args.add(this.deserialize0(argElement, context));
-        }
-        component = TranslatableComponent.builder(key).args(args);
+  private BuildableComponent<?, ?> readObject(final JsonReader in) throws IOException {
+    /* @Nullable */ String text = null;
+    /* @Nullable */ String translate = null;
+    /* @Nullable */ List<Component> with = null;
+    boolean score = false;
+    /* @Nullable */ String scoreName = null;
+    /* @Nullable */ String scoreObjective = null;
+    /* @Nullable */ String scoreValue = null;
+    /* @Nullable */ String selector = null;
+    /* @Nullable */ String keybind = null;
+    /* @Nullable */ String nbt = null;
+    boolean interpret = false;
+    BlockNbtComponent./* @Nullable */ Pos block = null;
+    /* @Nullable */ String entity = null;
+    /* @Nullable */ String storage = null;
+    /* @Nullable */ List<Component> extra = null;
+    Style./* @Nullable */ Builder style = null;
+    /* @Nullable */ TextColorWrapper color = null;
+    int decorations = 0; // the decorations set explicitly, by ordinal
+
+    in.beginObject();
+    while(in.hasNext()) {
+      final String name = in.nextName();
+      switch(name) {
+        case TEXT:
+          text = readString(in);
+          break;
+        case TRANSLATE:
+          translate = readString(in);
+          break;
+        case TRANSLATE_WITH:
+          with = this.readList(in);
+          break;
+        case SCORE:
+          score = true;
+          in.beginObject();
+          while(in.hasNext()) {
+            final String scoreField = in.nextName();
+            if(scoreField.equals(SCORE_NAME)) {
+              scoreName = readString(in);
+            } else if(scoreField.equals(SCORE_OBJECTIVE)) {
+              scoreObjective = readString(in);
+            } else if(scoreField.equals(SCORE_VALUE)) {
+              scoreValue = readString(in);
+            } else {
+              in.skipValue();
+            }
+          }
+          in.endObject();
+          break;
+        case SELECTOR:
+          selector = readString(in);
+          break;
+        case KEYBIND:
+          keybind = readString(in);
+          break;
+        case NBT:
+          nbt = readString(in);
+          break;
+        case NBT_INTERPRET:
+          interpret = readBoolean(in);
+          break;
+        case NBT_BLOCK:
+          block = BlockNbtComponentPosSerializer.fromString(readString(in));
+          break;
+        case NBT_ENTITY:
+          entity = readString(in);
+          break;
+        case NBT_STORAGE:
+          storage = readString(in);
+          break;
+        case EXTRA:
+          extra = this.readList(in);
+          break;
+        case StyleSerializer.COLOR:
+          if(style == null) style = Style.builder();
+          color = readColor(in);
+          break;
+        case StyleSerializer.INSERTION:
+          if(style == null) style = Style.builder();
+          style.insertion(readString(in));
+          break;
+        case StyleSerializer.CLICK_EVENT:
+          if(style == null) style = Style.builder();
+          readClickEvent(in, style);
+          break;
+        case StyleSerializer.HOVER_EVENT:
+          if(style == null) style = Style.builder();
+          this.readHoverEvent(in, style);
+          break;
+        default:
+          final /* @Nullable */ TextDecoration decoration = StyleSerializer.DECORATION_NAMES.get(name);
+          if(decoration != null) {
+            if(style == null) style = Style.builder();
+            style.decoration(decoration, readBoolean(in));
+            decorations |= 1 << decoration.ordinal();
+          } else {
+            in.skipValue();
+          }
       }
-    } else if(object.has(SCORE)) {
-      final JsonObject score = object.getAsJsonObject(SCORE);
-      if(!score.has(SCORE_NAME) || !score.has(SCORE_OBJECTIVE)) {
+    }
+    in.endObject();
+
+    final ComponentBuilder<?, ?> component;
+    if(text != null) {
+      component = TextComponent.builder(text);
+    } else if(translate != null) {
+      component = with == null ? TranslatableComponent.builder(translate) : TranslatableComponent.builder(translate).args(with);
+    } else if(score) {
+      if(scoreName == null || scoreObjective == null) {
         throw new JsonParseException("A score component requires a " + SCORE_NAME + " and " + SCORE_OBJECTIVE);
       }
-      final ScoreComponent.Builder builder = ScoreComponent.builder()
-        .name(score.get(SCORE_NAME).getAsString())
-        .objective(score.get(SCORE_OBJECTIVE).getAsString());
-      // score components can have a value sometimes, let's grab it
-      if(score.has(SCORE_VALUE)) {
-        component = builder.value(score.get(SCORE_VALUE).getAsString());
-      } else {
-        component = builder;
-      }
-    } else if(object.has(SELECTOR)) {
-      component = SelectorComponent.builder().pattern(object.get(SELECTOR).getAsString());
-    } else if(object.has(KEYBIND)) {
-      component = KeybindComponent.builder().keybind(object.get(KEYBIND).getAsString());
-    } else if(object.has(NBT)) {
-      final String nbt = object.get(NBT).getAsString();
-      final boolean interpret = object.has(NBT_INTERPRET) && object.getAsJsonPrimitive(NBT_INTERPRET).getAsBoolean();
-      if(object.has(NBT_BLOCK)) {
-        final BlockNbtComponent.Pos pos = context.deserialize(object.get(NBT_BLOCK), BlockNbtComponent.Pos.class);
-        component = nbt(BlockNbtComponent.builder(), nbt, interpret).pos(pos);
-      } else if(object.has(NBT_ENTITY)) {
-        component = nbt(EntityNbtComponent.builder(), nbt, interpret).selector(object.get(NBT_ENTITY).getAsString());
-      } else if(object.has(NBT_STORAGE)) {
-        component = nbt(StorageNbtComponent.builder(), nbt, interpret).storage(Key.of(object.get(NBT_STORAGE).getAsString()));
+      // score components can have a value sometimes
+      component = ScoreComponent.builder()
+        .name(scoreName)
+        .objective(scoreObjective)
+        .value(scoreValue);
+    } else if(selector != null) {
+      component = SelectorComponent.builder().pattern(selector);
+    } else if(keybind != null) {
+      component = KeybindComponent.builder().keybind(keybind);
+    } else if(nbt != null) {
+      if(block != null) {
+        component = nbt(BlockNbtComponent.builder(), nbt, interpret).pos(block);
+      } else if(entity != null) {
+        component = nbt(EntityNbtComponent.builder(), nbt, interpret).selector(entity);
+      } else if(storage != null) {
+        component = nbt(StorageNbtComponent.builder(), nbt, interpret).storage(Key.of(storage));
       } else {
-        throw notSureHowToDeserialize(element);
+        throw notSureHowToDeserialize("an nbt component without a source", in);
       }
     } else {
-      throw notSureHowToDeserialize(element);
+      throw notSureHowToDeserialize("an object without any content", in);
     }
 
-    if(object.has(EXTRA)) {
-      final JsonArray extra = object.getAsJsonArray(EXTRA);
-      for(int i = 0, size = extra.size(); i < size; i++) {
-        final JsonElement extraElement = extra.get(i);
-        component.append(this.deserialize0(extraElement, context));
-      }
+    if(extra != null) {
+      component.append(extra);
     }
 
-    final Style style = context.deserialize(element, Style.class);
-    if(!style.isEmpty()) {
-      component.style(style);
+    if(style != null) {
+      if(color != null) StyleSerializer.applyColor(style, color, decorations);
+      final Style built = style.build();
+      if(!built.isEmpty()) {
+        component.style(built);
+      }
     }
 
     return component.build();
   }
 
+  private List<Component> readList(final JsonReader in) throws IOException {
+    final List<Component> list = new ArrayList<>();
+    in.beginArray();
+    while(in.hasNext()) {
+      list.add(this.read0(in));
+    }
+    in.endArray();
+    return list;
+  }
+
+  private static TextColorWrapper readColor(final JsonReader in) throws IOException {
+    final String string = readString(in);
+    final /* @Nullable */ TextColorWrapper color = TextColorWrapper.of(string);
+    if(color == null) {
+      throw new JsonParseException("Don't know how to parse \"" + string + "\" as a color at " + in.getPath());
+    }
+    return color;
+  }
+
+  private static void readClickEvent(final JsonReader in, final Style.Builder style) throws IOException {
+    /* @Nullable */ String action = null;
+    /* @Nullable */ String value = null;
+    in.beginObject();
+    while(in.hasNext()) {
+      final String name = in.nextName();
+      if(name.equals(StyleSerializer.CLICK_EVENT_ACTION)) {
+        action = readString(in);
+      } else if(name.equals(StyleSerializer.CLICK_EVENT_VALUE)) {
+        value = readString(in);
+      } else {
+        in.skipValue();
+      }
+    }
+    in.endObject();
+    if(action != null) {
+      final ClickEvent./* @Nullable */ Action clickAction = ClickEvent.Action.NAMES.value(action).orElse(null);
+      if(clickAction == null) {
+        throw new JsonParseException("invalid click action:  " + action);
+      }
+      if(clickAction.readable() && value != null) {
+        style.clickEvent(ClickEvent.of(clickAction, value));
+      }
+    }
+  }
+
+  private void readHoverEvent(final JsonReader in, final Style.Builder style) throws IOException {
+    /* @Nullable */ String action = null;
+    /* @Nullable */ Component value = null;
+    in.beginObject();
+    while(in.hasNext()) {
+      final String name = in.nextName();
+      if(name.equals(StyleSerializer.HOVER_EVENT_ACTION)) {
+        action = readString(in);
+      } else if(name.equals(StyleSerializer.HOVER_EVENT_VALUE)) {
+        value = this.read(in);
+      } else {
+        in.skipValue();
+      }
+    }
+    in.endObject();
+    if(action != null) {
+      final HoverEvent./* @Nullable */ Action hoverAction = HoverEvent.Action.NAMES.value(action).orElse(null);
+      if(hoverAction == null) {
+        throw new JsonParseException("invalid hover action:  " + action);
+      }
+      if(hoverAction.readable() && value != null) {
+        style.hoverEvent(HoverEvent.of(hoverAction, value));
+      }
+    }
+  }
+
+  // reads any primitive as a string, as JsonElement#getAsString would
+  private static String readString(final JsonReader in) throws IOException {
+    if(in.peek() == JsonToken.BOOLEAN) {
+      return Boolean.toString(in.nextBoolean());
+    }
+    return in.nextString();
+  }
+
+  private static boolean readBoolean(final JsonReader in) throws IOException {
+    if(in.peek() == JsonToken.BOOLEAN) {
+      return in.nextBoolean();
+    }
+    return Boolean.parseBoolean(in.nextString());
+  }
+
   private static <C extends NbtComponent<C, B>, B extends NbtComponentBuilder<C, B>> B nbt(final B builder, final String nbt, final boolean interpret) {
     return builder
       .nbtPath(nbt)
@@ -174,44 +381,65 @@ final class ComponentSerializerImpl implements JsonDeserializer<Component>, Json
   }
 
   @Override
-  public JsonElement serialize(final Component src, final Type typeOfSrc, final JsonSerializationContext context) {
-    final JsonObject object = new JsonObject();
+  public void write(final JsonWriter out, final @Nullable Component src) throws IOException {
+    if(src == null) {
+      out.nullValue();
+      return;
+    }
+
+    final List<Component> children = src.children();
+    if(this.compact && !children.isEmpty() && !src.hasStyling()) {
+      // an array is read as its first component, followed by the children of that component
+      out.beginArray();
+      this.write(out, src, Collections.emptyList());
+      for(int i = 0, size = children.size(); i < size; i++) {
+        this.write(out, children.get(i));
+      }
+      out.endArray();
+    } else {
+      this.write(out, src, children);
+    }
+  }
+
+  private void write(final JsonWriter out, final Component src, final List<Component> children) throws IOException {
+    if(this.compact && src instanceof TextComponent && children.isEmpty() && !src.hasStyling()) {
+      out.value(((TextComponent) src).content());
+      return;
+    }
+
+    out.beginObject();
     if(src instanceof TextComponent) {
-      object.addProperty(TEXT, ((TextComponent) src).content());
+      out.name(TEXT).value(((TextComponent) src).content());
     } else if(src instanceof TranslatableComponent) {
       final TranslatableComponent tc = (TranslatableComponent) src;
-      object.addProperty(TRANSLATE, tc.key());
+      out.name(TRANSLATE).value(tc.key());
       if(!tc.args().isEmpty()) {
-        final JsonArray with = new JsonArray();
-        for(final Component arg : tc.args()) {
-          with.add(context.serialize(arg));
-        }
-        object.add(TRANSLATE_WITH, with);
+        out.name(TRANSLATE_WITH);
+        this.writeList(out, tc.args());
       }
     } else if(src instanceof ScoreComponent) {
       final ScoreComponent sc = (ScoreComponent) src;
-      final JsonObject score = new JsonObject();
-      score.addProperty(SCORE_NAME, sc.name());
-      score.addProperty(SCORE_OBJECTIVE, sc.objective());
+      out.name(SCORE).beginObject();
+      out.name(SCORE_NAME).value(sc.name());
+      out.name(SCORE_OBJECTIVE).value(sc.objective());
       // score component value is optional
       final /* @Nullable */ String value = sc.value();
-      if(value != null) score.addProperty(SCORE_VALUE, value);
-      object.add(SCORE, score);
+      if(value != null) out.name(SCORE_VALUE).value(value);
+      out.endObject();
     } else if(src instanceof SelectorComponent) {
-      object.addProperty(SELECTOR, ((SelectorComponent) src).pattern());
+      out.name(SELECTOR).value(((SelectorComponent) src).pattern());
     } else if(src instanceof KeybindComponent) {
-      object.addProperty(KEYBIND, ((KeybindComponent) src).keybind());
+      out.name(KEYBIND).value(((KeybindComponent) src).keybind());
     } else if(src instanceof NbtComponent) {
       final NbtComponent<?, ?> nc = (NbtComponent<?, ?>) src;
-      object.addProperty(NBT, nc.nbtPath());
-      object.addProperty(NBT_INTERPRET, nc.interpret());
+      out.name(NBT).value(nc.nbtPath());
+      if(nc.interpret() || !this.compact) out.name(NBT_INTERPRET).value(nc.interpret());
       if(src instanceof BlockNbtComponent) {
-        final JsonElement position = context.serialize(((BlockNbtComponent) nc).pos());
-        object.add(NBT_BLOCK, position);
+        out.name(NBT_BLOCK).value(BlockNbtComponentPosSerializer.asString(((BlockNbtComponent) nc).pos()));
       } else if(src instanceof EntityNbtComponent) {
-        object.addProperty(NBT_ENTITY, ((EntityNbtComponent) nc).selector());
+        out.name(NBT_ENTITY).value(((EntityNbtComponent) nc).selector());
       } else if(src instanceof StorageNbtComponent) {
-        object.addProperty(NBT_STORAGE, ((StorageNbtComponent) nc).storage().asString());
+        out.name(NBT_STORAGE).value(((StorageNbtComponent) nc).storage().asString());
       } else {
         throw notSureHowToSerialize(src);
       }
@@ -219,29 +447,66 @@ final class ComponentSerializerImpl implements JsonDeserializer<Component>, Json
       throw notSureHowToSerialize(src);
     }
 
-    final List<Component> children = src.children();
     if(!children.isEmpty()) {
-      final JsonArray extra = new JsonArray();
-      for(final Component child : children) {
-        extra.add(context.serialize(child));
-      }
-      object.add(EXTRA, extra);
+      out.name(EXTRA);
+      this.writeList(out, children);
     }
 
     if(src.hasStyling()) {
-      final JsonElement style = context.serialize(src.style());
-      if(style.isJsonObject()) {
-        for(final Map.Entry<String, JsonElement> entry : ((JsonObject) style).entrySet()) {
-          object.add(entry.getKey(), entry.getValue());
-        }
+      this.writeStyle(out, src.style());
+    }
+
+    out.endObject();
+  }
+
+  private void writeList(final JsonWriter out, final List<Component> components) throws IOException {
+    out.beginArray();
+    for(int i = 0, size = components.size(); i < size; i++) {
+      this.write(out, components.get(i));
+    }
+    out.endArray();
+  }
+
+  // writes the fields of a style into the object of its component
+  private void writeStyle(final JsonWriter out, final Style style) throws IOException {
+    final /* @Nullable */ TextColor color = style.color();
+    if(color != null) {
+      out.name(StyleSerializer.COLOR).value(this.colors.asString(color));
+    }
+
+    for(int i = 0, length = DECORATIONS.length; i < length; i++) {
+      final TextDecoration decoration = DECORATIONS[i];
+      final TextDecoration.State state = style.decoration(decoration);
+      if(state != TextDecoration.State.NOT_SET) {
+        out.name(TextDecoration.NAMES.name(decoration)).value(state == TextDecoration.State.TRUE);
       }
     }
 
-    return object;
+    final /* @Nullable */ String insertion = style.insertion();
+    if(insertion != null) {
+      out.name(StyleSerializer.INSERTION).value(insertion);
+    }
+
+    final /* @Nullable */ ClickEvent clickEvent = style.clickEvent();
+    if(clickEvent != null) {
+      out.name(StyleSerializer.CLICK_EVENT).beginObject();
+      out.name(StyleSerializer.CLICK_EVENT_ACTION).value(ClickEvent.Action.NAMES.name(clickEvent.action()));
+      out.name(StyleSerializer.CLICK_EVENT_VALUE).value(clickEvent.value());
+      out.endObject();
+    }
+
+    final /* @Nullable */ HoverEvent hoverEvent = style.hoverEvent();
+    if(hoverEvent != null) {
+      out.name(StyleSerializer.HOVER_EVENT).beginObject();
+      out.name(StyleSerializer.HOVER_EVENT_ACTION).value(HoverEvent.Action.NAMES.name(hoverEvent.action()));
+      out.name(StyleSerializer.HOVER_EVENT_VALUE);
+      this.write(out, hoverEvent.value());
+      out.endObject();
+    }
   }
 
-  private static JsonParseException notSureHowToDeserialize(final JsonElement element) {
-    return new JsonParseException("Don't know how to turn " + element + " into a Component");
+  private static JsonParseException notSureHowToDeserialize(final Object element, final JsonReader in) {
+    return new JsonParseException("Don't know how to turn " + element + " into a Component at " + in.getPath());
   }
 
   private static IllegalArgumentException notSureHowToSerialize(final Component component) {
@@ -28,9 +28,17 @@ import com.google.gson.GsonBuilder;
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
 import java.lang.reflect.Type;
 import net.kyori.text.BlockNbtComponent;
 import net.kyori.text.Component;
@@ -39,15 +47,30 @@ import net.kyori.text.event.HoverEvent;
 import net.kyori.text.format.Style;
 import net.kyori.text.format.TextColor;
 import net.kyori.text.format.TextDecoration;
-import net.kyori.text.serializer.ComponentSerializer;
+import net.kyori.text.serializer.StringComponentSerializer;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
-public class GsonComponentSerializer implements ComponentSerializer<Component, Component, String>, JsonDeserializer<Component>, JsonSerializer<Component> {
+public class GsonComponentSerializer implements StringComponentSerializer<Component, Component>, JsonDeserializer<Component>, JsonSerializer<Component> {
+  static final Gson GSON = populate(new GsonBuilder()).create();
   /**
    * A component serializer for JSON-based serialization and deserialization.
    */
   public static final GsonComponentSerializer INSTANCE = new GsonComponentSerializer();
-  static final Gson GSON = populate(new GsonBuilder()).create();
+  /**
+   * A component serializer for JSON-based serialization and deserialization, which writes every color as
+   * its nearest named color for clients that do not support RGB colors.
+   */
+  public static final GsonComponentSerializer DOWNSAMPLE_COLOR = new GsonComponentSerializer(populate(new GsonBuilder(), true).create());
+
+  private final Gson gson;
+
+  public GsonComponentSerializer() {
+    this(GSON);
+  }
+
+  private GsonComponentSerializer(final @NonNull Gson gson) {
+    this.gson = gson;
+  }
 
   /**
    * Populate a builder with our serializers.
@@ -56,39 +79,146 @@ public class GsonComponentSerializer implements ComponentSerializer<Component, C
    * @return the gson builder
    */
   public static @NonNull GsonBuilder populate(final @NonNull GsonBuilder builder) {
+    return populate(builder, false);
+  }
+
+  /**
+   * Populate a builder with our serializers.
+   *
+   * @param builder the gson builder
+   * @param downsampleColor if colors should be written as their nearest named color
+   * @return the gson builder
+   */
+  public static @NonNull GsonBuilder populate(final @NonNull GsonBuilder builder, final boolean downsampleColor) {
+    return populate(builder, downsampleColor ? ComponentSerializerImpl.DOWNSAMPLE_COLOR : ComponentSerializerImpl.INSTANCE);
+  }
+
+  private static @NonNull GsonBuilder populate(final @NonNull GsonBuilder builder, final @NonNull ComponentSerializerImpl components) {
     builder
-      .registerTypeHierarchyAdapter(Component.class, ComponentSerializerImpl.INSTANCE)
+      .registerTypeHierarchyAdapter(Component.class, components)
       .registerTypeAdapter(Style.class, StyleSerializer.INSTANCE)
       .registerTypeAdapter(ClickEvent.Action.class, new NameMapSerializer<>("click action", ClickEvent.Action.NAMES))
       .registerTypeAdapter(HoverEvent.Action.class, new NameMapSerializer<>("hover action", HoverEvent.Action.NAMES))
       .registerTypeAdapter(TextColorWrapper.class, new TextColorWrapper.Serializer())
-      .registerTypeAdapter(TextColor.class, new NameMapSerializer<>("text color", TextColor.NAMES))
+      .registerTypeAdapter(TextColor.class, components.colors())
       .registerTypeAdapter(TextDecoration.class, new NameMapSerializer<>("text decoration", TextDecoration.NAMES))
       .registerTypeHierarchyAdapter(BlockNbtComponent.Pos.class, BlockNbtComponentPosSerializer.INSTANCE);
     return builder;
   }
 
+  /**
+   * Creates a serializer builder.
+   *
+   * @return a builder
+   */
+  public static @NonNull Builder builder() {
+    return new Builder();
+  }
+
   @Override
   public @NonNull Component deserialize(final @NonNull String string) {
-    return GSON.fromJson(string, Component.class);
+    return this.gson.fromJson(string, Component.class);
+  }
+
+  @Override
+  public @NonNull Component deserialize(final @NonNull Reader input) throws IOException {
+    // read directly, as gson would report an exception thrown by the reader as malformed json
+    final JsonReader reader = new JsonReader(input);
+    reader.setLenient(true);
+    try {
+      final Component component = this.gson.getAdapter(Component.class).read(reader);
+      if(reader.peek() != JsonToken.END_DOCUMENT) {
+        throw new JsonSyntaxException("Unexpected data after a component at " + reader.getPath());
+      }
+      return component;
+    } catch(final MalformedJsonException | EOFException | IllegalStateException | NumberFormatException e) {
+      throw new JsonSyntaxException(e);
+    }
   }
 
   @Override
   public @NonNull String serialize(final @NonNull Component component) {
-    return GSON.toJson(component);
+    return this.gson.toJson(component);
+  }
+
+  @Override
+  public void serialize(final @NonNull Component component, final @NonNull Appendable output) throws IOException {
+    try {
+      this.gson.toJson(component, Component.class, output);
+    } catch(final JsonIOException e) {
+      // gson wraps the exceptions thrown by readers and writers
+      if(e.getCause() instanceof IOException) throw (IOException) e.getCause();
+      throw e;
+    }
   }
 
   // Not part of the API.
   @Deprecated
   @Override
   public Component deserialize(final JsonElement json, final Type typeOfT, final JsonDeserializationContext context) throws JsonParseException {
-    return ComponentSerializerImpl.INSTANCE.deserialize(json, typeOfT, context);
+    return this.gson.fromJson(json, Component.class);
   }
 
   // Not part of the API.
   @Deprecated
   @Override
   public JsonElement serialize(final Component src, final Type typeOfSrc, final JsonSerializationContext context) {
-    return ComponentSerializerImpl.INSTANCE.serialize(src, typeOfSrc, context);
+    return this.gson.toJsonTree(src, Component.class);
+  }
+
+  /**
+   * A serializer builder.
+   */
+  public static final class Builder {
+    private boolean downsampleColor;
+    private boolean compact;
+
+    Builder() {
+    }
+
+    /**
+     * Sets if colors should be written as their nearest named color, for clients that do not support RGB colors.
+     *
+     * @param downsampleColor if colors should be written as their nearest named color
+     * @return this builder
+     */
+    public @NonNull Builder downsampleColor(final boolean downsampleColor) {
+      this.downsampleColor = downsampleColor;
+      return this;
+    }
+
+    /**
+     * Sets if components should be written in their smallest form.
+     *
+     * <p>A compact serializer writes text components without style or children as plain strings, components
+     * without style but with children as an array of the component followed by its children, and leaves out
+     * fields which have their default value. Any serializer can read compact output.</p>
+     *
+     * @param compact if components should be written in their smallest form
+     * @return this builder
+     */
+    public @NonNull Builder compact(final boolean compact) {
+      this.compact = compact;
+      return this;
+    }
+
+    /**
+     * Populate a builder with serializers configured by this builder.
+     *
+     * @param builder the gson builder
+     * @return the gson builder
+     */
+    public @NonNull GsonBuilder populate(final @NonNull GsonBuilder builder) {
+      return GsonComponentSerializer.populate(builder, ComponentSerializerImpl.of(this.downsampleColor, this.compact));
+    }
+
+    /**
+     * Builds the serializer.
+     *
+     * @return the serializer
+     */
+    public @NonNull GsonComponentSerializer build() {
+      return new GsonComponentSerializer(this.populate(new GsonBuilder()).create());
+    }
   }
 }
@@ -35,7 +35,7 @@ import java.util.Objects;
 import java.util.Optional;
 import net.kyori.text.util.NameMap;
 
-public class NameMapSerializer<E extends Enum<E>> implements JsonDeserializer<E>, JsonSerializer<E> {
+public class NameMapSerializer<E> implements JsonDeserializer<E>, JsonSerializer<E> {
   private final String name;
   private final NameMap<E> map;
 
@@ -57,7 +57,6 @@ public class NameMapSerializer<E extends Enum<E>> implements JsonDeserializer<E>
 
   @Override
   public JsonElement serialize(final E src, final Type typeOfT, final JsonSerializationContext context) {
-    final Enum hack = Objects.requireNonNull(src); // HACK: generics suck
-    return new JsonPrimitive(this.map.name((E) hack));
+    return new JsonPrimitive(this.map.name(Objects.requireNonNull(src)));
   }
 }
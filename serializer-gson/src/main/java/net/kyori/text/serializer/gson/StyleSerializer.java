@@ -32,6 +32,8 @@ import com.google.gson.JsonPrimitive;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
 import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
 import net.kyori.text.Component;
 import net.kyori.text.event.ClickEvent;
 import net.kyori.text.event.HoverEvent;
@@ -43,6 +45,14 @@ public class StyleSerializer implements JsonDeserializer<Style>, JsonSerializer<
   public static final StyleSerializer INSTANCE = new StyleSerializer();
 
   private static final TextDecoration[] DECORATIONS = TextDecoration.values();
+  // decorations by name, for dispatching on object keys
+  static final Map<String, TextDecoration> DECORATION_NAMES = new HashMap<>();
+
+  static {
+    for(final TextDecoration decoration : DECORATIONS) {
+      DECORATION_NAMES.put(TextDecoration.NAMES.name(decoration), decoration);
+    }
+  }
 
   static final String COLOR = "color";
   static final String INSERTION = "insertion";
@@ -61,60 +71,79 @@ public class StyleSerializer implements JsonDeserializer<Style>, JsonSerializer<
 
   private Style deserialize(final JsonObject json, final JsonDeserializationContext context) throws JsonParseException {
     final Style.Builder style = Style.builder();
-
-    if(json.has(COLOR)) {
-      final TextColorWrapper color = context.deserialize(json.get(COLOR), TextColorWrapper.class);
-      if(color.color != null) {
-        style.color(color.color);
-      } else if(color.decoration != null) {
-        // I know. Setting a decoration from the color is weird. This is, unfortunately, something we need to support.
-        style.decoration(color.decoration, true);
+    /* @Nullable */ TextColorWrapper color = null;
+    int decorations = 0; // the decorations set explicitly, by ordinal
+
+    for(final Map.Entry<String, JsonElement> entry : json.entrySet()) {
+      final String name = entry.getKey();
+      final JsonElement value = entry.getValue();
+      switch(name) {
+        case COLOR:
+          color = context.deserialize(value, TextColorWrapper.class);
+          break;
+        case INSERTION:
+          style.insertion(value.getAsString());
+          break;
+        case CLICK_EVENT:
+          if(value.isJsonObject()) {
+            deserializeClickEvent(value.getAsJsonObject(), style, context);
+          }
+          break;
+        case HOVER_EVENT:
+          if(value.isJsonObject()) {
+            deserializeHoverEvent(value.getAsJsonObject(), style, context);
+          }
+          break;
+        default:
+          final /* @Nullable */ TextDecoration decoration = DECORATION_NAMES.get(name);
+          if(decoration != null) {
+            style.decoration(decoration, value.getAsBoolean());
+            decorations |= 1 << decoration.ordinal();
+          }
       }
     }
 
-    for(int i = 0, length = DECORATIONS.length; i < length; i++) {
-      final TextDecoration decoration = DECORATIONS[i];
-      final String name = TextDecoration.NAMES.name(decoration);
-      if(json.has(name)) {
-        style.decoration(decoration, json.get(name).getAsBoolean());
-      }
+    if(color != null) {
+      applyColor(style, color, decorations);
     }
 
-    if(json.has(INSERTION)) {
-      style.insertion(json.get(INSERTION).getAsString());
+    return style.build();
+  }
+
+  /*
+   * Applies a color, which may be a decoration - in which case an explicitly set decoration takes precedence.
+   */
+  static void applyColor(final Style.Builder style, final TextColorWrapper color, final int decorations) {
+    if(color.color != null) {
+      style.color(color.color);
+    } else if(color.decoration != null && (decorations & (1 << color.decoration.ordinal())) == 0) {
+      // I know. Setting a decoration from the color is weird. This is, unfortunately, something we need to support.
+      style.decoration(color.decoration, true);
     }
+  }
 
-    if(json.has(CLICK_EVENT)) {
-      final JsonObject clickEvent = json.getAsJsonObject(CLICK_EVENT);
-      if(clickEvent != null) {
-        final /* @Nullable */ JsonPrimitive rawAction = clickEvent.getAsJsonPrimitive(CLICK_EVENT_ACTION);
-        final ClickEvent./*@Nullable*/ Action action = rawAction == null ? null : context.deserialize(rawAction, ClickEvent.Action.class);
-        if(action != null && action.readable()) {
-          final /* @Nullable */ JsonPrimitive rawValue = clickEvent.getAsJsonPrimitive(CLICK_EVENT_VALUE);
-          final /* @Nullable */ String value = rawValue == null ? null : rawValue.getAsString();
-          if(value != null) {
-            style.clickEvent(ClickEvent.of(action, value));
-          }
-        }
+  private static void deserializeClickEvent(final JsonObject clickEvent, final Style.Builder style, final JsonDeserializationContext context) {
+    final /* @Nullable */ JsonPrimitive rawAction = clickEvent.getAsJsonPrimitive(CLICK_EVENT_ACTION);
+    final ClickEvent./*@Nullable*/ Action action = rawAction == null ? null : context.deserialize(rawAction, ClickEvent.Action.class);
+    if(action != null && action.readable()) {
+      final /* @Nullable */ JsonPrimitive rawValue = clickEvent.getAsJsonPrimitive(CLICK_EVENT_VALUE);
+      final /* @Nullable */ String value = rawValue == null ? null : rawValue.getAsString();
+      if(value != null) {
+        style.clickEvent(ClickEvent.of(action, value));
       }
     }
+  }
 
-    if(json.has(HOVER_EVENT)) {
-      final JsonObject hoverEvent = json.getAsJsonObject(HOVER_EVENT);
-      if(hoverEvent != null) {
-        final /* @Nullable */ JsonPrimitive rawAction = hoverEvent.getAsJsonPrimitive(HOVER_EVENT_ACTION);
-        final HoverEvent./*@Nullable*/ Action action = rawAction == null ? null : context.deserialize(rawAction, HoverEvent.Action.class);
-        if(action != null && action.readable()) {
-          final /* @Nullable */ JsonElement rawValue = hoverEvent.get(HOVER_EVENT_VALUE);
-          final /* @Nullable */ Component value = rawValue == null ? null : context.deserialize(rawValue, Component.class);
-          if(value != null) {
-            style.hoverEvent(HoverEvent.of(action, value));
-          }
-        }
+  private static void deserializeHoverEvent(final JsonObject hoverEvent, final Style.Builder style, final JsonDeserializationContext context) {
+    final /* @Nullable */ JsonPrimitive rawAction = hoverEvent.getAsJsonPrimitive(HOVER_EVENT_ACTION);
+    final HoverEvent./*@Nullable*/ Action action = rawAction == null ? null : context.deserialize(rawAction, HoverEvent.Action.class);
+    if(action != null && action.readable()) {
+      final /* @Nullable */ JsonElement rawValue = hoverEvent.get(HOVER_EVENT_VALUE);
+      final /* @Nullable */ Component value = rawValue == null ? null : context.deserialize(rawValue, Component.class);
+      if(value != null) {
+        style.hoverEvent(HoverEvent.of(action, value));
       }
     }
-
-    return style.build();
   }
 
   @Override
@@ -0,0 +1,71 @@
+/*
+ * This file is part of text, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.text.serializer.gson;
+
+import com.google.gson.JsonDeserializationContext;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializationContext;
+import com.google.gson.JsonSerializer;
+import java.lang.reflect.Type;
+import net.kyori.text.format.TextColor;
+
+/*
+ * Named colors are written by name, and any other color as #rrggbb - unless downsampling, in which case
+ * every color is written as the name of its nearest named color.
+ */
+final class TextColorSerializer implements JsonDeserializer<TextColor>, JsonSerializer<TextColor> {
+  static final TextColorSerializer INSTANCE = new TextColorSerializer(false);
+  static final TextColorSerializer DOWNSAMPLE_COLOR = new TextColorSerializer(true);
+
+  private final boolean downsample;
+
+  private TextColorSerializer(final boolean downsample) {
+    this.downsample = downsample;
+  }
+
+  @Override
+  public TextColor deserialize(final JsonElement json, final Type typeOfT, final JsonDeserializationContext context) throws JsonParseException {
+    final String string = json.getAsString();
+    final /* @Nullable */ TextColor color = string.startsWith("#") ? TextColor.fromHexString(string) : TextColor.NAMES.value(string).orElse(null);
+    if(color == null) {
+      throw new JsonParseException("invalid text color: " + string);
+    }
+    return color;
+  }
+
+  @Override
+  public JsonElement serialize(final TextColor src, final Type typeOfSrc, final JsonSerializationContext context) {
+    return new JsonPrimitive(this.asString(src));
+  }
+
+  String asString(final TextColor color) {
+    if(color.isNamed() || this.downsample) {
+      return TextColor.NAMES.name(color.nearestNamed());
+    }
+    return color.asHexString();
+  }
+}
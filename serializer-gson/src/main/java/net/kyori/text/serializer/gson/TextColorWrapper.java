@@ -28,6 +28,8 @@ import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonParseException;
 import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
 import net.kyori.text.format.TextColor;
 import net.kyori.text.format.TextDecoration;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -36,6 +38,20 @@ import org.checkerframework.checker.nullness.qual.Nullable;
  * This is a hack.
  */
 class TextColorWrapper {
+  static final String RESET = "reset";
+  // every name a color may have - named colors, decorations and reset
+  private static final Map<String, TextColorWrapper> NAMES = new HashMap<>();
+
+  static {
+    for(final TextColor color : TextColor.values()) {
+      NAMES.put(TextColor.NAMES.name(color), new TextColorWrapper(color, null, false));
+    }
+    for(final TextDecoration decoration : TextDecoration.values()) {
+      NAMES.put(TextDecoration.NAMES.name(decoration), new TextColorWrapper(null, decoration, false));
+    }
+    NAMES.put(RESET, new TextColorWrapper(null, null, true));
+  }
+
   final @Nullable TextColor color;
   final @Nullable TextDecoration decoration;
   final boolean reset;
@@ -46,32 +62,26 @@ class TextColorWrapper {
     this.reset = reset;
   }
 
+  /*
+   * Looks up what a color string means, without throwing - only hex colors are not in the table.
+   */
+  static @Nullable TextColorWrapper of(final String string) {
+    final /* @Nullable */ TextColorWrapper named = NAMES.get(string);
+    if(named != null) {
+      return named;
+    }
+    final /* @Nullable */ TextColor color = TextColor.fromHexString(string);
+    return color == null ? null : new TextColorWrapper(color, null, false);
+  }
+
   static class Serializer implements JsonDeserializer<TextColorWrapper> {
     @Override
     public TextColorWrapper deserialize(final JsonElement json, final Type type, final JsonDeserializationContext context) throws JsonParseException {
-      final TextColor color = deserializeColor(json, context);
-      final TextDecoration decoration = color == null ? deserializeDecoration(json, context) : null;
-      final boolean reset = decoration == null && (json.isJsonPrimitive() && json.getAsString().equals("reset"));
-      if(color == null && decoration == null && !reset) {
+      final /* @Nullable */ TextColorWrapper wrapper = json.isJsonPrimitive() ? of(json.getAsString()) : null;
+      if(wrapper == null) {
         throw new JsonParseException("Don't know how to parse " + json);
       }
-      return new TextColorWrapper(color, decoration, reset);
-    }
-  }
-
-  private static @Nullable TextColor deserializeColor(final JsonElement json, final JsonDeserializationContext context) {
-    try {
-      return context.deserialize(json, TextColor.class);
-    } catch(final JsonParseException e) {
-      return null;
-    }
-  }
-
-  private static @Nullable TextDecoration deserializeDecoration(final JsonElement json, final JsonDeserializationContext context) {
-    try {
-      return context.deserialize(json, TextDecoration.class);
-    } catch(final JsonParseException e) {
-      return null;
+      return wrapper;
     }
   }
 }
@@ -26,8 +26,17 @@ package net.kyori.text.serializer.gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonPrimitive;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
 import net.kyori.text.Component;
+import net.kyori.text.EntityNbtComponent;
 import net.kyori.text.TextComponent;
+import net.kyori.text.TranslatableComponent;
+import net.kyori.text.event.HoverEvent;
+import net.kyori.text.format.TextColor;
+import net.kyori.text.format.TextDecoration;
 import org.junit.jupiter.api.Test;
 
 import static net.kyori.text.serializer.gson.AbstractComponentTest.array;
@@ -53,4 +62,94 @@ class GsonComponentSerializerTest {
       array.add(object(object -> object.addProperty(ComponentSerializerImpl.TEXT, "world.")));
     }), Component.class));
   }
+
+  @Test
+  void testDeserializeString() {
+    assertEquals(
+      TextComponent.builder("hi")
+        .color(TextColor.RED)
+        .decoration(TextDecoration.BOLD, true)
+        .decoration(TextDecoration.ITALIC, false)
+        .hoverEvent(HoverEvent.showText(TextComponent.of("hover")))
+        .append(TextComponent.of("1"))
+        .build(),
+      GsonComponentSerializer.INSTANCE.deserialize("{\"color\":\"red\",\"unknown\":{\"a\":[1,2]},\"extra\":[1],\"bold\":true,\"italic\":\"false\",\"hoverEvent\":{\"value\":\"hover\",\"action\":\"show_text\"},\"text\":\"hi\"}")
+    );
+    // content is chosen by precedence, not by order
+    assertEquals(TextComponent.of("text"), GsonComponentSerializer.INSTANCE.deserialize("{\"translate\":\"key\",\"text\":\"text\"}"));
+    // a decoration set explicitly takes precedence over one set through the color, wherever it is
+    assertEquals(TextComponent.of("x").decoration(TextDecoration.BOLD, false), GsonComponentSerializer.INSTANCE.deserialize("{\"text\":\"x\",\"bold\":false,\"color\":\"bold\"}"));
+    assertEquals(TextComponent.of("x").decoration(TextDecoration.BOLD, false), GsonComponentSerializer.INSTANCE.deserialize("{\"text\":\"x\",\"color\":\"bold\",\"bold\":false}"));
+    assertThrows(JsonParseException.class, () -> GsonComponentSerializer.INSTANCE.deserialize("{\"text\":\"x\",\"color\":\"not a color\"}"));
+    assertThrows(JsonParseException.class, () -> GsonComponentSerializer.INSTANCE.deserialize("{\"extra\":[]}"));
+  }
+
+  @Test
+  void testSerializeString() {
+    assertEquals(
+      "{\"translate\":\"key\",\"with\":[{\"text\":\"a\"}],\"extra\":[{\"text\":\"b\"}],\"color\":\"#1a2b3c\",\"underlined\":true,\"hoverEvent\":{\"action\":\"show_text\",\"value\":{\"text\":\"c\"}}}",
+      GsonComponentSerializer.INSTANCE.serialize(
+        TranslatableComponent.builder("key")
+          .args(TextComponent.of("a"))
+          .append(TextComponent.of("b"))
+          .color(TextColor.of(0x1a2b3c))
+          .decoration(TextDecoration.UNDERLINED, true)
+          .hoverEvent(HoverEvent.showText(TextComponent.of("c")))
+          .build()
+      )
+    );
+  }
+
+  @Test
+  void testStreaming() throws IOException {
+    final Component component = TextComponent.builder("hi").color(TextColor.RED).append(TextComponent.of("there")).build();
+    final StringWriter writer = new StringWriter();
+    GsonComponentSerializer.INSTANCE.serialize(component, writer);
+    assertEquals(GsonComponentSerializer.INSTANCE.serialize(component), writer.toString());
+    assertEquals(component, GsonComponentSerializer.INSTANCE.deserialize(new StringReader(writer.toString())));
+    assertEquals(component, GsonComponentSerializer.INSTANCE.deserialize((CharSequence) writer.getBuffer()));
+  }
+
+  @Test
+  void testStreamingExceptions() {
+    final Reader failing = new Reader() {
+      @Override
+      public int read(final char[] buffer, final int offset, final int length) throws IOException {
+        throw new IOException("failing");
+      }
+
+      @Override
+      public void close() {
+      }
+    };
+    assertThrows(IOException.class, () -> GsonComponentSerializer.INSTANCE.deserialize(failing));
+    assertThrows(JsonParseException.class, () -> GsonComponentSerializer.INSTANCE.deserialize(new StringReader("{\"text\":")));
+  }
+
+  @Test
+  void testCompact() {
+    final GsonComponentSerializer compact = GsonComponentSerializer.builder().compact(true).build();
+    final Component plain = TextComponent.of("hi");
+    assertEquals("\"hi\"", compact.serialize(plain));
+    assertEquals(plain, compact.deserialize(compact.serialize(plain)));
+
+    final Component children = TextComponent.builder("a")
+      .append(TextComponent.of("b"))
+      .append(TextComponent.of("c", TextColor.RED))
+      .build();
+    assertEquals("[\"a\",\"b\",{\"text\":\"c\",\"color\":\"red\"}]", compact.serialize(children));
+    assertEquals(children, compact.deserialize(compact.serialize(children)));
+
+    final Component styled = TextComponent.builder("a")
+      .color(TextColor.RED)
+      .append(TranslatableComponent.of("key", TextComponent.of("b")))
+      .hoverEvent(HoverEvent.showText(EntityNbtComponent.of("Health", "@p")))
+      .build();
+    assertEquals(
+      "{\"text\":\"a\",\"extra\":[{\"translate\":\"key\",\"with\":[\"b\"]}],\"color\":\"red\",\"hoverEvent\":{\"action\":\"show_text\",\"value\":{\"nbt\":\"Health\",\"entity\":\"@p\"}}}",
+      compact.serialize(styled)
+    );
+    assertEquals(styled, compact.deserialize(compact.serialize(styled)));
+    assertEquals(styled, GsonComponentSerializer.INSTANCE.deserialize(compact.serialize(styled)));
+  }
 }
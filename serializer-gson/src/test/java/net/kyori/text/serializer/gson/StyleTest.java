@@ -24,8 +24,10 @@
 package net.kyori.text.serializer.gson;
 
 import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
 import java.util.Map;
 import java.util.stream.Stream;
+import net.kyori.text.TextComponent;
 import net.kyori.text.event.ClickEvent;
 import net.kyori.text.event.HoverEvent;
 import net.kyori.text.format.Style;
@@ -34,7 +36,10 @@ import net.kyori.text.format.TextDecoration;
 import org.junit.jupiter.api.Test;
 
 import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class StyleTest extends AbstractSerializeDeserializeTest<Style> {
@@ -47,6 +52,22 @@ class StyleTest extends AbstractSerializeDeserializeTest<Style> {
     assertTrue(s0.hasDecoration(TextDecoration.BOLD));
   }
 
+  @Test
+  void testWithDecorationAsColorAndExplicitDecoration() {
+    final Style s0 = GsonComponentSerializer.GSON.fromJson(AbstractComponentTest.object(object -> {
+      object.addProperty(TextDecoration.NAMES.name(TextDecoration.BOLD), false);
+      object.addProperty(StyleSerializer.COLOR, TextDecoration.NAMES.name(TextDecoration.BOLD));
+    }), Style.class);
+    assertEquals(TextDecoration.State.FALSE, s0.decoration(TextDecoration.BOLD));
+  }
+
+  @Test
+  void testInvalidColor() {
+    assertThrows(JsonParseException.class, () -> GsonComponentSerializer.GSON.fromJson(AbstractComponentTest.object(object -> {
+      object.addProperty(StyleSerializer.COLOR, "#12345");
+    }), Style.class));
+  }
+
   @Test
   void testWithResetAsColor() {
     final Style s0 = GsonComponentSerializer.GSON.fromJson(AbstractComponentTest.object(object -> {
@@ -56,11 +77,28 @@ class StyleTest extends AbstractSerializeDeserializeTest<Style> {
     assertThat(s0.decorations()).isEmpty();
   }
 
+  @Test
+  void testHexColor() {
+    final Style s0 = GsonComponentSerializer.GSON.fromJson(AbstractComponentTest.object(object -> {
+      object.addProperty(StyleSerializer.COLOR, "#FF5555");
+    }), Style.class);
+    assertSame(TextColor.RED, s0.color());
+  }
+
+  @Test
+  void testDownsampleColor() {
+    assertEquals(
+      "{\"text\":\"hi\",\"color\":\"red\"}",
+      GsonComponentSerializer.DOWNSAMPLE_COLOR.serialize(TextComponent.of("hi", TextColor.of(0xf04040)))
+    );
+  }
+
   @Override
   Stream<Map.Entry<Style, JsonElement>> tests() {
     return Stream.of(
       entry(Style.empty(), json -> {}),
       entry(Style.of(TextColor.LIGHT_PURPLE), json -> json.addProperty(StyleSerializer.COLOR, name(TextColor.LIGHT_PURPLE))),
+      entry(Style.of(TextColor.of(0x1a2b3c)), json -> json.addProperty(StyleSerializer.COLOR, "#1a2b3c")),
       entry(Style.of(TextDecoration.BOLD), json -> json.addProperty(name(TextDecoration.BOLD), true)),
       entry(Style.builder().insertion("honk").build(), json -> json.addProperty(StyleSerializer.INSERTION, "honk")),
       entry(
@@ -23,10 +23,13 @@
  */
 package net.kyori.text.serializer.legacy;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import net.kyori.text.Component;
 import net.kyori.text.TextComponent;
@@ -53,14 +56,23 @@ abstract class AbstractLegacyComponentSerializer implements LegacyComponentSeria
     }
   }
 
+  // lookup tables, so scanning and serializing never search FORMATS
+  private static final TextFormat[] FORMAT_BY_CHAR = new TextFormat[128];
+  private static final Map<TextFormat, Character> CHAR_BY_FORMAT = new HashMap<>();
+  static {
+    for(int i = 0, size = FORMATS.size(); i < size; i++) {
+      final char legacy = LEGACY_CHARS.charAt(i);
+      FORMAT_BY_CHAR[legacy] = FORMATS.get(i);
+      CHAR_BY_FORMAT.put(FORMATS.get(i), legacy);
+    }
+  }
+
   private static @Nullable TextFormat formatByLegacyChar(final char legacy) {
-    final int index = LEGACY_CHARS.indexOf(legacy);
-    return index == -1 ? null : FORMATS.get(index);
+    return legacy < FORMAT_BY_CHAR.length ? FORMAT_BY_CHAR[legacy] : null;
   }
 
   private static char getLegacyChar(final TextFormat legacy) {
-    final int index = FORMATS.indexOf(legacy);
-    return LEGACY_CHARS.charAt(index);
+    return CHAR_BY_FORMAT.get(legacy);
   }
 
   @Override
@@ -117,9 +129,18 @@ abstract class AbstractLegacyComponentSerializer implements LegacyComponentSeria
 
   @Override
   public @NonNull String serialize(final @NonNull Component component, final char character) {
-    final Cereal state = new Cereal(character);
-    state.append(component);
-    return state.toString();
+    final StringBuilder sb = new StringBuilder();
+    try {
+      this.serialize(component, sb, character);
+    } catch(final IOException e) {
+      throw new AssertionError(e); // a StringBuilder never throws
+    }
+    return sb.toString();
+  }
+
+  @Override
+  public void serialize(final @NonNull Component component, final @NonNull Appendable output, final char character) throws IOException {
+    new Cereal(output, character).append(component);
   }
 
   private static boolean applyFormat(final TextComponent.@NonNull Builder builder, final @NonNull TextFormat format) {
@@ -146,26 +167,27 @@ abstract class AbstractLegacyComponentSerializer implements LegacyComponentSeria
 
   // Are you hungry?
   private static final class Cereal {
-    private final StringBuilder sb = new StringBuilder();
+    private final Appendable out;
     private final Style style = new Style();
     private final char character;
 
-    Cereal(final char character) {
+    Cereal(final @NonNull Appendable out, final char character) {
+      this.out = out;
       this.character = character;
     }
 
-    void append(final @NonNull Component component) {
+    void append(final @NonNull Component component) throws IOException {
       this.append(component, new Style());
     }
 
-    private void append(final @NonNull Component component, final @NonNull Style style) {
+    private void append(final @NonNull Component component, final @NonNull Style style) throws IOException {
       style.apply(component);
 
       if(component instanceof TextComponent) {
         final String content = ((TextComponent) component).content();
         if(!content.isEmpty()) {
           style.applyFormat();
-          this.sb.append(content);
+          this.out.append(content);
         }
       }
 
@@ -179,13 +201,8 @@ abstract class AbstractLegacyComponentSerializer implements LegacyComponentSeria
       }
     }
 
-    private void append(final @NonNull TextFormat format) {
-      this.sb.append(this.character).append(getLegacyChar(format));
-    }
-
-    @Override
-    public String toString() {
-      return this.sb.toString();
+    private void append(final @NonNull TextFormat format) throws IOException {
+      this.out.append(this.character).append(getLegacyChar(format));
     }
 
     private final class Style {
@@ -210,7 +227,8 @@ abstract class AbstractLegacyComponentSerializer implements LegacyComponentSeria
       void apply(final @NonNull Component component) {
         final TextColor color = component.color();
         if(color != null) {
-          this.color = color;
+          // legacy formatting only has the named colors
+          this.color = color.nearestNamed();
         }
 
         for(int i = 0, length = DECORATIONS.length; i < length; i++) {
@@ -226,7 +244,7 @@ abstract class AbstractLegacyComponentSerializer implements LegacyComponentSeria
         }
       }
 
-      void applyFormat() {
+      void applyFormat() throws IOException {
         // If color changes, we need to do a full reset
         if(this.color != Cereal.this.style.color) {
           this.applyFullFormat();
@@ -248,7 +266,7 @@ abstract class AbstractLegacyComponentSerializer implements LegacyComponentSeria
         }
       }
 
-      private void applyFullFormat() {
+      private void applyFullFormat() throws IOException {
         if(this.color != null) {
           Cereal.this.append(this.color);
         } else {
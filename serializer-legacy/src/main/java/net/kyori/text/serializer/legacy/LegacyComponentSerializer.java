@@ -23,12 +23,13 @@
  */
 package net.kyori.text.serializer.legacy;
 
+import java.io.IOException;
 import net.kyori.text.Component;
 import net.kyori.text.TextComponent;
 import net.kyori.text.event.ClickEvent;
 import net.kyori.text.event.HoverEvent;
 import net.kyori.text.format.Style;
-import net.kyori.text.serializer.ComponentSerializer;
+import net.kyori.text.serializer.StringComponentSerializer;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import static java.util.Objects.requireNonNull;
@@ -39,7 +40,7 @@ import static java.util.Objects.requireNonNull;
  * <p>Legacy does <b>not</b> support more complex features such as, but not limited
  * to, {@link ClickEvent} and {@link HoverEvent}.</p>
  */
-public interface LegacyComponentSerializer extends ComponentSerializer<Component, TextComponent, String> {
+public interface LegacyComponentSerializer extends StringComponentSerializer<Component, TextComponent> {
   /**
    * A component serializer for legacy-based serialization and deserialization.
    *
@@ -126,4 +127,26 @@ public interface LegacyComponentSerializer extends ComponentSerializer<Component
    * @return the string
    */
   @NonNull String serialize(final @NonNull Component component, final char character);
+
+  /**
+   * Serializes a component into an appendable with the {@link #CHARACTER legacy character}.
+   *
+   * @param component the component
+   * @param output the output
+   * @throws IOException if the output throws
+   */
+  @Override
+  default void serialize(final @NonNull Component component, final @NonNull Appendable output) throws IOException {
+    this.serialize(component, output, CHARACTER);
+  }
+
+  /**
+   * Serializes a component into an appendable with the specified {@code character legacy character}.
+   *
+   * @param component the component
+   * @param output the output
+   * @param character the legacy character
+   * @throws IOException if the output throws
+   */
+  void serialize(final @NonNull Component component, final @NonNull Appendable output, final char character) throws IOException;
 }
@@ -23,6 +23,8 @@
  */
 package net.kyori.text.serializer.legacy;
 
+import java.io.IOException;
+import java.io.StringReader;
 import net.kyori.text.TextComponent;
 import net.kyori.text.format.Style;
 import net.kyori.text.format.TextColor;
@@ -50,6 +52,16 @@ class LegacyComponentSerializerTest {
     assertEquals(component, LegacyComponentSerializer.legacyLinking().deserialize("&a&lfoo&9bar", '&'));
   }
 
+  @Test
+  void testToColorDownsampled() {
+    final TextComponent component = TextComponent.builder("")
+      .append(TextComponent.of("foo", TextColor.of(0x40f040)))
+      .append(TextComponent.of("bar", TextColor.of(0x101010)))
+      .build();
+
+    assertEquals("&afoo&0bar", LegacyComponentSerializer.legacy().serialize(component, '&'));
+  }
+
   @Test
   void testFromColorOverride() {
     final TextComponent component = TextComponent.builder("")
@@ -143,4 +155,22 @@ class LegacyComponentSerializerTest {
       .build();
     assertEquals("§e§lHello §a§lworld§e§l!", LegacyComponentSerializer.legacy().serialize(c3, '§'));
   }
+
+  @Test
+  void testStreaming() throws IOException {
+    final TextComponent component = TextComponent.builder("")
+      .append(TextComponent.of("foo").color(TextColor.GREEN).decoration(TextDecoration.BOLD, TextDecoration.State.TRUE))
+      .append(TextComponent.of("bar").color(TextColor.BLUE))
+      .build();
+
+    final StringBuilder sb = new StringBuilder("prefix ");
+    LegacyComponentSerializer.legacy().serialize(component, sb, '&');
+    assertEquals("prefix &a&lfoo&9bar", sb.toString());
+    sb.setLength(0);
+    LegacyComponentSerializer.legacy().serialize(component, sb);
+    assertEquals(LegacyComponentSerializer.legacy().serialize(component), sb.toString());
+
+    assertEquals(component, LegacyComponentSerializer.legacy().deserialize(new StringReader("\u00A7a\u00A7lfoo\u00A79bar")));
+    assertEquals(component, LegacyComponentSerializer.legacy().deserialize((CharSequence) new StringBuilder("\u00A7a\u00A7lfoo\u00A79bar")));
+  }
 }
@@ -23,6 +23,7 @@
  */
 package net.kyori.text.serializer.plain;
 
+import java.io.IOException;
 import java.util.function.Function;
 import net.kyori.text.Component;
 import net.kyori.text.KeybindComponent;
@@ -32,7 +33,7 @@ import net.kyori.text.TextComponent;
 import net.kyori.text.TranslatableComponent;
 import net.kyori.text.event.ClickEvent;
 import net.kyori.text.event.HoverEvent;
-import net.kyori.text.serializer.ComponentSerializer;
+import net.kyori.text.serializer.StringComponentSerializer;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 /**
@@ -41,7 +42,7 @@ import org.checkerframework.checker.nullness.qual.NonNull;
  * <p>Plain does <b>not</b> support more complex features such as, but not limited
  * to, colours, decorations, {@link ClickEvent}, and {@link HoverEvent}.</p>
  */
-public class PlainComponentSerializer implements ComponentSerializer<Component, TextComponent, String> {
+public class PlainComponentSerializer implements StringComponentSerializer<Component, TextComponent> {
   /**
    * A component serializer for plain-based serialization and deserialization.
    */
@@ -71,22 +72,52 @@ public class PlainComponentSerializer implements ComponentSerializer<Component,
   }
 
   public void serialize(final @NonNull StringBuilder sb, final @NonNull Component component) {
+    try {
+      this.append(component, sb);
+    } catch(final IOException e) {
+      throw new AssertionError(e); // a StringBuilder never throws
+    }
+
+    for(final Component child : component.children()) {
+      this.serialize(sb, child);
+    }
+  }
+
+  @Override
+  public void serialize(final @NonNull Component component, final @NonNull Appendable output) throws IOException {
+    if(output instanceof StringBuilder) {
+      this.serialize((StringBuilder) output, component);
+    } else if(this.getClass() == PlainComponentSerializer.class) {
+      // nothing can be overridden, so there is no need to buffer
+      this.write(component, output);
+    } else {
+      // subclasses may override serialize(StringBuilder, Component), which every component must go through
+      final StringBuilder sb = new StringBuilder();
+      this.serialize(sb, component);
+      output.append(sb);
+    }
+  }
+
+  private void write(final @NonNull Component component, final @NonNull Appendable output) throws IOException {
+    this.append(component, output);
+    for(final Component child : component.children()) {
+      this.write(child, output);
+    }
+  }
+
+  private void append(final @NonNull Component component, final @NonNull Appendable output) throws IOException {
     if(component instanceof KeybindComponent) {
-      sb.append(this.keybind.apply((KeybindComponent) component));
+      output.append(this.keybind.apply((KeybindComponent) component));
     } else if(component instanceof ScoreComponent) {
-      sb.append(((ScoreComponent) component).value());
+      output.append(((ScoreComponent) component).value());
     } else if(component instanceof SelectorComponent) {
-      sb.append(((SelectorComponent) component).pattern());
+      output.append(((SelectorComponent) component).pattern());
     } else if(component instanceof TextComponent) {
-      sb.append(((TextComponent) component).content());
+      output.append(((TextComponent) component).content());
     } else if(component instanceof TranslatableComponent) {
-      sb.append(this.translatable.apply((TranslatableComponent) component));
+      output.append(this.translatable.apply((TranslatableComponent) component));
     } else {
       throw new IllegalArgumentException("Don't know how to turn " + component + " into a string");
     }
-
-    for(final Component child : component.children()) {
-      this.serialize(sb, child);
-    }
   }
 }
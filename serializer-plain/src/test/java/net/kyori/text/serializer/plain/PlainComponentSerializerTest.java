@@ -23,9 +23,14 @@
  */
 package net.kyori.text.serializer.plain;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import net.kyori.text.Component;
 import net.kyori.text.TextComponent;
 import net.kyori.text.format.TextColor;
 import net.kyori.text.format.TextDecoration;
+import org.checkerframework.checker.nullness.qual.NonNull;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -67,4 +72,32 @@ class PlainComponentSerializerTest {
       .build();
     assertEquals("Hello there, you!", PlainComponentSerializer.INSTANCE.serialize(c2));
   }
+
+  @Test
+  void testStreaming() throws IOException {
+    final TextComponent component = TextComponent.builder("hi").append(TextComponent.of("foo", TextColor.GREEN)).build();
+    final StringWriter writer = new StringWriter();
+    PlainComponentSerializer.INSTANCE.serialize(component, writer);
+    assertEquals("hifoo", writer.toString());
+    assertEquals(TextComponent.of("foo"), PlainComponentSerializer.INSTANCE.deserialize(new StringReader("foo")));
+  }
+
+  @Test
+  void testOverridesSeeChildren() throws IOException {
+    final PlainComponentSerializer serializer = new PlainComponentSerializer() {
+      @Override
+      public void serialize(final @NonNull StringBuilder sb, final @NonNull Component component) {
+        if(component.color() == TextColor.RED) {
+          sb.append("[redacted]");
+        } else {
+          super.serialize(sb, component);
+        }
+      }
+    };
+    final TextComponent component = TextComponent.builder("hi ").append(TextComponent.of("secret", TextColor.RED)).build();
+    assertEquals("hi [redacted]", serializer.serialize(component));
+    final StringWriter writer = new StringWriter();
+    serializer.serialize(component, writer);
+    assertEquals("hi [redacted]", writer.toString());
+  }
 }